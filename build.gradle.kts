@@ -13,8 +13,9 @@ repositories {
     mavenCentral()
 }
 
+val lombokVersion = "1.18.30" // supports JDK 21 and is verified by runelite
+
 dependencies {
-    val lombokVersion = "1.18.30" // supports JDK 21 and is verified by runelite
     // old annotation processor approach due to runelite plugin hub verification restrictions
     compileOnly(group = "org.projectlombok", name = "lombok", version = lombokVersion)
     annotationProcessor(group = "org.projectlombok", name = "lombok", version = lombokVersion)
@@ -65,6 +66,30 @@ tasks.register(name = "generateResources", type = Test::class) {
     }
 }
 
+// microbenchmarks: ./gradlew jmh -Pjmh.includes=TemplateBenchmark
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.testImplementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.testRuntimeOnly.get())
+
+dependencies {
+    val jmhVersion = "1.37"
+    "jmhImplementation"(group = "org.openjdk.jmh", name = "jmh-core", version = jmhVersion)
+    "jmhAnnotationProcessor"(group = "org.openjdk.jmh", name = "jmh-generator-annprocess", version = jmhVersion)
+    "jmhCompileOnly"(group = "org.projectlombok", name = "lombok", version = lombokVersion)
+    "jmhAnnotationProcessor"(group = "org.projectlombok", name = "lombok", version = lombokVersion)
+    "jmhCompileOnly"(group = "org.jetbrains", name = "annotations", version = "23.0.0")
+}
+
+tasks.register(name = "jmh", type = JavaExec::class) {
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args(project.findProperty("jmh.includes")?.toString() ?: ".*Benchmark")
+}
+
 tasks.withType<AbstractArchiveTask>().configureEach {
     isPreserveFileTimestamps = false
     isReproducibleFileOrder = true
@@ -0,0 +1,146 @@
+package dinkplugin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.Color;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the config reads of a single loot notification (in {@code LootNotifier} and {@code DiscordMessageHandler})
+ * through a config proxy against reads from {@link DinkConfigSnapshot}.
+ * <p>
+ * The proxy mirrors how RuneLite's {@code ConfigInvocationHandler} resolves each call:
+ * a string-keyed lookup of the stored value, followed by a conversion to the return type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigSnapshotBenchmark {
+
+    private DinkPluginConfig config;
+    private ConfigSnapshotHolder holder;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> stored = new ConcurrentHashMap<>();
+        for (Method method : DinkPluginConfig.class.getMethods()) {
+            Class<?> type = method.getReturnType();
+            String value;
+            if (type == int.class) {
+                value = "1000";
+            } else if (type == boolean.class) {
+                value = "true";
+            } else if (type.isEnum()) {
+                value = ((Enum<?>) type.getEnumConstants()[0]).name();
+            } else if (type == Color.class) {
+                value = String.valueOf(Color.PINK.getRGB());
+            } else {
+                value = "";
+            }
+            stored.put(SettingsManager.CONFIG_GROUP + '.' + method.getName(), value);
+        }
+
+        config = (DinkPluginConfig) Proxy.newProxyInstance(
+            DinkPluginConfig.class.getClassLoader(),
+            new Class<?>[] { DinkPluginConfig.class },
+            (proxy, method, args) -> convert(stored.get(SettingsManager.CONFIG_GROUP + '.' + method.getName()), method.getReturnType())
+        );
+        holder = new ConfigSnapshotHolder(config);
+    }
+
+    @Benchmark
+    public void proxy(Blackhole blackhole) {
+        // LootNotifier
+        blackhole.consume(config.notifyLoot());
+        blackhole.consume(config.lootWebhook());
+        blackhole.consume(config.minLootValue());
+        blackhole.consume(config.lootIcons());
+        blackhole.consume(config.lootRarityThreshold());
+        blackhole.consume(config.lootRarityThreshold());
+        blackhole.consume(config.lootRarityValueIntersection());
+        blackhole.consume(config.lootRedirectPlayerKill());
+        blackhole.consume(config.pkWebhook());
+        blackhole.consume(config.lootSendImage());
+        blackhole.consume(config.lootImageMinValue());
+        blackhole.consume(config.lootNotifyMessage());
+
+        // DiscordMessageHandler
+        blackhole.consume(config.seasonalPolicy());
+        blackhole.consume(config.includeLocation());
+        blackhole.consume(config.sendDiscordUser());
+        blackhole.consume(config.sendClanName());
+        blackhole.consume(config.sendGroupIronClanName());
+        blackhole.consume(config.discordRichEmbeds());
+        blackhole.consume(config.embedFooterText());
+        blackhole.consume(config.embedFooterIcon());
+        blackhole.consume(config.playerLookupService());
+        blackhole.consume(config.embedColor());
+        blackhole.consume(config.screenshotFilenameTemplate());
+        blackhole.consume(config.batchWindowTicks());
+        blackhole.consume(config.persistOutbox());
+        blackhole.consume(config.networkTimeout());
+    }
+
+    @Benchmark
+    public void snapshot(Blackhole blackhole) {
+        // LootNotifier
+        DinkConfigSnapshot settings = holder.get();
+        blackhole.consume(settings.isNotifyLoot());
+        blackhole.consume(settings.getLootWebhook());
+        blackhole.consume(settings.getMinLootValue());
+        blackhole.consume(settings.isLootIcons());
+        blackhole.consume(settings.getLootRarityThreshold());
+        blackhole.consume(settings.getLootRarityThreshold());
+        blackhole.consume(settings.isLootRarityValueIntersection());
+        blackhole.consume(settings.isLootRedirectPlayerKill());
+        blackhole.consume(settings.getPkWebhook());
+        blackhole.consume(settings.isLootSendImage());
+        blackhole.consume(settings.getLootImageMinValue());
+        blackhole.consume(settings.getLootNotifyMessage());
+
+        // DiscordMessageHandler
+        settings = holder.get();
+        blackhole.consume(settings.getSeasonalPolicy());
+        blackhole.consume(settings.isIncludeLocation());
+        blackhole.consume(settings.isSendDiscordUser());
+        blackhole.consume(settings.isSendClanName());
+        blackhole.consume(settings.isSendGroupIronClanName());
+        blackhole.consume(settings.isDiscordRichEmbeds());
+        blackhole.consume(settings.getEmbedFooterText());
+        blackhole.consume(settings.getEmbedFooterIcon());
+        blackhole.consume(settings.getPlayerLookupService());
+        blackhole.consume(settings.getEmbedColor());
+        blackhole.consume(settings.getScreenshotFilenameTemplate());
+        blackhole.consume(settings.getBatchWindowTicks());
+        blackhole.consume(settings.isPersistOutbox());
+        blackhole.consume(settings.getNetworkTimeout());
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object convert(String value, Class<?> type) {
+        if (value == null) return null;
+        if (type == int.class) return Integer.parseInt(value);
+        if (type == boolean.class) return Boolean.parseBoolean(value);
+        if (type.isEnum()) return Enum.valueOf((Class<? extends Enum>) type, value);
+        if (type == Color.class) return new Color(Integer.parseInt(value), true);
+        return value;
+    }
+
+}
@@ -0,0 +1,129 @@
+package dinkplugin.message;
+
+import com.google.gson.Gson;
+import dinkplugin.domain.AccountType;
+import dinkplugin.domain.LootCriteria;
+import dinkplugin.message.templating.Template;
+import dinkplugin.notifiers.data.GroupBankContentsNotificationData;
+import dinkplugin.notifiers.data.LootNotificationData;
+import dinkplugin.notifiers.data.RareItemStack;
+import dinkplugin.notifiers.data.SerializedItemStack;
+import dinkplugin.util.Utils;
+import net.runelite.http.api.RuneLiteAPI;
+import net.runelite.http.api.loottracker.LootRecordType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Gson's reflective serialization against {@link PayloadTypeAdapterFactory}
+ * for large loot and group bank payloads.
+ * <p>
+ * {@link #json()} and {@link #cbor()} measure the request bodies as {@link DiscordMessageHandler} produces them,
+ * via {@link SerializedPayload} (i.e., a single encoding pass into the buffer that is written).
+ * <p>
+ * Run with {@code -prof gc} to compare the allocation rate as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadSerializationBenchmark {
+
+    @Param({ "loot", "groupBank" })
+    public String payload;
+
+    @Param({ "50", "800" })
+    public int itemCount;
+
+    private final Gson reflective = RuneLiteAPI.GSON;
+    private final Gson streaming = reflective.newBuilder()
+        .registerTypeAdapterFactory(new PayloadTypeAdapterFactory())
+        .create();
+
+    private NotificationBody<?> body;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        List<SerializedItemStack> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            int id = random.nextInt(30_000);
+            if (i % 10 == 0) {
+                items.add(new RareItemStack(id, 1, random.nextInt(10_000_000), "Item " + id, EnumSet.of(LootCriteria.RARITY), 1.0 / (1 + random.nextInt(5000))));
+            } else {
+                items.add(new SerializedItemStack(id, 1 + random.nextInt(1000), random.nextInt(100_000), "Item " + id));
+            }
+        }
+
+        Embed embed = Embed.builder()
+            .title("Loot Drop")
+            .description("dank dank has looted:\n\n" + items.size() + " items")
+            .author(Author.builder().name("dank dank").url("https://secure.runescape.com/m=hiscore_oldschool/hiscorepersonal?user1=dank%20dank").build())
+            .color(Utils.PINK)
+            .thumbnail(new Embed.UrlEmbed("https://oldschool.runescape.wiki/images/Coins_10000.png"))
+            .fields(List.of(new Field("Total Value", "```\n1,052,500 gp\n```")))
+            .footer(Footer.builder().text("Powered by Dink").iconUrl("https://github.com/pajlads/DinkPlugin/raw/master/icon.png").build())
+            .timestamp(Instant.now())
+            .build();
+
+        body = NotificationBody.builder()
+            .type("loot".equals(payload) ? NotificationType.LOOT : NotificationType.GROUP_BANK_CONTENTS)
+            .text(Template.builder().template("dank dank has looted").build())
+            .playerName("dank dank")
+            .accountType(AccountType.GROUP_IRONMAN)
+            .dinkAccountHash("4nnvbwm6c9ik5r6s2kc9x0ghg1jm4oby7nctsm1qy5imw3twz3f53v7ar29aymn4")
+            .world(302)
+            .regionId(12850)
+            .extra("loot".equals(payload)
+                ? new LootNotificationData(items, "Chambers of Xeric", LootRecordType.EVENT, 250, 1 / 5000.0, List.of("dank dank", "forsen"), null, null)
+                : new GroupBankContentsNotificationData(items, 800))
+            .embeds(List.of(embed))
+            .build();
+    }
+
+    @Benchmark
+    public String reflective() {
+        return reflective.toJson(body);
+    }
+
+    @Benchmark
+    public String streaming() {
+        return streaming.toJson(body);
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return encode(PayloadFormat.JSON);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return encode(PayloadFormat.CBOR);
+    }
+
+    private byte[] encode(PayloadFormat format) throws IOException {
+        SerializedPayload serialized = SerializedPayload.of(streaming, body, format);
+        serialized.contentLength();
+        return serialized.bytes();
+    }
+
+}
@@ -0,0 +1,116 @@
+package dinkplugin.message.templating;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link CompiledTemplate} against the previous scan-and-replace implementation of {@link Template},
+ * using the default notifier message templates.
+ * <p>
+ * {@link #fastPath()} and {@link #slowPath()} measure {@link Template#evaluate(boolean)} itself,
+ * with and without a replacement boundary respectively.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateBenchmark {
+
+    @Param({
+        "%USERNAME% has looted: \n\n%LOOT%\nFrom: %SOURCE%",
+        "%USERNAME% has added %ITEM% to their collection",
+        "%USERNAME% has completed a slayer task: %TASK%, getting %POINTS% points and making that %TASKCOUNT% tasks completed",
+        "%USERNAME% has defeated %BOSS% with a new personal best time of %TIME% and a completion count of %COUNT%",
+        "%USERNAME% has deposited:\n%DEPOSITED%\n\n%USERNAME% has withdrawn:\n%WITHDRAWN%"
+    })
+    public String template;
+
+    @Param({ "false", "true" })
+    public boolean rich;
+
+    private Map<String, Evaluable> replacements;
+    private Template fast;
+    private Template slow;
+
+    @Setup
+    public void setUp() {
+        replacements = Template.builder()
+            .template(template)
+            .replacementBoundary("%")
+            .replacement("%USERNAME%", Replacements.ofText("dank dank"))
+            .replacement("%LOOT%", Replacements.ofWiki("1 x Twisted bow (1.2B)", "Twisted bow"))
+            .replacement("%SOURCE%", Replacements.ofWiki("Chambers of Xeric"))
+            .replacement("%ITEM%", Replacements.ofWiki("Pet snakeling"))
+            .replacement("%TASK%", Replacements.ofText("Abyssal demons"))
+            .replacement("%POINTS%", Replacements.ofText("15"))
+            .replacement("%TASKCOUNT%", Replacements.ofText("250"))
+            .replacement("%BOSS%", Replacements.ofWiki("Vorkath"))
+            .replacement("%TIME%", Replacements.ofText("1:05.40"))
+            .replacement("%COUNT%", Replacements.ofText("1,000"))
+            .replacement("%DEPOSITED%", Replacements.ofBlock("diff", "+ 1 x Coins (1)"))
+            .replacement("%WITHDRAWN%", Replacements.ofBlock("diff", "- 1 x Shark (800)"))
+            .build()
+            .getReplacements();
+        fast = Template.builder().template(template).replacementBoundary("%").replacements(replacements).build();
+        slow = Template.builder().template(template).replacements(replacements).build();
+    }
+
+    @Benchmark
+    public String legacy() {
+        return evaluateLegacy(template, "%", replacements, rich);
+    }
+
+    @Benchmark
+    public String compiled() {
+        return CompiledTemplate.of(template, "%").render(replacements, rich);
+    }
+
+    @Benchmark
+    public String fastPath() {
+        return fast.evaluate(rich);
+    }
+
+    @Benchmark
+    public String slowPath() {
+        return slow.evaluate(rich);
+    }
+
+    /**
+     * The implementation of {@link Template#evaluate(boolean)} prior to {@link CompiledTemplate}.
+     */
+    private static String evaluateLegacy(String template, String replacementBoundary, Map<String, Evaluable> replacements, boolean rich) {
+        StringBuilder message = new StringBuilder(template);
+        int i = message.indexOf(replacementBoundary);
+        while (i != -1) {
+            int next = message.indexOf(replacementBoundary, i + 1);
+            if (next < 0) break;
+
+            int endExclusive = next + 1;
+            String key = message.substring(i, endExclusive);
+            Evaluable replacement = replacements.get(key);
+            if (replacement != null) {
+                String evaluated = replacement.evaluate(rich);
+                message.replace(i, endExclusive, evaluated);
+                i = endExclusive + evaluated.length() - key.length();
+            } else {
+                i = next;
+            }
+        }
+        return message.toString();
+    }
+
+}
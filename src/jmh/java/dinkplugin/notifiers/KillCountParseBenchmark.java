@@ -0,0 +1,61 @@
+package dinkplugin.notifiers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link KillCountNotifier#parseBoss(String)} for the game messages that the router offers to the notifier,
+ * both for kill count messages (including the raid and minigame special cases) and for the other messages
+ * that merely contain one of its keywords.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KillCountParseBenchmark {
+
+    private static final String[] KILL_COUNTS = {
+        "Your King Black Dragon kill count is: 581.",
+        "Your K'ril Tsutsaroth kill count is: 481",
+        "Your subdued Wintertodt count is: 359",
+        "Your herbiboar harvest count is: 2332.",
+        "Your Barrows chest count is: 268",
+        "Your Corrupted Gauntlet completion count is: 109",
+        "Your completed Theatre of Blood: Hard Mode count is: 2",
+        "Your completed Chambers of Xeric Challenge Mode count is: 138",
+        "Your completed Tombs of Amascut: Expert Mode count is: 3",
+    };
+
+    private static final String[] OTHERS = {
+        "Fight duration: 1:56. Personal best: 1:12",
+        "Challenge duration: 24:13. Personal best: 19:42",
+        "Tombs of Amascut: Expert Mode total completion time: 25:00 (new personal best)",
+        "Subdued in 6:13. Personal best: 5:57",
+        "Your reward is: 1 x Coins.",
+        "Your Vorkath kill count is being tracked.",
+    };
+
+    @Param({ "killCount", "other" })
+    public String messages;
+
+    @Benchmark
+    public void parseBoss(Blackhole blackhole) {
+        for (String message : "killCount".equals(messages) ? KILL_COUNTS : OTHERS) {
+            blackhole.consume(KillCountNotifier.parseBoss(message));
+        }
+    }
+
+}
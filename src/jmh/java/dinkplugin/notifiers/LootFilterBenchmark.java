@@ -0,0 +1,72 @@
+package dinkplugin.notifiers;
+
+import dinkplugin.util.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the loot item allowlist/denylist: compiling the configured patterns via {@link Utils#regexify(String)},
+ * and checking the items of a typical drop against them via {@link LootNotifier#matches}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LootFilterBenchmark {
+
+    private static final String[] PATTERNS = {
+        "*clue scroll*", "Coins", "*bones", "Dragon *", "*(u)", "Abyssal whip", "*seed", "*rune",
+        "Twisted bow", "*pet*", "Grimy *", "*arrow*", "Uncut *", "*key*", "*scale*", "Ancient shard"
+    };
+
+    private static final String[] ITEMS = {
+        "Coins", "Big bones", "Death rune", "Blood rune", "Grimy ranarr weed", "Snapdragon seed",
+        "Uncut diamond", "Shark", "Rune platebody", "Dragon spear", "Clue scroll (elite)", "Ecumenical key"
+    };
+
+    @Param({ "4", "16" })
+    public int patternCount;
+
+    private List<String> patterns;
+    private List<Pattern> regexps;
+
+    @Setup
+    public void setUp() {
+        patterns = List.of(PATTERNS).subList(0, patternCount);
+        regexps = compile();
+    }
+
+    @Benchmark
+    public List<Pattern> compile() {
+        return patterns.stream()
+            .map(Utils::regexify)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void matches(Blackhole blackhole) {
+        for (String item : ITEMS) {
+            blackhole.consume(LootNotifier.matches(regexps, item));
+        }
+    }
+
+}
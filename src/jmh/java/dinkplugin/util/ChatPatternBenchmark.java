@@ -0,0 +1,104 @@
+package dinkplugin.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the sequential regex loop previously used by {@code ChatNotifier} against {@link WildcardMatcher},
+ * over a corpus resembling a busy clan chat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatPatternBenchmark {
+
+    private static final String[] PATTERNS = {
+        "*has received a drop:*", "*received a new collection log item:*", "*has reached * level 99*",
+        "*has reached a total level of *", "*has completed * combat task*", "*has been defeated by*",
+        "*funny feeling like you're being followed*", "*feel something weird sneaking into your backpack*",
+        "*would have been followed*", "Your * kill count is: *", "*has achieved a new * personal best*",
+        "*dank dank*", "*bank pin*", "*you have been frozen*", "*untradeable drop:*", "*valuable drop:*",
+        "*Congratulations, you've completed a * combat task*", "*Your reward is:*", "*Superior foe has appeared*",
+        "*has opened a loot key*", "*triggered a loot chest*", "Well done! You have completed *", "*level up*",
+        "*raids: *", "*Xeric*", "*Tombs of Amascut*", "*Theatre of Blood*", "*purple*", "*gz*", "*wave 63*",
+        "*Jad*", "*Zuk*"
+    };
+
+    private static final String[] TEMPLATES = {
+        "%s: gz on the drop!",
+        "%s has received a drop: Abyssal whip (1,520,000 coins).",
+        "%s received a new collection log item: Pet snakeling (52/1538)",
+        "%s has reached Slayer level 92.",
+        "%s: anyone want to do some bossing later tonight?",
+        "%s: lmao that was so close",
+        "%s has been defeated by Vorkath in The Wilderness and lost (12,345 coins) worth of loot.",
+        "%s: brb",
+        "%s has completed a hard combat task: Fat of the Land.",
+        "%s: how much xp do you need for 99 agility",
+        "%s: thanks for the carry",
+        "%s has achieved a new Chambers of Xeric (Team Size: 3 players) personal best: 19:42",
+    };
+
+    @Param({ "8", "32" })
+    public int patternCount;
+
+    private List<String> corpus;
+    private List<Pattern> regexps;
+    private WildcardMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        List<String> patterns = List.of(PATTERNS).subList(0, patternCount);
+        regexps = patterns.stream().map(Utils::regexify).collect(Collectors.toList());
+        matcher = WildcardMatcher.compile(patterns);
+
+        Random random = new Random(0);
+        corpus = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            String name = "Player " + random.nextInt(500);
+            corpus.add(String.format(TEMPLATES[random.nextInt(TEMPLATES.length)], name));
+        }
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        for (String message : corpus) {
+            boolean match = false;
+            for (Pattern pattern : regexps) {
+                if (pattern.matcher(message).find()) {
+                    match = true;
+                    break;
+                }
+            }
+            blackhole.consume(match);
+        }
+    }
+
+    @Benchmark
+    public void automaton(Blackhole blackhole) {
+        for (String message : corpus) {
+            blackhole.consume(matcher.matches(message));
+        }
+    }
+
+}
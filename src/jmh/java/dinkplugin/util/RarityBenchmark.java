@@ -0,0 +1,82 @@
+package dinkplugin.util;
+
+import net.runelite.api.ItemComposition;
+import net.runelite.api.gameval.ItemID;
+import net.runelite.client.game.ItemManager;
+import net.runelite.http.api.RuneLiteAPI;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.OptionalDouble;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures {@link AbstractRarityService#getRarity(String, int, int)} for a loot event,
+ * once the drop table of the source has been decoded (i.e., every kill after the first).
+ * <p>
+ * {@link ItemManager} is a stub-only mock, whose (constant) overhead is included in each lookup,
+ * so results are only comparable with other runs of this benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RarityBenchmark {
+
+    @Param({ "Aberrant spectre", "Dagannoth Supreme", "Kree'arra", "Unknown" })
+    public String source;
+
+    private RarityService service;
+    private int itemId;
+    private int quantity;
+
+    @Setup
+    public void setUp() {
+        ItemComposition composition = Mockito.mock(ItemComposition.class, Mockito.withSettings().stubOnly());
+        when(composition.getMembersName()).thenReturn("?");
+        when(composition.getNote()).thenReturn(-1);
+
+        ItemManager itemManager = Mockito.mock(ItemManager.class, Mockito.withSettings().stubOnly());
+        when(itemManager.getItemComposition(anyInt())).thenReturn(composition);
+
+        service = new RarityService(RuneLiteAPI.GSON, itemManager);
+        switch (source) {
+            case "Aberrant spectre":
+                itemId = ItemID.DRAGON_SPEAR;
+                quantity = 1;
+                break;
+            case "Dagannoth Supreme":
+                itemId = ItemID.SHARK;
+                quantity = 5;
+                break;
+            default:
+                itemId = ItemID.COINS;
+                quantity = 20_750;
+                break;
+        }
+
+        // decode the drop table (and cache the item variants) outside the measurement
+        service.getRarity(source, itemId, quantity);
+    }
+
+    @Benchmark
+    public OptionalDouble getRarity() {
+        return service.getRarity(source, itemId, quantity);
+    }
+
+}
@@ -0,0 +1,86 @@
+package dinkplugin.util;
+
+import dinkplugin.message.Embed;
+import net.runelite.client.game.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the helpers that run for every chat message ({@link Utils#sanitize(String)}),
+ * every embed ({@link Utils#truncate(String, int)}), and every loot event ({@link ItemUtils#reduceItemStack(Iterable)}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilsBenchmark {
+
+    private static final String[] MESSAGES = {
+        "Your Vorkath kill count is: <col=ff0000>1,234</col>.",
+        "<col=ef1020>Valuable drop: Dragonbone necklace (1,520,000 coins)</col>",
+        "New item added to your collection log: <col=ef1020>Pet snakeling</col>",
+        "You have a funny feeling like you're being followed.",
+        "<img=2>dank dank:<br>anyone for raids?",
+    };
+
+    private static final String DESCRIPTION = "dank dank has looted: \n\n" + "1 x [Twisted bow](https://oldschool.runescape.wiki/w/Special:Search?search=Twisted%20bow) (1,200,000,000)\n".repeat(64);
+
+    /**
+     * The number of stacks in the loot event (with about a third being duplicate item ids).
+     */
+    @Param({ "4", "64" })
+    public int stackCount;
+
+    private List<ItemStack> stacks;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        int distinct = Math.max(stackCount * 2 / 3, 1);
+        stacks = new ArrayList<>(stackCount);
+        for (int i = 0; i < stackCount; i++) {
+            stacks.add(new ItemStack(1000 + random.nextInt(distinct), 1 + random.nextInt(100)));
+        }
+    }
+
+    @Benchmark
+    public void sanitize(Blackhole blackhole) {
+        for (String message : MESSAGES) {
+            blackhole.consume(Utils.sanitize(message));
+        }
+    }
+
+    @Benchmark
+    public String truncateShort() {
+        return Utils.truncate(MESSAGES[0], Embed.MAX_DESCRIPTION_LENGTH);
+    }
+
+    @Benchmark
+    public String truncateLong() {
+        return Utils.truncate(DESCRIPTION, Embed.MAX_DESCRIPTION_LENGTH);
+    }
+
+    @Benchmark
+    public Collection<ItemStack> reduceItemStack() {
+        return ItemUtils.reduceItemStack(stacks);
+    }
+
+}
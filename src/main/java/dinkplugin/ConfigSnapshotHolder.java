@@ -0,0 +1,45 @@
+package dinkplugin;
+
+import org.jetbrains.annotations.VisibleForTesting;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link DinkConfigSnapshot}, which is built on first use
+ * and replaced whenever the config changes (via {@link DinkPlugin#onConfigChanged})
+ * or the plugin is started (since config changes are not observed while the plugin is disabled).
+ */
+@Singleton
+public class ConfigSnapshotHolder {
+
+    private final DinkPluginConfig config;
+    private final AtomicReference<DinkConfigSnapshot> snapshot = new AtomicReference<>();
+
+    @Inject
+    @VisibleForTesting
+    public ConfigSnapshotHolder(DinkPluginConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * @return the latest snapshot of the config
+     */
+    public DinkConfigSnapshot get() {
+        DinkConfigSnapshot current = snapshot.get();
+        if (current == null) {
+            DinkConfigSnapshot built = DinkConfigSnapshot.of(config);
+            // a concurrent refresh wins, since it may have observed a newer config
+            current = snapshot.compareAndSet(null, built) ? built : snapshot.get();
+        }
+        return current;
+    }
+
+    /**
+     * Rebuilds the snapshot from the current config values.
+     */
+    public void refresh() {
+        snapshot.set(DinkConfigSnapshot.of(config));
+    }
+}
@@ -0,0 +1,117 @@
+package dinkplugin;
+
+import dinkplugin.domain.DeliveryOverflowPolicy;
+import dinkplugin.domain.PlayerLookupService;
+import dinkplugin.domain.SeasonalPolicy;
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.Color;
+
+/**
+ * An immutable copy of the {@link DinkPluginConfig} values that are read on hot paths
+ * (i.e., for every webhook message, or for every loot event).
+ * <p>
+ * Reading a value through the config proxy involves a {@link net.runelite.client.config.ConfigManager} lookup
+ * and a string conversion, while reading a field of this snapshot is free.
+ *
+ * @see ConfigSnapshotHolder
+ */
+@Value
+public class DinkConfigSnapshot {
+
+    /*
+     * Webhook routing (BaseNotifier)
+     */
+    String primaryWebhook;
+    String leaguesWebhook;
+
+    /*
+     * Webhook delivery (DiscordMessageHandler)
+     */
+    int networkTimeout;
+    int imageWriteTimeout;
+    int screenshotScale;
+    String screenshotFilenameTemplate;
+    int batchWindowTicks;
+    boolean persistOutbox;
+    int deliveryQueueCapacity;
+    DeliveryOverflowPolicy deliveryOverflowPolicy;
+    int maxRequestsPerHost;
+    boolean prewarmConnections;
+    int maxRetries;
+    int baseRetryDelay;
+    SeasonalPolicy seasonalPolicy;
+    boolean includeLocation;
+    boolean sendDiscordUser;
+    boolean sendClanName;
+    boolean sendGroupIronClanName;
+    boolean discordRichEmbeds;
+    String embedFooterText;
+    String embedFooterIcon;
+    PlayerLookupService playerLookupService;
+    Color embedColor;
+    String threadNameTemplate;
+
+    /*
+     * Loot
+     */
+    boolean notifyLoot;
+    String lootWebhook;
+    boolean lootSendImage;
+    int lootImageMinValue;
+    boolean lootIcons;
+    int minLootValue;
+    int lootRarityThreshold;
+    boolean lootRarityValueIntersection;
+    boolean includePlayerLoot;
+    boolean lootIncludeGambles;
+    boolean lootIncludeClueScrolls;
+    boolean lootRedirectPlayerKill;
+    String pkWebhook;
+    String lootNotifyMessage;
+
+    public static DinkConfigSnapshot of(@NotNull DinkPluginConfig config) {
+        return new DinkConfigSnapshot(
+            config.primaryWebhook(),
+            config.leaguesWebhook(),
+            config.networkTimeout(),
+            config.imageWriteTimeout(),
+            config.screenshotScale(),
+            config.screenshotFilenameTemplate(),
+            config.batchWindowTicks(),
+            config.persistOutbox(),
+            config.deliveryQueueCapacity(),
+            config.deliveryOverflowPolicy(),
+            config.maxRequestsPerHost(),
+            config.prewarmConnections(),
+            config.maxRetries(),
+            config.baseRetryDelay(),
+            config.seasonalPolicy(),
+            config.includeLocation(),
+            config.sendDiscordUser(),
+            config.sendClanName(),
+            config.sendGroupIronClanName(),
+            config.discordRichEmbeds(),
+            config.embedFooterText(),
+            config.embedFooterIcon(),
+            config.playerLookupService(),
+            config.embedColor(),
+            config.threadNameTemplate(),
+            config.notifyLoot(),
+            config.lootWebhook(),
+            config.lootSendImage(),
+            config.lootImageMinValue(),
+            config.lootIcons(),
+            config.minLootValue(),
+            config.lootRarityThreshold(),
+            config.lootRarityValueIntersection(),
+            config.includePlayerLoot(),
+            config.lootIncludeGambles(),
+            config.lootIncludeClueScrolls(),
+            config.lootRedirectPlayerKill(),
+            config.pkWebhook(),
+            config.lootNotifyMessage()
+        );
+    }
+}
@@ -1,6 +1,7 @@
 package dinkplugin;
 
 import com.google.inject.Provides;
+import dinkplugin.message.DiscordMessageHandler;
 import dinkplugin.notifiers.ChatNotifier;
 import dinkplugin.notifiers.ClueNotifier;
 import dinkplugin.notifiers.CollectionNotifier;
@@ -23,8 +24,11 @@ import dinkplugin.notifiers.SpeedrunNotifier;
 import dinkplugin.notifiers.TradeNotifier;
 import dinkplugin.notifiers.LeaguesNotifier;
 import dinkplugin.util.AccountTypeTracker;
+import dinkplugin.util.GameMessageRouter;
+import dinkplugin.util.MetricsRegistry;
 import dinkplugin.util.RaidTracker;
 import dinkplugin.util.KillCountService;
+import dinkplugin.util.TickScheduler;
 import dinkplugin.util.Utils;
 import dinkplugin.util.WorldTypeTracker;
 import lombok.extern.slf4j.Slf4j;
@@ -65,9 +69,20 @@ import net.runelite.client.plugins.loottracker.LootReceived;
 import net.runelite.client.util.ColorUtil;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import java.awt.Color;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 @Slf4j
 @PluginDescriptor(
@@ -79,15 +94,24 @@ import java.util.concurrent.atomic.AtomicReference;
 public class DinkPlugin extends Plugin {
     public static final String USER_AGENT = RuneLite.USER_AGENT + " (Dink/1.x)";
 
+    private static final File METRICS_FILE = new File(new File(RuneLite.RUNELITE_DIR, "dink"), "metrics.txt");
+    private static final long METRICS_INTERVAL_MINUTES = 1;
+
     private @Inject ChatMessageManager chatManager;
+    private @Inject DinkPluginConfig config;
+    private @Inject ScheduledExecutorService executor;
 
     private @Inject SettingsManager settingsManager;
+    private @Inject ConfigSnapshotHolder configSnapshot;
     private @Inject VersionManager versionManager;
+    private @Inject DiscordMessageHandler messageHandler;
     private @Inject AccountTypeTracker accountTracker;
     private @Inject RaidTracker raidTracker;
     private @Inject WorldTypeTracker worldTracker;
 
     private @Inject KillCountService killCountService;
+    private @Inject TickScheduler tickScheduler;
+    private @Inject MetricsRegistry metrics;
 
     private @Inject CollectionNotifier collectionNotifier;
     private @Inject PetNotifier petNotifier;
@@ -115,6 +139,10 @@ public class DinkPlugin extends Plugin {
 
     private Map<String, Runnable> configDisabledTasks;
 
+    private GameMessageRouter gameMessageRouter;
+
+    private ScheduledFuture<?> metricsWriter;
+
     @Inject
     protected void init() {
         // clear out state that could be stale if notifier is enabled again
@@ -124,11 +152,46 @@ public class DinkPlugin extends Plugin {
             "levelEnabled", levelNotifier::reset,
             "speedrunEnabled", speedrunNotifier::reset
         );
+
+        // notifiers arm their tick task while they have something pending, so idle notifiers are never visited
+        tickScheduler.register("SettingsManager", settingsManager::onTick);
+        tickScheduler.register("AccountTypeTracker", accountTracker::onTick);
+        tickScheduler.register(raidTracker.getTickTask());
+        tickScheduler.register("WorldTypeTracker", worldTracker::onTick);
+        tickScheduler.register("CollectionNotifier", collectionNotifier::onTick);
+        tickScheduler.register(petNotifier.getTickTask());
+        tickScheduler.register(clueNotifier.getTickTask());
+        tickScheduler.register(slayerNotifier.getTickTask());
+        tickScheduler.register(levelNotifier.getTickTask());
+        tickScheduler.register("CombatTaskNotifier", combatTaskNotifier::onTick);
+        tickScheduler.register("DiaryNotifier", diaryNotifier::onTick);
+        tickScheduler.register(killCountNotifier.getTickTask());
+        tickScheduler.register(pkNotifier.getTickTask());
+        tickScheduler.register("GrandExchangeNotifier", grandExchangeNotifier::onTick);
+        tickScheduler.register(chatNotifier.getTickTask());
+        tickScheduler.register("MetaNotifier", metaNotifier::onTick);
+
+        // game messages are only offered to the consumers whose keywords occur in the message (and each consumer is timed)
+        this.gameMessageRouter = GameMessageRouter.builder()
+            .route(CollectionNotifier.GAME_MESSAGE_KEYWORDS, metrics.timed("CollectionNotifier.onChatMessage", collectionNotifier::onChatMessage))
+            .route(LootNotifier.GAME_MESSAGE_KEYWORDS, metrics.timed("LootNotifier.onGameMessage", lootNotifier::onGameMessage))
+            .route(PetNotifier.GAME_MESSAGE_KEYWORDS, metrics.timed("PetNotifier.onChatMessage", petNotifier::onChatMessage))
+            .route(KillCountService.GAME_MESSAGE_KEYWORDS, metrics.timed("KillCountService.onGameMessage", killCountService::onGameMessage))
+            .route(SlayerNotifier.GAME_MESSAGE_KEYWORDS, metrics.timed("SlayerNotifier.onChatMessage", slayerNotifier::onChatMessage))
+            .route(ClueNotifier.GAME_MESSAGE_KEYWORDS, metrics.timed("ClueNotifier.onChatMessage", clueNotifier::onChatMessage))
+            .route(KillCountNotifier.GAME_MESSAGE_KEYWORDS, metrics.timed("KillCountNotifier.onGameMessage", killCountNotifier::onGameMessage))
+            .route(CombatTaskNotifier.GAME_MESSAGE_KEYWORDS, metrics.timed("CombatTaskNotifier.onGameMessage", combatTaskNotifier::onGameMessage))
+            .route(DeathNotifier.GAME_MESSAGE_KEYWORDS, metrics.timed("DeathNotifier.onGameMessage", deathNotifier::onGameMessage))
+            .route(SpeedrunNotifier.GAME_MESSAGE_KEYWORDS, metrics.timed("SpeedrunNotifier.onGameMessage", speedrunNotifier::onGameMessage))
+            .route(LeaguesNotifier.GAME_MESSAGE_KEYWORDS, metrics.timed("LeaguesNotifier.onGameMessage", leaguesNotifier::onGameMessage))
+            .build();
     }
 
     @Override
     protected void startUp() {
         log.trace("Started up Dink");
+        // ConfigChanged events are not received while the plugin is disabled
+        configSnapshot.refresh();
         settingsManager.init();
         versionManager.onStart();
         accountTracker.init();
@@ -137,16 +200,25 @@ public class DinkPlugin extends Plugin {
         deathNotifier.init();
         chatNotifier.init();
         leaguesNotifier.init();
+        messageHandler.replayOutbox();
+        this.metricsWriter = executor.scheduleWithFixedDelay(this::writeMetrics, METRICS_INTERVAL_MINUTES, METRICS_INTERVAL_MINUTES, TimeUnit.MINUTES);
     }
 
     @Override
     protected void shutDown() {
         log.trace("Shutting down Dink");
+        log.debug("Tick costs: {}", tickScheduler.getCosts());
+        if (metricsWriter != null) {
+            metricsWriter.cancel(false);
+            metricsWriter = null;
+            executor.execute(this::writeMetrics);
+        }
         this.resetNotifiers();
         gameState.lazySet(null);
         accountTracker.clear();
         worldTracker.clear();
         metaNotifier.reset();
+        messageHandler.shutDown();
     }
 
     void resetNotifiers() {
@@ -164,11 +236,39 @@ public class DinkPlugin extends Plugin {
         chatNotifier.reset();
     }
 
+    /**
+     * @return the lines of the {@code ::DinkStats} report
+     */
+    List<String> getStats() {
+        List<String> lines = new ArrayList<>(metrics.report());
+        tickScheduler.getCosts().stream()
+            .filter(cost -> cost.getRuns() > 0)
+            .forEach(cost -> lines.add("tick." + cost));
+        return lines;
+    }
+
+    private void writeMetrics() {
+        if (!config.writeMetricsFile()) return;
+
+        try {
+            Files.createDirectories(METRICS_FILE.getParentFile().toPath());
+            Files.write(METRICS_FILE.toPath(), getStats(), StandardCharsets.UTF_8);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Failed to write metrics file", e);
+        }
+    }
+
     @Provides
     DinkPluginConfig provideConfig(ConfigManager configManager) {
         return configManager.getConfig(DinkPluginConfig.class);
     }
 
+    @Provides
+    @Named(DiscordMessageHandler.WARNINGS)
+    Consumer<String> provideWarningSink() {
+        return this::addChatWarning;
+    }
+
     @Subscribe
     public void onAccountHashChanged(AccountHashChanged event) {
         accountTracker.onAccountChange();
@@ -187,6 +287,7 @@ public class DinkPlugin extends Plugin {
             return;
         }
 
+        configSnapshot.refresh();
         settingsManager.onConfigChanged(event);
         accountTracker.onConfig(event.getKey());
         worldTracker.onConfig(event.getKey());
@@ -227,6 +328,10 @@ public class DinkPlugin extends Plugin {
         diaryNotifier.onGameState(gameStateChanged);
         grandExchangeNotifier.onGameStateChange(gameStateChanged);
         metaNotifier.onGameState(previousState, newState);
+
+        if (newState == GameState.LOGGED_IN && previousState != GameState.HOPPING) {
+            messageHandler.prewarmConnections(settingsManager.getWebhookUrls());
+        }
     }
 
     @Subscribe
@@ -236,22 +341,7 @@ public class DinkPlugin extends Plugin {
 
     @Subscribe
     public void onGameTick(GameTick event) {
-        settingsManager.onTick();
-        accountTracker.onTick();
-        raidTracker.onTick();
-        worldTracker.onTick();
-        collectionNotifier.onTick();
-        petNotifier.onTick();
-        clueNotifier.onTick();
-        slayerNotifier.onTick();
-        levelNotifier.onTick();
-        combatTaskNotifier.onTick();
-        diaryNotifier.onTick();
-        killCountNotifier.onTick();
-        pkNotifier.onTick();
-        grandExchangeNotifier.onTick();
-        chatNotifier.onTick();
-        metaNotifier.onTick();
+        tickScheduler.onTick();
     }
 
     @Subscribe(priority = 1) // run before the base loot tracker plugin
@@ -266,17 +356,7 @@ public class DinkPlugin extends Plugin {
                     return;
                 }
 
-                collectionNotifier.onChatMessage(chatMessage);
-                lootNotifier.onGameMessage(chatMessage);
-                petNotifier.onChatMessage(chatMessage);
-                killCountService.onGameMessage(chatMessage);
-                slayerNotifier.onChatMessage(chatMessage);
-                clueNotifier.onChatMessage(chatMessage);
-                killCountNotifier.onGameMessage(chatMessage);
-                combatTaskNotifier.onGameMessage(chatMessage);
-                deathNotifier.onGameMessage(chatMessage);
-                speedrunNotifier.onGameMessage(chatMessage);
-                leaguesNotifier.onGameMessage(chatMessage);
+                gameMessageRouter.route(chatMessage);
                 break;
 
             case FRIENDSCHATNOTIFICATION:
@@ -7,6 +7,7 @@ import dinkplugin.domain.ChatPrivacyMode;
 import dinkplugin.domain.ClueTier;
 import dinkplugin.domain.CombatAchievementTier;
 import dinkplugin.domain.ConfigImportPolicy;
+import dinkplugin.domain.DeliveryOverflowPolicy;
 import dinkplugin.domain.ExceptionalDeath;
 import dinkplugin.domain.ExternalScreenshotPolicy;
 import dinkplugin.domain.FilterMode;
@@ -589,6 +590,95 @@ public interface DinkPluginConfig extends Config {
         return ""; // user:pass
     }
 
+    @ConfigItem(
+        keyName = "persistOutbox",
+        name = "Persist Pending Webhooks",
+        description = "Whether to save notifications to disk until the webhook server accepts them.<br/>" +
+            "Undelivered notifications are sent again the next time the plugin starts",
+        position = 1026,
+        section = advancedSection
+    )
+    default boolean persistOutbox() {
+        return false;
+    }
+
+    @ConfigItem(
+        keyName = "batchWindowTicks",
+        name = "Discord Batch Window",
+        description = "The number of game ticks to wait for other notifications to the same Discord webhook,<br/>" +
+            "so they can be combined into a single message. Zero disables batching.<br/>" +
+            "Requires rich embeds; has no effect on custom (non-Discord) webhook handlers",
+        position = 1027,
+        section = advancedSection
+    )
+    @Units(Units.TICKS)
+    @Range(max = 5)
+    default int batchWindowTicks() {
+        return 0;
+    }
+
+    @ConfigItem(
+        keyName = "deliveryQueueCapacity",
+        name = "Delivery Queue Size",
+        description = "The maximum number of webhook messages that can wait to be sent or retried.<br/>" +
+            "Once full, messages are discarded in accordance with the Delivery Overflow Policy",
+        position = 1028,
+        section = advancedSection
+    )
+    @Range(min = 1, max = 500)
+    default int deliveryQueueCapacity() {
+        return 50;
+    }
+
+    @ConfigItem(
+        keyName = "deliveryOverflowPolicy",
+        name = "Delivery Overflow Policy",
+        description = "What to discard when the delivery queue is full.<br/>" +
+            "Lowest priority: discards chat, login, and trade messages before others (such as pets and collection log).<br/>" +
+            "Strip screenshots: keeps up to twice as many messages, but without their screenshots",
+        position = 1029,
+        section = advancedSection
+    )
+    default DeliveryOverflowPolicy deliveryOverflowPolicy() {
+        return DeliveryOverflowPolicy.DROP_LOWEST_PRIORITY;
+    }
+
+    @ConfigItem(
+        keyName = "maxRequestsPerHost",
+        name = "Max Requests Per Host",
+        description = "The maximum number of concurrent webhook requests to the same host (such as discord.com)",
+        position = 1030,
+        section = advancedSection
+    )
+    @Range(min = 1, max = 10)
+    default int maxRequestsPerHost() {
+        return 5;
+    }
+
+    @ConfigItem(
+        keyName = "prewarmConnections",
+        name = "Pre-warm Connections",
+        description = "Whether to connect to Discord upon login (if you have Discord webhooks),<br/>" +
+            "so the first notification of the session is not delayed by the connection handshake",
+        position = 1031,
+        section = advancedSection
+    )
+    default boolean prewarmConnections() {
+        return false;
+    }
+
+    @ConfigItem(
+        keyName = "writeMetricsFile",
+        name = "Write Metrics File",
+        description = "Whether to periodically write timings and counters (as shown by ::DinkStats)<br/>" +
+            "to .runelite/dink/metrics.txt, for troubleshooting performance",
+        position = 1032,
+        section = advancedSection
+    )
+    default boolean writeMetricsFile() {
+        return false;
+    }
+
     @ConfigItem(
         keyName = "discordWebhook", // do not rename; would break old configs
         name = "Primary Webhook URLs",
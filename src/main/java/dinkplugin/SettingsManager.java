@@ -52,6 +52,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -178,6 +179,17 @@ public class SettingsManager {
         return justLoggedIn.get();
     }
 
+    /**
+     * @return the non-blank values of the config items that hold webhook URLs
+     */
+    Collection<String> getWebhookUrls() {
+        if (webhookConfigKeys == null) return Collections.emptyList();
+        return webhookConfigKeys.stream()
+            .map(key -> configManager.getConfiguration(CONFIG_GROUP, key))
+            .filter(StringUtils::isNotBlank)
+            .collect(Collectors.toList());
+    }
+
     void onCommand(CommandExecuted event) {
         String cmd = event.getCommand();
         String[] args = event.getArguments();
@@ -243,6 +255,13 @@ public class SettingsManager {
                 plugin.addChatSuccess("Finished migrating configs from other plugins. " +
                     "Please verify the latest Dink settings and disable your other webhook plugins");
             }
+        } else if ("DinkStats".equalsIgnoreCase(cmd)) {
+            List<String> stats = plugin.getStats();
+            if (stats.isEmpty()) {
+                plugin.addChatWarning("No stats have been recorded yet");
+            } else {
+                stats.forEach(line -> plugin.addChatMessage("Stats", Utils.GREEN, line));
+            }
         }
     }
 
@@ -0,0 +1,17 @@
+package dinkplugin.domain;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public enum DeliveryOverflowPolicy {
+    DROP_OLDEST("Drop oldest"),
+    DROP_LOWEST_PRIORITY("Drop lowest priority"),
+    STRIP_IMAGE("Strip screenshots first");
+
+    private final String displayName;
+
+    @Override
+    public String toString() {
+        return this.displayName;
+    }
+}
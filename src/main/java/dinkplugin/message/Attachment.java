@@ -0,0 +1,31 @@
+package dinkplugin.message;
+
+import lombok.Value;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+
+/**
+ * A file (i.e., screenshot) that is uploaded alongside the webhook payload.
+ */
+@Value
+public class Attachment {
+    /**
+     * The image format name, which is either "png" or "jpeg"
+     */
+    String format;
+
+    /**
+     * The file name, which embeds can reference via {@code attachment://fileName}
+     */
+    String fileName;
+
+    byte[] bytes;
+
+    public Attachment withFileName(String fileName) {
+        return new Attachment(format, fileName, bytes);
+    }
+
+    RequestBody toRequestBody() {
+        return RequestBody.create(MediaType.parse("image/" + format), bytes);
+    }
+}
@@ -0,0 +1,244 @@
+package dinkplugin.message;
+
+import com.google.gson.stream.JsonWriter;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Encodes the stream of json tokens produced by Gson's type adapters as CBOR (RFC 8949),
+ * so payloads have the same structure and field names as their json counterparts.
+ * <p>
+ * Objects and arrays are written with indefinite lengths, so the number of entries need not be known upfront.
+ * Integers use the shortest integer encoding, while floating-point numbers (even whole ones) are written as double-precision floats.
+ * As with {@link JsonWriter}, null values of object members are omitted unless {@link #getSerializeNulls()} is enabled.
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc8949.html">RFC 8949</a>
+ */
+class CborWriter extends JsonWriter {
+
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_TEXT = 3;
+    private static final int INDEFINITE_ARRAY = 0x9F;
+    private static final int INDEFINITE_MAP = 0xBF;
+    private static final int FALSE = 0xF4;
+    private static final int TRUE = 0xF5;
+    private static final int NULL = 0xF6;
+    private static final int DOUBLE = 0xFB;
+    private static final int BREAK = 0xFF;
+
+    /**
+     * Rejects any write that bypasses the overridden methods, rather than silently emitting json text.
+     */
+    private static final Writer UNSUPPORTED = new Writer() {
+        @Override
+        public void write(char @NotNull [] buf, int off, int len) {
+            throw new UnsupportedOperationException("CborWriter does not emit text");
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private final OutputStream out;
+
+    @Nullable
+    private String deferredName;
+
+    CborWriter(@NotNull OutputStream out) {
+        super(UNSUPPORTED);
+        this.out = out;
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException {
+        writeDeferredName();
+        out.write(INDEFINITE_ARRAY);
+        return this;
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException {
+        out.write(BREAK);
+        return this;
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+        writeDeferredName();
+        out.write(INDEFINITE_MAP);
+        return this;
+    }
+
+    @Override
+    public JsonWriter endObject() throws IOException {
+        deferredName = null;
+        out.write(BREAK);
+        return this;
+    }
+
+    @Override
+    public JsonWriter name(@NotNull String name) {
+        if (deferredName != null) throw new IllegalStateException("Expected a value for " + deferredName);
+        deferredName = name;
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(@Nullable String value) throws IOException {
+        if (value == null) return nullValue();
+        writeDeferredName();
+        writeText(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter jsonValue(@Nullable String value) {
+        throw new UnsupportedOperationException("Raw json cannot be embedded in CBOR");
+    }
+
+    @Override
+    public JsonWriter nullValue() throws IOException {
+        if (deferredName != null) {
+            if (!getSerializeNulls()) {
+                deferredName = null;
+                return this; // skip the name and the value
+            }
+            writeDeferredName();
+        }
+        out.write(NULL);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(boolean value) throws IOException {
+        writeDeferredName();
+        out.write(value ? TRUE : FALSE);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(@Nullable Boolean value) throws IOException {
+        return value == null ? nullValue() : value(value.booleanValue());
+    }
+
+    public JsonWriter value(float value) throws IOException {
+        return value((double) value);
+    }
+
+    @Override
+    public JsonWriter value(double value) throws IOException {
+        // whole doubles (e.g., 1.0) remain floats, just as gson writes them as "1.0" rather than "1"
+        writeDeferredName();
+        out.write(DOUBLE);
+        writeLong(Double.doubleToLongBits(value));
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(long value) throws IOException {
+        writeDeferredName();
+        if (value >= 0) {
+            writeHead(MAJOR_UNSIGNED, value);
+        } else {
+            writeHead(MAJOR_NEGATIVE, -1 - value);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(@Nullable Number value) throws IOException {
+        if (value == null) return nullValue();
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+            || value instanceof AtomicInteger || value instanceof AtomicLong) {
+            return value(value.longValue());
+        }
+        if (value instanceof BigInteger && ((BigInteger) value).bitLength() < Long.SIZE) {
+            return value(value.longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return value(value.doubleValue());
+        }
+
+        // e.g., LazilyParsedNumber (when re-encoding a parsed JsonElement) or BigDecimal
+        String text = value.toString();
+        BigDecimal decimal = new BigDecimal(text);
+        if (StringUtils.containsNone(text, '.', 'e', 'E')) {
+            try {
+                return value(decimal.longValueExact());
+            } catch (ArithmeticException e) {
+                // too large for a long
+            }
+        }
+        return value(decimal.doubleValue());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeDeferredName() throws IOException {
+        if (deferredName != null) {
+            writeText(deferredName);
+            deferredName = null;
+        }
+    }
+
+    private void writeText(String text) throws IOException {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        writeHead(MAJOR_TEXT, utf8.length);
+        out.write(utf8);
+    }
+
+    /**
+     * Writes the initial byte (and argument) of a data item, using the shortest encoding of the argument.
+     */
+    private void writeHead(int majorType, long argument) throws IOException {
+        int major = majorType << 5;
+        if (argument < 24) {
+            out.write(major | (int) argument);
+        } else if (argument <= 0xFF) {
+            out.write(major | 24);
+            out.write((int) argument);
+        } else if (argument <= 0xFFFF) {
+            out.write(major | 25);
+            out.write((int) (argument >>> 8));
+            out.write((int) argument);
+        } else if (argument <= 0xFFFFFFFFL) {
+            out.write(major | 26);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                out.write((int) (argument >>> shift));
+            }
+        } else {
+            out.write(major | 27);
+            writeLong(argument);
+        }
+    }
+
+    private void writeLong(long bits) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (bits >>> shift));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package dinkplugin.message;
+
+import lombok.RequiredArgsConstructor;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSink;
+import okio.DeflaterSink;
+import okio.GzipSink;
+import okio.Okio;
+import okio.Sink;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses the request body for webhook urls that opt in via a query parameter
+ * (i.e., {@code ?compress=gzip} or {@code ?compress=deflate}), which is removed from the url before sending.
+ * <p>
+ * This is intended for custom webhook handlers; Discord does not accept compressed requests.
+ * The body is compressed as it is written to the connection, so requests are sent with chunked encoding.
+ */
+class CompressionInterceptor implements Interceptor {
+
+    static final String QUERY_PARAM = "compress";
+
+    @NotNull
+    @Override
+    public Response intercept(@NotNull Chain chain) throws IOException {
+        Request request = chain.request();
+        HttpUrl url = request.url();
+        String value = url.queryParameter(QUERY_PARAM);
+        if (value == null) {
+            return chain.proceed(request);
+        }
+
+        Request.Builder builder = request.newBuilder()
+            .url(url.newBuilder().removeAllQueryParameters(QUERY_PARAM).build());
+
+        Encoding encoding = Encoding.parse(value);
+        RequestBody body = request.body();
+        if (encoding != null && body != null && request.header("Content-Encoding") == null) {
+            builder.header("Content-Encoding", encoding.headerValue)
+                .method(request.method(), compress(body, encoding));
+        }
+        return chain.proceed(builder.build());
+    }
+
+    private static RequestBody compress(RequestBody body, Encoding encoding) {
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return body.contentType();
+            }
+
+            @Override
+            public long contentLength() {
+                return -1; // unknown until compressed
+            }
+
+            @Override
+            public void writeTo(@NotNull BufferedSink sink) throws IOException {
+                BufferedSink compressed = Okio.buffer(encoding.wrap(sink));
+                body.writeTo(compressed);
+                compressed.close();
+            }
+        };
+    }
+
+    @RequiredArgsConstructor
+    private enum Encoding {
+        GZIP("gzip") {
+            @Override
+            Sink wrap(Sink sink) {
+                return new GzipSink(sink);
+            }
+        },
+        DEFLATE("deflate") {
+            @Override
+            Sink wrap(Sink sink) {
+                // zlib format, as specified by RFC 9110 for the "deflate" coding
+                return new DeflaterSink(sink, new Deflater());
+            }
+        };
+
+        private final String headerValue;
+
+        abstract Sink wrap(Sink sink);
+
+        @Nullable
+        static Encoding parse(String value) {
+            for (Encoding encoding : values()) {
+                if (encoding.headerValue.equalsIgnoreCase(value)) {
+                    return encoding;
+                }
+            }
+            return null;
+        }
+    }
+}
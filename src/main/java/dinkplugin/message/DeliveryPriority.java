@@ -0,0 +1,49 @@
+package dinkplugin.message;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The order in which pending webhook deliveries are sent (and the reverse order in which they are dropped).
+ *
+ * @see DeliveryQueue
+ */
+enum DeliveryPriority {
+    LOW,
+    NORMAL,
+    HIGH;
+
+    static DeliveryPriority of(@Nullable NotificationType type) {
+        if (type == null) return NORMAL;
+        switch (type) {
+            case PET:
+            case COLLECTION:
+            case DEATH:
+            case TOA_UNIQUE:
+                return HIGH;
+
+            case CHAT:
+            case LOGIN:
+            case LOGOUT:
+            case TRADE:
+            case GRAND_EXCHANGE:
+            case GROUP_BANK_CONTENTS:
+                return LOW;
+
+            default:
+                return NORMAL;
+        }
+    }
+
+    /**
+     * @param typeName the {@link NotificationType#name()} that was persisted alongside a delivery
+     * @return the priority of the notification type, or {@link #NORMAL} if it is not recognized
+     */
+    static DeliveryPriority of(@Nullable String typeName) {
+        if (typeName == null) return NORMAL;
+        try {
+            return of(NotificationType.valueOf(typeName));
+        } catch (IllegalArgumentException e) {
+            return NORMAL;
+        }
+    }
+}
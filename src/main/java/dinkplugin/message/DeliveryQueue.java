@@ -0,0 +1,289 @@
+package dinkplugin.message;
+
+import dinkplugin.ConfigSnapshotHolder;
+import dinkplugin.DinkConfigSnapshot;
+import dinkplugin.domain.DeliveryOverflowPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Bounds the number of webhook deliveries that are waiting to be sent or waiting to be retried,
+ * so that an unreachable endpoint cannot accumulate screenshots on the heap indefinitely.
+ * <p>
+ * Waiting deliveries are dispatched by {@link DeliveryPriority} (and then in order of submission),
+ * with at most {@link #maxInFlight} requests outstanding at once.
+ * Once {@link DinkConfigSnapshot#getDeliveryQueueCapacity()} is reached,
+ * room is made in accordance with {@link DinkConfigSnapshot#getDeliveryOverflowPolicy()}.
+ * <p>
+ * Screenshots that were persisted to the {@link WebhookOutbox} are re-read from disk by each attempt,
+ * so they are not held by the queue (and are unaffected by {@link DeliveryOverflowPolicy#STRIP_IMAGE}).
+ */
+@Slf4j
+class DeliveryQueue {
+
+    /**
+     * Deliveries that are ready to be dispatched, in dispatch order.
+     */
+    private static final Comparator<Delivery> DISPATCH_ORDER = Comparator.<Delivery, DeliveryPriority>comparing(d -> d.priority)
+        .reversed()
+        .thenComparingLong(d -> d.sequence);
+
+    /**
+     * Deliveries in the order they should be dropped by {@link DeliveryOverflowPolicy#DROP_LOWEST_PRIORITY}.
+     */
+    private static final Comparator<Delivery> DROP_ORDER = Comparator.<Delivery, DeliveryPriority>comparing(d -> d.priority)
+        .thenComparingLong(d -> d.sequence);
+
+    private final ScheduledExecutorService executor;
+    private final ConfigSnapshotHolder configSnapshot;
+    private final int maxInFlight;
+
+    private final PriorityQueue<Delivery> ready = new PriorityQueue<>(DISPATCH_ORDER);
+    private final Set<Delivery> backoff = new LinkedHashSet<>();
+    private int inFlight = 0;
+    private long nextSequence = 0;
+
+    DeliveryQueue(ScheduledExecutorService executor, ConfigSnapshotHolder configSnapshot, int maxInFlight) {
+        this.executor = executor;
+        this.configSnapshot = configSnapshot;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * @return the number of deliveries that are waiting to be sent or retried (excluding those in flight)
+     */
+    synchronized int depth() {
+        return ready.size() + backoff.size();
+    }
+
+    /**
+     * Admits a delivery, making room if the queue is full.
+     * <p>
+     * The sender must eventually call {@link #complete(Delivery)} or {@link #retry},
+     * so that the next delivery can be dispatched.
+     *
+     * @param priority    the priority of the notification
+     * @param attachments the screenshots held in memory for the first attempt
+     * @param sender      performs the http call
+     * @param onDrop      called if the delivery is dropped (rather than sent) due to the queue being full
+     */
+    void submit(@NotNull DeliveryPriority priority, @NotNull List<Attachment> attachments, @NotNull Consumer<Delivery> sender, @NotNull Runnable onDrop) {
+        List<Delivery> dropped = new ArrayList<>(1);
+        synchronized (this) {
+            Delivery delivery = new Delivery(priority, nextSequence++, attachments, sender, onDrop);
+            if (admit(delivery, dropped)) {
+                ready.add(delivery);
+            }
+        }
+        dropped.forEach(Delivery::drop);
+        dispatch();
+    }
+
+    /**
+     * Releases the in-flight slot of a delivery that was sent successfully (or will not be retried).
+     *
+     * @param delivery the delivery that was passed to the sender
+     */
+    void complete(@NotNull Delivery delivery) {
+        synchronized (this) {
+            inFlight--;
+            delivery.clear();
+        }
+        dispatch();
+    }
+
+    /**
+     * Releases the in-flight slot of a failed delivery, and waits in the queue until it should be attempted again.
+     *
+     * @param delivery    the delivery that was passed to the sender
+     * @param delayMillis the backoff before the next attempt
+     * @param attachments the screenshots to hold in memory for the next attempt
+     * @param sender      performs the next attempt
+     * @param onDrop      called if the delivery is dropped while waiting due to the queue being full
+     */
+    void retry(@NotNull Delivery delivery, long delayMillis, @NotNull List<Attachment> attachments, @NotNull Consumer<Delivery> sender, @NotNull Runnable onDrop) {
+        synchronized (this) {
+            inFlight--;
+            delivery.attachments = delivery.imageStripped ? Collections.emptyList() : attachments;
+            delivery.sender = sender;
+            delivery.onDrop = onDrop;
+            backoff.add(delivery);
+        }
+        executor.schedule(() -> wake(delivery), delayMillis, TimeUnit.MILLISECONDS);
+        dispatch();
+    }
+
+    private void wake(Delivery delivery) {
+        synchronized (this) {
+            if (!backoff.remove(delivery)) {
+                return; // already dropped
+            }
+            ready.add(delivery);
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        while (true) {
+            Delivery delivery;
+            synchronized (this) {
+                if (inFlight >= maxInFlight || (delivery = ready.poll()) == null) {
+                    return;
+                }
+                inFlight++;
+            }
+            Consumer<Delivery> sender = delivery.sender;
+            executor.execute(() -> {
+                try {
+                    sender.accept(delivery);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to send webhook message", e);
+                    complete(delivery);
+                }
+            });
+        }
+    }
+
+    /**
+     * Makes room for the incoming delivery, if necessary.
+     *
+     * @param incoming the delivery being submitted
+     * @param dropped  receives the deliveries that were removed from the queue
+     * @return whether the incoming delivery should be enqueued (rather than dropped itself)
+     */
+    private boolean admit(Delivery incoming, List<Delivery> dropped) {
+        DinkConfigSnapshot settings = configSnapshot.get();
+        int capacity = Math.max(settings.getDeliveryQueueCapacity(), 1);
+        int depth = depth();
+        if (depth < capacity) {
+            return true;
+        }
+
+        DeliveryOverflowPolicy policy = settings.getDeliveryOverflowPolicy();
+        if (policy == DeliveryOverflowPolicy.STRIP_IMAGE) {
+            // shed screenshots first, which account for nearly all of the memory held by the queue
+            if (depth < capacity * 2L) {
+                Delivery victim = oldest(d -> !d.attachments.isEmpty());
+                if (victim == null && !incoming.attachments.isEmpty()) victim = incoming;
+                if (victim != null) {
+                    log.debug("Webhook delivery queue is full; removing screenshots from a {} priority delivery", victim.priority);
+                    victim.stripImage();
+                    return true;
+                }
+            }
+            policy = DeliveryOverflowPolicy.DROP_OLDEST;
+        }
+
+        Delivery victim;
+        if (policy == DeliveryOverflowPolicy.DROP_LOWEST_PRIORITY) {
+            victim = lowest();
+            if (victim == null || incoming.priority.compareTo(victim.priority) < 0) {
+                dropped.add(incoming);
+                return false;
+            }
+        } else {
+            victim = oldest(d -> true);
+            if (victim == null) {
+                dropped.add(incoming);
+                return false;
+            }
+        }
+
+        if (!ready.remove(victim)) {
+            backoff.remove(victim);
+        }
+        dropped.add(victim);
+        return true;
+    }
+
+    @Nullable
+    private Delivery oldest(Predicate<Delivery> filter) {
+        Delivery oldest = null;
+        for (Delivery d : ready) {
+            if (filter.test(d) && (oldest == null || d.sequence < oldest.sequence)) oldest = d;
+        }
+        for (Delivery d : backoff) {
+            if (filter.test(d) && (oldest == null || d.sequence < oldest.sequence)) oldest = d;
+        }
+        return oldest;
+    }
+
+    @Nullable
+    private Delivery lowest() {
+        Delivery lowest = null;
+        for (Delivery d : ready) {
+            if (lowest == null || DROP_ORDER.compare(d, lowest) < 0) lowest = d;
+        }
+        for (Delivery d : backoff) {
+            if (lowest == null || DROP_ORDER.compare(d, lowest) < 0) lowest = d;
+        }
+        return lowest;
+    }
+
+    /**
+     * A webhook message (to a single url) that is tracked by the queue until it is sent or dropped.
+     */
+    static final class Delivery {
+        private final DeliveryPriority priority;
+        private final long sequence;
+        private volatile List<Attachment> attachments;
+        private volatile Consumer<Delivery> sender;
+        private volatile Runnable onDrop;
+        private volatile boolean imageStripped;
+
+        private Delivery(DeliveryPriority priority, long sequence, List<Attachment> attachments, Consumer<Delivery> sender, Runnable onDrop) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.attachments = attachments;
+            this.sender = sender;
+            this.onDrop = onDrop;
+        }
+
+        /**
+         * @return the screenshots held in memory for the current attempt, or an empty list if they were stripped
+         */
+        List<Attachment> getAttachments() {
+            return attachments;
+        }
+
+        /**
+         * @return whether the screenshots were removed due to the queue being full
+         */
+        boolean isImageStripped() {
+            return imageStripped;
+        }
+
+        private void stripImage() {
+            imageStripped = true;
+            attachments = Collections.emptyList();
+        }
+
+        private void drop() {
+            Runnable callback = onDrop;
+            clear();
+            callback.run();
+        }
+
+        /**
+         * Releases the references held while waiting, so that a completed delivery does not retain its screenshots.
+         */
+        private void clear() {
+            attachments = Collections.emptyList();
+            sender = null;
+            onDrop = null;
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package dinkplugin.message;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import dinkplugin.ConfigSnapshotHolder;
+import dinkplugin.DinkConfigSnapshot;
 import dinkplugin.DinkPlugin;
 import dinkplugin.DinkPluginConfig;
 import dinkplugin.domain.PlayerLookupService;
@@ -10,8 +16,9 @@ import dinkplugin.message.templating.Template;
 import dinkplugin.notifiers.data.NotificationData;
 import dinkplugin.util.ConfigProxyAuth;
 import dinkplugin.util.ConfigProxyServer;
-import dinkplugin.util.ConfigUtil;
 import dinkplugin.util.DiscordProfile;
+import dinkplugin.util.LatencyHistogram;
+import dinkplugin.util.MetricsRegistry;
 import dinkplugin.util.Utils;
 import dinkplugin.util.WorldUtils;
 import lombok.NonNull;
@@ -26,87 +33,193 @@ import net.runelite.client.util.ImageCapture;
 import net.runelite.client.util.ImageUtil;
 import okhttp3.Call;
 import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
-import okhttp3.MediaType;
 import okhttp3.MultipartBody;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
-import javax.imageio.ImageIO;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.awt.Image;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Slf4j
 @Singleton
 public class DiscordMessageHandler {
 
-    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
-    private static final Collection<String> NO_IMAGE_ENDPOINTS = Set.of(
-        "revolt.chat", "api.revolt.chat", "local.revolt.chat",
-        "stoat.chat", "api.stoat.chat", "local.stoat.chat",
-        "api.fluxer.app"
-    );
+    /**
+     * The maximum number of times a request can be re-queued due to HTTP 429,
+     * before it is considered a failed attempt (which is subject to {@link DinkPluginConfig#maxRetries()}).
+     */
+    private static final int MAX_RATE_LIMIT_DEFERRALS = 8;
+
+    /**
+     * Names the sink for warnings that are shown to the player in chat (e.g., when a webhook is disabled).
+     */
+    public static final String WARNINGS = "dinkWarnings";
+
+    private static final long GAME_TICK_MILLIS = 600;
+
+    /**
+     * The maximum number of webhook requests that can be outstanding at once (including those awaiting a rate limit).
+     */
+    private static final int MAX_CONCURRENT_DELIVERIES = 8;
+
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+
+    /**
+     * How long {@link #shutDown()} waits for in-flight deliveries before closing the outbox.
+     */
+    private static final long SHUTDOWN_GRACE_MILLIS = 5_000;
+    private static final long SHUTDOWN_POLL_MILLIS = 100;
 
     private final Gson gson;
     private final Client client;
     private final DrawManager drawManager;
     private final OkHttpClient httpClient;
+    private final Dispatcher dispatcher = new Dispatcher();
     private final DinkPluginConfig config;
+    private final ConfigSnapshotHolder configSnapshot;
     private final ScheduledExecutorService executor;
     private final ClientThread clientThread;
     private final DiscordService discordService;
     private final ImageCapture imageCapture;
+    private final WebhookOutbox outbox;
+    private final ScreenshotEncoder screenshotEncoder;
+    private final WebhookRateLimiter rateLimiter;
+    private final WebhookBatcher batcher;
+    private final WebhookRoutes routes;
+    private final DeliveryQueue deliveries;
+    private final WebhookCircuitBreaker circuitBreaker;
+    private final FrameCaptureCoordinator frameCapture = new FrameCaptureCoordinator();
+    private final MetricsRegistry metrics;
+    private final LatencyHistogram templateTime;
+    private final LatencyHistogram captureTime;
+    private final LatencyHistogram encodeTime;
+    private final Map<PayloadFormat, LatencyHistogram> serializeTime;
+    private final LongAdder sent;
+    private final LongAdder retries;
+    private final LongAdder failures;
+    private final LongAdder discarded;
+
+    /**
+     * The (lazily) serialized form of each body (compared by identity) in each format,
+     * shared across webhook urls and retry attempts.
+     */
+    private final Map<PayloadFormat, Cache<NotificationBody<?>, SerializedPayload>> payloads = new EnumMap<>(PayloadFormat.class);
 
     @Inject
     @VisibleForTesting
-    public DiscordMessageHandler(Gson gson, Client client, DrawManager drawManager, OkHttpClient httpClient, DinkPluginConfig config, ScheduledExecutorService executor, ClientThread clientThread, DiscordService discordService, ImageCapture imageCapture) {
-        this.gson = gson;
+    public DiscordMessageHandler(Gson gson, Client client, DrawManager drawManager, OkHttpClient httpClient, DinkPluginConfig config, ScheduledExecutorService executor, ClientThread clientThread, DiscordService discordService, ImageCapture imageCapture, WebhookOutbox outbox, ScreenshotEncoder screenshotEncoder, ConfigSnapshotHolder configSnapshot, @Named(WARNINGS) Consumer<String> warn, MetricsRegistry metrics) {
+        this.gson = gson.newBuilder()
+            .registerTypeAdapterFactory(new PayloadTypeAdapterFactory())
+            .create();
+        for (PayloadFormat format : PayloadFormat.values()) {
+            payloads.put(format, CacheBuilder.newBuilder().weakKeys().build());
+        }
         this.client = client;
         this.drawManager = drawManager;
         this.config = config;
+        this.configSnapshot = configSnapshot;
         this.executor = executor;
         this.clientThread = clientThread;
         this.discordService = discordService;
         this.imageCapture = imageCapture;
+        this.outbox = outbox;
+        this.screenshotEncoder = screenshotEncoder;
+        this.rateLimiter = new WebhookRateLimiter(executor);
+        this.batcher = new WebhookBatcher(executor, this::sendBatch);
+        this.routes = new WebhookRoutes(configSnapshot, metrics);
+        this.deliveries = new DeliveryQueue(executor, configSnapshot, MAX_CONCURRENT_DELIVERIES);
+        this.circuitBreaker = new WebhookCircuitBreaker(configSnapshot, warn, System::nanoTime);
+        this.metrics = metrics;
+        this.templateTime = metrics.histogram("template.evaluate");
+        this.captureTime = metrics.histogram("screenshot.capture");
+        this.encodeTime = metrics.histogram("screenshot.encode");
+        this.serializeTime = metrics.histograms("serialize.", PayloadFormat.class, PayloadFormat::getQueryValue);
+        this.sent = metrics.counter("webhook.sent");
+        this.retries = metrics.counter("webhook.retries");
+        this.failures = metrics.counter("webhook.failures");
+        this.discarded = metrics.counter("webhook.discarded");
+        metrics.gauge("webhook.queue", deliveries::depth);
         this.httpClient = httpClient.newBuilder()
+            .addInterceptor(chain -> {
+                // latency until the response headers arrive (excluding any time spent queued by the dispatcher)
+                Request request = chain.request();
+                HttpMetrics hostMetrics = request.tag(HttpMetrics.class); // absent for pre-warming requests
+                PipelineEvents.HttpExchange event = new PipelineEvents.HttpExchange();
+                event.begin();
+                long start = System.nanoTime();
+                int status = -1;
+                try {
+                    Response response = chain.proceed(request);
+                    status = response.code();
+                    if (!response.isSuccessful() && hostMetrics != null) {
+                        hostMetrics.getErrors().increment();
+                    }
+                    return response;
+                } catch (IOException | RuntimeException e) {
+                    if (hostMetrics != null) {
+                        hostMetrics.getFailures().increment();
+                    }
+                    throw e;
+                } finally {
+                    if (hostMetrics != null) {
+                        hostMetrics.getLatency().recordSince(start);
+                    }
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.notificationType = request.tag(String.class);
+                        event.urlHost = request.url().host();
+                        event.method = request.method();
+                        event.statusCode = status;
+                        // known once the body has been written (i.e., unless the connection failed), without encoding it here
+                        SerializedPayload payload = request.tag(SerializedPayload.class);
+                        event.payloadSize = payload != null ? payload.knownLength() : -1;
+                        event.commit();
+                    }
+                }
+            })
             .addInterceptor(chain -> {
                 Request request = chain.request().newBuilder()
                     .header("User-Agent", DinkPlugin.USER_AGENT)
                     .build();
+                DinkConfigSnapshot settings = configSnapshot.get();
                 Interceptor.Chain updatedChain = chain
-                    .withConnectTimeout(config.networkTimeout(), TimeUnit.SECONDS)
-                    .withReadTimeout(config.networkTimeout(), TimeUnit.SECONDS);
+                    .withConnectTimeout(settings.getNetworkTimeout(), TimeUnit.SECONDS)
+                    .withReadTimeout(settings.getNetworkTimeout(), TimeUnit.SECONDS);
                 // Allow longer timeout when writing a screenshot file to overcome slow internet speeds
                 if (request.body() instanceof MultipartBody && Utils.hasImage((MultipartBody) request.body())) {
-                    updatedChain = chain.withWriteTimeout(Math.max(config.imageWriteTimeout(), 0), TimeUnit.SECONDS);
+                    updatedChain = chain.withWriteTimeout(Math.max(settings.getImageWriteTimeout(), 0), TimeUnit.SECONDS);
                 }
                 return updatedChain.proceed(request);
             })
@@ -129,105 +242,337 @@ public class DiscordMessageHandler {
                 }
                 return response;
             })
+            // must follow the interceptor that inspects the (uncompressed) multipart body
+            .addInterceptor(new CompressionInterceptor())
             .proxySelector(new ConfigProxyServer(config))
             .proxyAuthenticator(new ConfigProxyAuth(config))
+            // avoid competing with other plugins for the shared client's per-host limit and idle connections
+            .dispatcher(dispatcher)
+            .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
             .build();
     }
 
     public void createMessage(String webhookUrl, boolean sendImage, @NonNull NotificationBody<?> inputBody) {
         if (StringUtils.isBlank(webhookUrl)) return;
 
-        Collection<HttpUrl> urlList = Arrays.stream(StringUtils.split(webhookUrl, '\n'))
-            .filter(StringUtils::isNotBlank)
-            .map(HttpUrl::parse)
-            .filter(Objects::nonNull)
-            .filter(url -> !"example.com".equalsIgnoreCase(url.host()))
-            .collect(Collectors.toList());
-        if (urlList.isEmpty()) return;
+        List<WebhookRoute> routeList = routes.get(webhookUrl);
+        if (routeList.isEmpty()) return;
 
+        PipelineEvents.Enrich enrich = new PipelineEvents.Enrich();
+        enrich.begin();
         NotificationBody<?> mBody = enrichBody(inputBody, sendImage);
+        enrich.end();
+        if (enrich.shouldCommit()) {
+            enrich.notificationType = inputBody.getType().name();
+            enrich.commit();
+        }
+
         if (sendImage) {
             // optionally hide chat for privacy in screenshot
-            captureScreenshot(config.screenshotScale() / 100.0, mBody.getScreenshotOverride())
-                .thenApply(image ->
-                    RequestBody.create(MediaType.parse("image/" + image.getKey()), image.getValue())
-                )
+            double scale = configSnapshot.get().getScreenshotScale() / 100.0;
+            Image override = mBody.getScreenshotOverride();
+            FrameCaptureCoordinator.Lease lease = override != null
+                ? frameCapture.acquireUnshared(() -> captureScreenshot(scale, override, mBody.getType()))
+                : frameCapture.acquire(client.getTickCount(), scale, () -> captureScreenshot(scale, null, mBody.getType()));
+            lease.getScreenshot()
                 .exceptionally(e -> {
                     log.warn("There was an error creating bytes from captured image", e);
                     return null;
                 })
-                .thenAccept(image -> sendToMultiple(urlList, mBody, image));
+                .thenAccept(image -> {
+                    try {
+                        sendToMultiple(routeList, mBody, image);
+                    } finally {
+                        lease.release();
+                    }
+                });
+        } else {
+            sendToMultiple(routeList, mBody, null);
+        }
+    }
+
+    /**
+     * Closes the outbox once the pending deliveries have completed, or once {@link #SHUTDOWN_GRACE_MILLIS} elapses.
+     * Deliveries that are still pending (e.g., awaiting a retry) are abandoned, so they are replayed on the next start-up.
+     */
+    public void shutDown() {
+        closeOutbox(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_GRACE_MILLIS));
+    }
+
+    private void closeOutbox(long deadline) {
+        if (isIdle() || System.nanoTime() - deadline >= 0) {
+            executor.execute(outbox::close);
         } else {
-            sendToMultiple(urlList, mBody, null);
+            executor.schedule(() -> closeOutbox(deadline), SHUTDOWN_POLL_MILLIS, TimeUnit.MILLISECONDS);
         }
     }
 
-    private void sendToMultiple(Collection<HttpUrl> urls, NotificationBody<?> body, @Nullable RequestBody image) {
-        urls.forEach(url -> {
-            RequestBody img = image == null || NO_IMAGE_ENDPOINTS.contains(url.host()) ? null : image;
-            executor.execute(() -> sendMessage(url, injectThreadName(url, body, false), img, 0));
+    /**
+     * Redelivers webhook messages that were persisted by a previous session, but never acknowledged.
+     *
+     * @see WebhookOutbox
+     */
+    public void replayOutbox() {
+        if (!configSnapshot.get().isPersistOutbox()) return;
+
+        executor.execute(() -> {
+            List<WebhookOutbox.Entry> entries = outbox.drainPending();
+            if (!entries.isEmpty()) {
+                log.info("Replaying {} undelivered webhook messages from the outbox", entries.size());
+                entries.forEach(entry -> {
+                    long id = entry.getId();
+                    deliveries.submit(
+                        DeliveryPriority.of(entry.getType()),
+                        Collections.emptyList(),
+                        delivery -> {
+                            WebhookOutbox.Entry persisted = outbox.read(id);
+                            if (persisted != null) {
+                                // replays are rare, so their metrics are resolved per message rather than cached by WebhookRoutes
+                                HttpUrl url = persisted.getUrl();
+                                WebhookRoute route = WebhookRoute.of(url, HttpMetrics.of(metrics, url.host()));
+                                List<Attachment> files = delivery.isImageStripped() ? Collections.emptyList() : persisted.getAttachments();
+                                send(delivery, route, persisted.getType(), null, decodeEntry(persisted), files, 0, id);
+                            } else {
+                                deliveries.complete(delivery);
+                            }
+                        },
+                        () -> outbox.release(id)
+                    );
+                });
+            }
         });
     }
 
-    private void sendMessage(HttpUrl url, NotificationBody<?> mBody, @Nullable RequestBody image, int attempt) {
+    /**
+     * @return the number of webhook messages that are waiting to be sent or retried
+     */
+    public int getDeliveryQueueDepth() {
+        return deliveries.depth();
+    }
+
+    /**
+     * @return whether no webhook messages are waiting, queued, or being sent
+     */
+    @VisibleForTesting
+    public boolean isIdle() {
+        return deliveries.depth() == 0 && dispatcher.queuedCallsCount() == 0 && dispatcher.runningCallsCount() == 0;
+    }
+
+    /**
+     * Opens connections to the Discord hosts of the configured webhooks, so that the first notification of the session
+     * is not delayed by DNS resolution and TLS handshakes.
+     * <p>
+     * Custom webhook handlers are not contacted, since they may not expect requests other than notifications,
+     * and webhooks whose circuit is open are skipped, since these requests bypass the circuit breaker.
+     *
+     * @param webhookUrls the values of the webhook config items
+     */
+    public void prewarmConnections(Collection<String> webhookUrls) {
+        if (!configSnapshot.get().isPrewarmConnections()) return;
+
+        executor.execute(() -> {
+            Set<HttpUrl> origins = new LinkedHashSet<>();
+            for (String value : webhookUrls) {
+                if (StringUtils.isBlank(value)) continue;
+                routes.get(value).stream()
+                    .filter(route -> route.isDiscord() && circuitBreaker.isClosed(route.getUrl()))
+                    .forEach(route -> origins.add(route.getUrl().resolve("/")));
+            }
+
+            log.debug("Pre-warming connections to {} webhook hosts", origins.size());
+            // the response is irrelevant; the connection is retained by the pool
+            origins.forEach(origin -> httpClient.newCall(new Request.Builder().url(origin).head().build()).enqueue(new Callback() {
+                @Override
+                public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                    log.debug("Failed to pre-warm connection to {}", origin, e);
+                }
+
+                @Override
+                public void onResponse(@NotNull Call call, @NotNull Response response) {
+                    response.close();
+                }
+            }));
+        });
+    }
+
+    private void sendToMultiple(List<WebhookRoute> routes, NotificationBody<?> body, @Nullable Map.Entry<String, byte[]> image) {
+        DinkConfigSnapshot settings = configSnapshot.get();
+        List<Attachment> attachments = image != null
+            ? List.of(new Attachment(image.getKey(), computeScreenshotName(settings.getScreenshotFilenameTemplate(), body), image.getValue()))
+            : Collections.emptyList();
+        int batchTicks = settings.getBatchWindowTicks();
+        ThreadNameVariants variants = new ThreadNameVariants(body);
+        Set<SerializedPayload> used = new HashSet<>(routes.size());
+        routes.forEach(route -> {
+            HttpUrl url = route.getUrl();
+            List<Attachment> files = route.isImages() ? attachments : Collections.emptyList();
+            NotificationBody<?> injected = variants.get(route, false);
+            // forum messages cannot be batched, since each notification creates its own thread
+            if (batchTicks > 0 && body.getComputedDiscordContent() == null && route.isDiscord() && !route.isForum()) {
+                batcher.add(route, injected, files, batchTicks * GAME_TICK_MILLIS);
+            } else {
+                // routes that receive the same body (and format) send the same payload, which is then worth buffering
+                SerializedPayload payload = serialize(injected, PayloadFormat.of(url));
+                if (!used.add(payload)) {
+                    payload.share();
+                }
+                deliver(route, injected, files);
+            }
+        });
+    }
+
+    private void sendBatch(WebhookRoute route, List<WebhookBatcher.Item> items) {
+        if (items.size() > 1) {
+            log.debug("Coalesced {} notifications into one webhook message", items.size());
+        }
+        WebhookBatcher.Item merged = WebhookBatcher.merge(items);
+        deliver(route, merged.getBody(), merged.getAttachments());
+    }
+
+    private void deliver(WebhookRoute route, NotificationBody<?> mBody, List<Attachment> attachments) {
+        String type = mBody.getType().name();
+        deliveries.submit(
+            DeliveryPriority.of(mBody.getType()),
+            attachments,
+            delivery -> send(delivery, route, type, mBody, serialize(mBody, PayloadFormat.of(route.getUrl())), delivery.getAttachments(), 0, -1),
+            () -> {
+                discarded.increment();
+                log.warn("Discarded the {} webhook message to {} since the delivery queue is full", type, censor(route.getUrl()));
+            }
+        );
+    }
+
+    /**
+     * Sends one attempt of a webhook message, and schedules the next attempt if it fails.
+     *
+     * @param delivery    the slot of this message in the delivery queue
+     * @param route       the webhook that receives the message
+     * @param type        the name of the notification type, for logging and metrics
+     * @param mBody       the notification, or null if the message is replayed from the outbox (and cannot be amended)
+     * @param payload     the serialized notification
+     * @param attachments the files to upload alongside the payload
+     * @param attempt     the number of prior attempts
+     * @param outboxId    the id of the outbox entry, or -1 if the message has not been persisted (yet)
+     */
+    private void send(DeliveryQueue.Delivery delivery, WebhookRoute route, String type, @Nullable NotificationBody<?> mBody, SerializedPayload payload, List<Attachment> attachments, int attempt, long outboxId) {
+        HttpUrl url = route.getUrl();
+        if (!circuitBreaker.allow(url)) {
+            log.debug("Skipping the {} webhook message to {} since the webhook is unavailable", type, censor(url));
+            settle(outboxId, url);
+            deliveries.complete(delivery);
+            return;
+        }
+
+        // persist before the first attempt, so the message survives a client restart
+        long entryId = outboxId;
+        if (entryId <= 0 && attempt == 0 && mBody != null && configSnapshot.get().isPersistOutbox()) {
+            entryId = persist(mBody, url, serialize(mBody, PayloadFormat.JSON), attachments);
+        }
+        final long id = entryId;
+
+        // once persisted, retries re-read the screenshots from disk rather than retaining them on the heap
+        final List<Attachment> retained = id > 0 ? null : attachments;
+
         BiConsumer<NotificationBody<?>, Throwable> retry = (body, e) -> {
-            String urlString = url.toString();
-            String censoredUrl = Utils.truncate(urlString, urlString.length() / 2) +
-                (urlString.length() > 20 ? urlString.substring(urlString.length() - urlString.length() / 20) : "");
+            String censoredUrl = censor(url);
 
-            log.trace("Failed to send webhook message to {} on attempt {}", urlString, attempt, e);
+            log.trace("Failed to send webhook message to {} on attempt {}", url, attempt, e);
 
             if (attempt == 0) {
-                log.warn("There was an error sending the {} webhook message to {}", mBody.getType(), censoredUrl, e);
+                log.warn("There was an error sending the {} webhook message to {}", type, censoredUrl, e);
             }
 
-            int maxRetries = config.maxRetries();
-            if (attempt < maxRetries) {
-                long baseDelay = config.baseRetryDelay();
-                if (baseDelay > 0) {
-                    long delay = baseDelay * (1L << Math.min(attempt, 16)); // exponential backoff
-                    executor.schedule(() -> sendMessage(url, body, image, attempt + 1), delay, TimeUnit.MILLISECONDS);
-                    log.debug("Scheduled webhook message for retry in {} milliseconds", delay);
+            long delay = retryDelay(attempt);
+            if (delay >= 0) {
+                retries.increment();
+                SerializedPayload nextPayload;
+                if (body == mBody) {
+                    // the next attempt re-sends the same payload, so it is buffered rather than re-encoded
+                    payload.share();
+                    nextPayload = payload;
                 } else {
-                    log.debug("Skipping retry attempts for failed webhook since base delay is not positive");
+                    nextPayload = serialize(body, PayloadFormat.of(url));
                 }
-            } else if (maxRetries > 0) {
-                log.warn("Exhausted retry attempts when sending the {} webhook message to {}", mBody.getType(), censoredUrl, e);
+                deliveries.retry(
+                    delivery,
+                    delay,
+                    retained != null ? retained : Collections.emptyList(),
+                    next -> {
+                        List<Attachment> files = id > 0 && !next.isImageStripped() ? readAttachments(id) : next.getAttachments();
+                        send(next, route, type, body, nextPayload, files, attempt + 1, id);
+                    },
+                    () -> {
+                        discarded.increment();
+                        log.warn("Discarded the {} webhook message to {} since the delivery queue is full", type, censoredUrl);
+                        outbox.release(id);
+                    }
+                );
             } else {
-                log.debug("Skipping retry attempts for failed webhook since max retries is not positive");
+                failures.increment();
+                int maxRetries = configSnapshot.get().getMaxRetries();
+                if (attempt >= maxRetries && maxRetries > 0) {
+                    log.warn("Exhausted retry attempts when sending the {} webhook message to {}", type, censoredUrl, e);
+                }
+                outbox.release(id);
+                deliveries.complete(delivery);
             }
         };
 
         Request request = new Request.Builder()
-            .url(url)
-            .post(createBody(mBody, image))
+            .url(PayloadFormat.strip(url))
+            .post(createBody(payload, attachments))
+            .tag(String.class, type)
+            .tag(HttpMetrics.class, route.getMetrics())
+            .tag(SerializedPayload.class, payload)
             .build();
 
-        httpClient.newCall(request).enqueue(new Callback() {
+        enqueue(url, request, new Callback() {
+            private int deferrals = 0;
+
             @Override
             public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                circuitBreaker.onFailure(url);
                 retry.accept(mBody, e);
             }
 
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
-                if (response.isSuccessful()) {
-                    log.trace("Successfully sent webhook message to {} after {} attempts", url, attempt + 1);
+                if (rateLimiter.update(url, response) && deferrals++ < MAX_RATE_LIMIT_DEFERRALS) {
+                    // wait for the bucket to reset, without consuming a retry attempt
+                    response.close();
+                    payload.share();
+                    enqueue(url, call.request(), this);
+                    return;
+                }
 
-                    if (response.body() != null) {
-                        response.close();
+                try (response) {
+                    if (response.isSuccessful()) {
+                        circuitBreaker.onResponse(url, response.code(), null);
+                        log.trace("Successfully sent webhook message to {} after {} attempts", url, attempt + 1);
+                        sent.increment();
+                        outbox.acknowledge(id);
+                        deliveries.complete(delivery);
+                        return;
                     }
-                } else {
+
                     String body = response.body() != null ? response.body().string() : null;
+                    DiscordErrorMessage error = parseError(response, body);
+                    circuitBreaker.onResponse(url, response.code(), error);
+
+                    if (WebhookCircuitBreaker.isPermanentFailure(response.code())) {
+                        log.warn("Could not send the {} webhook message since {} no longer exists: {}", type, censor(url), body);
+                        failures.increment();
+                        outbox.acknowledge(id);
+                        deliveries.complete(delivery);
+                        return;
+                    }
 
                     // Update thread_name to comply with discord forum channel specification
-                    if (response.code() == 400 && "application/json".equals(response.header("Content-Type"))) {
-                        DiscordErrorMessage error = gson.fromJson(body, DiscordErrorMessage.class);
-
+                    if (response.code() == 400 && mBody != null && error != null) {
                         // "Webhooks posted to forum channels must have a thread_name or thread_id"
                         if (error.getCode() == 220001) {
                             retry.accept(
-                                injectThreadName(url, mBody, true),
+                                new ThreadNameVariants(mBody).get(route, true),
                                 new RuntimeException(error.getMessage())
                             );
                             return;
@@ -247,6 +592,76 @@ public class DiscordMessageHandler {
         });
     }
 
+    private void enqueue(HttpUrl url, Request request, Callback callback) {
+        int maxPerHost = Math.max(configSnapshot.get().getMaxRequestsPerHost(), 1);
+        if (dispatcher.getMaxRequestsPerHost() != maxPerHost) {
+            dispatcher.setMaxRequestsPerHost(maxPerHost);
+        }
+        rateLimiter.submit(url, () -> httpClient.newCall(request).enqueue(callback));
+    }
+
+    /**
+     * Computes the exponential backoff before the next attempt, in accordance with {@link DinkPluginConfig#maxRetries()}
+     * and {@link DinkPluginConfig#baseRetryDelay()}.
+     *
+     * @param attempt the number of the attempt that just failed (zero-indexed)
+     * @return the delay in milliseconds, or -1 if the message should not be retried
+     */
+    private long retryDelay(int attempt) {
+        DinkConfigSnapshot settings = configSnapshot.get();
+        int maxRetries = settings.getMaxRetries();
+        if (attempt < maxRetries) {
+            long baseDelay = settings.getBaseRetryDelay();
+            if (baseDelay > 0) {
+                long delay = baseDelay * (1L << Math.min(attempt, 16)); // exponential backoff
+                log.debug("Scheduled webhook message for retry in {} milliseconds", delay);
+                return delay;
+            } else {
+                log.debug("Skipping retry attempts for failed webhook since base delay is not positive");
+            }
+        } else if (maxRetries <= 0) {
+            log.debug("Skipping retry attempts for failed webhook since max retries is not positive");
+        }
+        return -1;
+    }
+
+    @Nullable
+    private DiscordErrorMessage parseError(Response response, @Nullable String body) {
+        if (!"application/json".equals(response.header("Content-Type"))) {
+            return null;
+        }
+        try {
+            return gson.fromJson(body, DiscordErrorMessage.class);
+        } catch (JsonParseException e) {
+            // the in-flight delivery must still be retried (or completed) below
+            log.debug("Failed to parse webhook error response", e);
+            return null;
+        }
+    }
+
+    /**
+     * Releases an outbox entry whose webhook is temporarily unavailable, so it can be replayed on the next start-up,
+     * or acknowledges it if the webhook has been disabled (since replaying it would be futile).
+     */
+    private void settle(long outboxId, HttpUrl url) {
+        if (circuitBreaker.isDisabled(url)) {
+            outbox.acknowledge(outboxId);
+        } else {
+            outbox.release(outboxId);
+        }
+    }
+
+    private List<Attachment> readAttachments(long outboxId) {
+        WebhookOutbox.Entry entry = outbox.read(outboxId);
+        return entry != null ? entry.getAttachments() : Collections.emptyList();
+    }
+
+    static String censor(HttpUrl url) {
+        String urlString = url.toString();
+        return Utils.truncate(urlString, urlString.length() / 2) +
+            (urlString.length() > 20 ? urlString.substring(urlString.length() - urlString.length() / 20) : "");
+    }
+
     private NotificationBody<?> enrichBody(NotificationBody<?> mBody, boolean sendImage) {
         if (mBody.getPlayerName() == null) {
             mBody = mBody.withPlayerName(Utils.getPlayerName(client));
@@ -263,13 +678,14 @@ public class DiscordMessageHandler {
             }
         }
 
-        if (config.seasonalPolicy() != SeasonalPolicy.REJECT && !mBody.isSeasonalWorld() && WorldUtils.isSeasonal(client)) {
+        DinkConfigSnapshot settings = configSnapshot.get();
+        if (settings.getSeasonalPolicy() != SeasonalPolicy.REJECT && !mBody.isSeasonalWorld() && WorldUtils.isSeasonal(client)) {
             mBody = mBody.withSeasonalWorld(true);
         }
 
         NotificationBody.NotificationBodyBuilder<?> builder = mBody.toBuilder();
 
-        if (config.includeLocation()) {
+        if (settings.isIncludeLocation()) {
             if (mBody.getWorld() == null) {
                 builder.world(client.getWorld());
             }
@@ -282,77 +698,86 @@ public class DiscordMessageHandler {
             }
         }
 
-        if (config.sendDiscordUser()) {
+        if (settings.isSendDiscordUser()) {
             builder.discordUser(DiscordProfile.of(discordService.getCurrentUser()));
         }
 
-        if (config.sendClanName()) {
+        if (settings.isSendClanName()) {
             ClanChannel clan = client.getClanChannel(ClanID.CLAN);
             if (clan != null) {
                 builder.clanName(clan.getName());
             }
         }
 
-        if (config.sendGroupIronClanName()) {
+        if (settings.isSendGroupIronClanName()) {
             ClanChannel gim = client.getClanChannel(ClanID.GROUP_IRONMAN);
             if (gim != null) {
                 builder.groupIronClanName(gim.getName());
             }
         }
 
-        if (config.discordRichEmbeds()) {
-            builder.embeds(computeEmbeds(mBody, sendImage, config));
+        long start = System.nanoTime();
+        if (settings.isDiscordRichEmbeds()) {
+            builder.embeds(computeEmbeds(mBody, sendImage, settings, config));
         } else {
             var prefix = mBody.isSeasonalWorld() ? "[Seasonal] " : "";
             builder.computedDiscordContent(prefix + mBody.getText().evaluate(false));
         }
+        templateTime.recordSince(start);
 
         return builder.build();
     }
 
-    private NotificationBody<?> injectThreadName(HttpUrl url, NotificationBody<?> mBody, boolean force) {
-        Collection<String> queryParams = url.queryParameterNames();
-        if (force || (queryParams.contains("forum") && !queryParams.contains("thread_id"))) {
-            String type = mBody.isSeasonalWorld() ? "Seasonal - " + mBody.getType().getTitle() : mBody.getType().getTitle();
-            String threadName = Template.builder()
-                .template(config.threadNameTemplate())
-                .replacementBoundary("%")
-                .replacement("%TYPE%", Replacements.ofText(type))
-                .replacement("%MESSAGE%", mBody.getText())
-                .replacement("%USERNAME%", Replacements.ofText(mBody.getPlayerName()))
-                .build()
-                .evaluate(false);
-            Long[] appliedTags = ConfigUtil.readDelimited(url.queryParameter("applied_tags"))
-                .map(tag -> {
-                    try {
-                        return Long.parseLong(tag);
-                    } catch (NumberFormatException ignored) {
-                        return null;
-                    }
-                })
-                .filter(Objects::nonNull)
-                .toArray(Long[]::new);
-            return mBody.toBuilder()
-                .threadName(Utils.truncate(StringUtils.normalizeSpace(threadName), NotificationBody.MAX_THREAD_NAME_LENGTH))
-                .appliedTags(appliedTags)
-                .build();
+    private long persist(NotificationBody<?> mBody, HttpUrl url, SerializedPayload payload, List<Attachment> attachments) {
+        try {
+            return outbox.append(mBody.getType().name(), url, payload.bytes(), attachments);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to serialize webhook message for the outbox", e);
+            return -1;
         }
-        return mBody;
     }
 
-    private RequestBody createBody(NotificationBody<?> mBody, @Nullable RequestBody image) {
-        String payload = gson.toJson(mBody);
+    private SerializedPayload serialize(NotificationBody<?> mBody, PayloadFormat format) {
+        Cache<NotificationBody<?>, SerializedPayload> cache = payloads.get(format);
+        SerializedPayload payload = cache.getIfPresent(mBody);
+        if (payload == null) {
+            payload = SerializedPayload.of(gson, mBody, format, serializeTime.get(format));
+            cache.put(mBody, payload);
+        }
+        return payload;
+    }
 
-        if (image != null) {
-            String screenshotFileName = computeScreenshotName(config.screenshotFilenameTemplate(), mBody);
-            return new MultipartBody.Builder()
+    /**
+     * The outbox always persists json, so it is re-encoded if the url requests a different format.
+     */
+    private SerializedPayload decodeEntry(WebhookOutbox.Entry entry) {
+        PayloadFormat format = PayloadFormat.of(entry.getUrl());
+        if (format == PayloadFormat.JSON) {
+            return SerializedPayload.of(entry.getPayload());
+        }
+        return SerializedPayload.of(gson, gson.fromJson(entry.getPayload(), JsonElement.class), format, serializeTime.get(format));
+    }
+
+    private static RequestBody createBody(SerializedPayload payload, List<Attachment> attachments) {
+        PayloadFormat format = payload.format();
+        if (!attachments.isEmpty()) {
+            // binary formats declare their content type, whereas json parts are sent as plain form fields
+            MultipartBody.Builder builder = new MultipartBody.Builder()
                 .setType(MultipartBody.FORM)
-                .addFormDataPart("payload_json", payload)
-                .addFormDataPart("file", screenshotFileName, image)
-                .build();
+                .addFormDataPart(format.getFormField(), null, payload.toRequestBody(format == PayloadFormat.JSON ? null : format.getMediaType()));
+            if (attachments.size() == 1) {
+                Attachment attachment = attachments.get(0);
+                builder.addFormDataPart("file", attachment.getFileName(), attachment.toRequestBody());
+            } else {
+                for (int i = 0; i < attachments.size(); i++) {
+                    Attachment attachment = attachments.get(i);
+                    builder.addFormDataPart("files[" + i + "]", attachment.getFileName(), attachment.toRequestBody());
+                }
+            }
+            return builder.build();
         }
 
-        return RequestBody.create(JSON, payload);
+        return payload.toRequestBody(format.getMediaType());
     }
 
     private static String computeScreenshotName(String template, NotificationBody<?> mBody) {
@@ -381,16 +806,28 @@ public class DiscordMessageHandler {
 
     /**
      * Captures the next frame and applies the specified rescaling
-     * while abiding by {@link Embed#MAX_IMAGE_SIZE}.
+     * while abiding by {@link Embed#MAX_IMAGE_SIZE} (via {@link ScreenshotEncoder}).
      *
      * @param scalePercent {@link DinkPluginConfig#screenshotScale()} divided by 100.0
      * @param screenshotOverride an optional image to use instead of grabbing a frame from {@link DrawManager}
+     * @param type the type of the notification that requested the capture
      * @return future of the image byte array by the image format name
      * @apiNote scalePercent should be in (0, 1]
      * @implNote the image format is either "png" (lossless) or "jpeg" (lossy), both of which can be used in MIME type
      */
-    private CompletableFuture<Map.Entry<String, byte[]>> captureScreenshot(double scalePercent, @Nullable Image screenshotOverride) {
+    private CompletableFuture<Map.Entry<String, byte[]>> captureScreenshot(double scalePercent, @Nullable Image screenshotOverride, NotificationType type) {
+        PipelineEvents.ScreenshotCapture capture = new PipelineEvents.ScreenshotCapture();
+        capture.begin();
+        long start = System.nanoTime();
         CompletableFuture<Image> future = new CompletableFuture<>();
+        future.thenRun(() -> {
+            captureTime.recordSince(start);
+            capture.end();
+            if (capture.shouldCommit()) {
+                capture.notificationType = type.name();
+                capture.commit();
+            }
+        });
         if (screenshotOverride != null) {
             future.complete(screenshotOverride);
         } else {
@@ -399,39 +836,34 @@ public class DiscordMessageHandler {
         return future.thenApplyAsync(ImageUtil::bufferedImageFromImage, executor)
             .thenApply(input -> Utils.rescale(input, scalePercent))
             .thenApply(image -> {
+                PipelineEvents.ImageEncode event = new PipelineEvents.ImageEncode();
+                event.begin();
+                long encodeStart = System.nanoTime();
+                Map.Entry<String, byte[]> encoded = null;
                 try {
-                    String format = "png"; // lossless
-                    return Pair.of(format, Utils.convertImageToByteArray(image, format));
+                    encoded = screenshotEncoder.encode(image, Embed.MAX_IMAGE_SIZE);
+                    return encoded;
                 } catch (IOException e) {
                     throw new CompletionException("Could not convert image to byte array", e);
-                }
-            })
-            .thenApply(pair -> {
-                byte[] bytes = pair.getValue();
-                int n = bytes.length;
-                if (n <= Embed.MAX_IMAGE_SIZE)
-                    return pair; // already compliant; no further rescale necessary
-
-                // calculate scale factor to comply with MAX_IMAGE_SIZE
-                double factor = Math.sqrt(1.0 * Embed.MAX_IMAGE_SIZE / n);
-
-                // bytes => original image => rescaled image => updated bytes
-                try (InputStream is = new ByteArrayInputStream(bytes)) {
-                    String format = "jpeg"; // lossy
-                    BufferedImage rescaled = Utils.rescale(ImageIO.read(is), factor);
-                    return Pair.of(format, Utils.convertImageToByteArray(rescaled, format));
-                } catch (Exception e) {
-                    throw new CompletionException("Failed to resize image below Discord size limit", e);
+                } finally {
+                    encodeTime.recordSince(encodeStart);
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.notificationType = type.name();
+                        event.imageFormat = encoded != null ? encoded.getKey() : null;
+                        event.payloadSize = encoded != null ? encoded.getValue().length : 0;
+                        event.commit();
+                    }
                 }
             });
     }
 
-    private static List<Embed> computeEmbeds(@NotNull NotificationBody<?> body, boolean screenshot, DinkPluginConfig config) {
+    private static List<Embed> computeEmbeds(@NotNull NotificationBody<?> body, boolean screenshot, DinkConfigSnapshot settings, DinkPluginConfig config) {
         NotificationType type = body.getType();
         NotificationData extra = body.getExtra();
-        String footerText = body.getCustomFooter() != null ? body.getCustomFooter() : config.embedFooterText();
-        String footerIcon = config.embedFooterIcon();
-        PlayerLookupService playerLookupService = config.playerLookupService();
+        String footerText = body.getCustomFooter() != null ? body.getCustomFooter() : settings.getEmbedFooterText();
+        String footerIcon = settings.getEmbedFooterIcon();
+        PlayerLookupService playerLookupService = settings.getPlayerLookupService();
 
         Author author = Author.builder()
             .name(body.getPlayerName())
@@ -451,10 +883,10 @@ public class DiscordMessageHandler {
         embeds.add(0,
             Embed.builder()
                 .author(author)
-                .color(config.embedColor())
+                .color(settings.getEmbedColor())
                 .title(Utils.truncate(body.isSeasonalWorld() ? "[Seasonal] " + title : title, Embed.MAX_TITLE_LENGTH))
-                .description(Utils.truncate(body.getText().evaluate(config.discordRichEmbeds()), Embed.MAX_DESCRIPTION_LENGTH))
-                .image(screenshot ? new Embed.UrlEmbed("attachment://" + computeScreenshotName(config.screenshotFilenameTemplate(), body)) : null)
+                .description(Utils.truncate(body.getText().evaluate(settings.isDiscordRichEmbeds()), Embed.MAX_DESCRIPTION_LENGTH))
+                .image(screenshot ? new Embed.UrlEmbed("attachment://" + computeScreenshotName(settings.getScreenshotFilenameTemplate(), body)) : null)
                 .thumbnail(new Embed.UrlEmbed(thumbnail))
                 .fields(extra != null ? extra.getFields() : Collections.emptyList())
                 .footer(footer)
@@ -464,4 +896,45 @@ public class DiscordMessageHandler {
         return embeds;
     }
 
+    /**
+     * Injects the forum thread name (and tags) of each webhook url into the body,
+     * evaluating the thread name template at most once, and reusing the body instance for urls with the same tags
+     * (so that they also share a {@link SerializedPayload}).
+     */
+    private class ThreadNameVariants {
+        private final NotificationBody<?> body;
+        private final Map<List<Long>, NotificationBody<?>> bodyByTags = new HashMap<>(4);
+        private String threadName;
+
+        ThreadNameVariants(NotificationBody<?> body) {
+            this.body = body;
+        }
+
+        NotificationBody<?> get(WebhookRoute route, boolean force) {
+            if (force || route.isForum()) {
+                return bodyByTags.computeIfAbsent(route.getAppliedTags(), tags -> body.toBuilder()
+                    .threadName(getThreadName())
+                    .appliedTags(tags.toArray(new Long[0]))
+                    .build());
+            }
+            return body;
+        }
+
+        private String getThreadName() {
+            if (threadName == null) {
+                String type = body.isSeasonalWorld() ? "Seasonal - " + body.getType().getTitle() : body.getType().getTitle();
+                String evaluated = Template.builder()
+                    .template(configSnapshot.get().getThreadNameTemplate())
+                    .replacementBoundary("%")
+                    .replacement("%TYPE%", Replacements.ofText(type))
+                    .replacement("%MESSAGE%", body.getText())
+                    .replacement("%USERNAME%", Replacements.ofText(body.getPlayerName()))
+                    .build()
+                    .evaluate(false);
+                threadName = Utils.truncate(StringUtils.normalizeSpace(evaluated), NotificationBody.MAX_THREAD_NAME_LENGTH);
+            }
+            return threadName;
+        }
+    }
+
 }
@@ -5,6 +5,7 @@ import dinkplugin.util.ColorAdapter;
 import dinkplugin.util.InstantAdapter;
 import lombok.Builder;
 import lombok.Value;
+import lombok.With;
 
 import java.awt.Color;
 import java.time.Instant;
@@ -16,6 +17,7 @@ import java.util.List;
  * Notifications build one big embed with the fields of this class from {@link NotificationBody}
  */
 @Value
+@With
 @Builder
 public class Embed {
     // The max size of the image before we rescale it to fit Discords file upload limits https://discord.com/developers/docs/reference#uploading-files
@@ -24,6 +26,7 @@ public class Embed {
     public static final int MAX_DESCRIPTION_LENGTH = 4096;
     public static final int MAX_FOOTER_LENGTH = 2048;
     public static final int MAX_EMBEDS = 10;
+    public static final int MAX_TOTAL_LENGTH = 6000; // combined text of every embed in a message
 
     /**
      * Filled in with the title of {@link NotificationBody}.
@@ -0,0 +1,129 @@
+package dinkplugin.message;
+
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Shares a single captured (and encoded) screenshot between all notifications
+ * that request an image during the same client tick.
+ * <p>
+ * Each request holds a {@link Lease} on the shared result, which is dropped
+ * once every lease has been released, so the encoded bytes are not retained beyond their last consumer.
+ */
+class FrameCaptureCoordinator {
+
+    private final Map<Key, Shared> captures = new HashMap<>();
+
+    /**
+     * @param tick   the current client tick
+     * @param scale  the screenshot scale factor (captures with different scales are not shared)
+     * @param loader captures and encodes the next frame; only invoked if no capture is pending for this tick
+     * @return a lease on the shared screenshot, which must be released once consumed
+     */
+    Lease acquire(int tick, double scale, @NotNull Supplier<CompletableFuture<Map.Entry<String, byte[]>>> loader) {
+        Key key = new Key(tick, scale);
+        Shared shared;
+        boolean created = false;
+        synchronized (this) {
+            shared = captures.get(key);
+            if (shared == null) {
+                shared = new Shared();
+                captures.put(key, shared);
+                created = true;
+            }
+            shared.refs++;
+        }
+
+        if (created) {
+            start(shared, loader);
+        }
+        return new Lease(key, shared);
+    }
+
+    /**
+     * @param loader produces a screenshot that should not be shared (e.g., a notifier-provided image)
+     * @return a lease that is not tracked by this coordinator
+     */
+    Lease acquireUnshared(@NotNull Supplier<CompletableFuture<Map.Entry<String, byte[]>>> loader) {
+        Shared shared = new Shared();
+        shared.refs++;
+        start(shared, loader);
+        return new Lease(null, shared);
+    }
+
+    /**
+     * @return the number of distinct captures that are currently referenced
+     */
+    synchronized int size() {
+        return captures.size();
+    }
+
+    private static void start(Shared shared, Supplier<CompletableFuture<Map.Entry<String, byte[]>>> loader) {
+        CompletableFuture<Map.Entry<String, byte[]>> future;
+        try {
+            future = loader.get();
+        } catch (Exception e) {
+            shared.future.completeExceptionally(e);
+            return;
+        }
+        future.whenComplete((result, e) -> {
+            if (e != null) {
+                shared.future.completeExceptionally(e);
+            } else {
+                shared.future.complete(result);
+            }
+        });
+    }
+
+    private synchronized void release(@Nullable Key key, Shared shared) {
+        if (--shared.refs <= 0 && key != null) {
+            captures.remove(key, shared);
+        }
+    }
+
+    class Lease {
+        private final Key key;
+        private final Shared shared;
+        private boolean released = false;
+
+        private Lease(Key key, Shared shared) {
+            this.key = key;
+            this.shared = shared;
+        }
+
+        /**
+         * @return future of the image byte array by the image format name
+         */
+        CompletableFuture<Map.Entry<String, byte[]>> getScreenshot() {
+            return shared.future;
+        }
+
+        /**
+         * Signals that the screenshot is no longer needed by this request. Idempotent.
+         */
+        void release() {
+            synchronized (FrameCaptureCoordinator.this) {
+                if (released) return;
+                released = true;
+            }
+            FrameCaptureCoordinator.this.release(key, shared);
+        }
+    }
+
+    @Value
+    private static class Key {
+        int tick;
+        double scale;
+    }
+
+    private static class Shared {
+        private final CompletableFuture<Map.Entry<String, byte[]>> future = new CompletableFuture<>();
+        private int refs = 0;
+    }
+}
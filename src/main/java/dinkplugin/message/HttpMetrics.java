@@ -0,0 +1,37 @@
+package dinkplugin.message;
+
+import dinkplugin.util.LatencyHistogram;
+import dinkplugin.util.MetricsRegistry;
+import lombok.Value;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The request metrics of a webhook host, which are resolved once per {@link WebhookRoute}
+ * and attached to each request as a tag, rather than being looked up by name for each request.
+ * <p>
+ * Only the hosts of configured webhooks are tracked, so the number of metrics is bounded by the config.
+ */
+@Value
+class HttpMetrics {
+
+    /**
+     * The latency until the response headers arrive.
+     */
+    LatencyHistogram latency;
+
+    /**
+     * The number of unsuccessful responses.
+     */
+    LongAdder errors;
+
+    /**
+     * The number of requests that failed without a response.
+     */
+    LongAdder failures;
+
+    static HttpMetrics of(MetricsRegistry metrics, String host) {
+        String name = "http." + host;
+        return new HttpMetrics(metrics.histogram(name), metrics.counter(name + ".errors"), metrics.counter(name + ".failures"));
+    }
+}
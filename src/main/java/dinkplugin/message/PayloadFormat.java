@@ -0,0 +1,56 @@
+package dinkplugin.message;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The encoding of the webhook message payload.
+ * <p>
+ * Custom webhook handlers can opt into a binary encoding via a query parameter (i.e., {@code ?dink_format=cbor}),
+ * which is removed from the url before sending. The parameter is specific to Dink, so that a {@code format} parameter
+ * that is meaningful to the receiving endpoint is passed through untouched. Either way, the payload has the same structure and field names.
+ */
+@Getter
+@RequiredArgsConstructor
+enum PayloadFormat {
+    JSON("json", MediaType.parse("application/json; charset=utf-8"), "payload_json"),
+    CBOR("cbor", MediaType.parse("application/cbor"), "payload_cbor");
+
+    static final String QUERY_PARAM = "dink_format";
+
+    private final String queryValue;
+    private final MediaType mediaType;
+
+    /**
+     * The name of the form field that holds the payload, when screenshots are uploaded alongside it.
+     */
+    private final String formField;
+
+    /**
+     * @param url the webhook url
+     * @return the format requested by the url, defaulting to {@link #JSON}
+     */
+    static PayloadFormat of(@NotNull HttpUrl url) {
+        String value = url.queryParameter(QUERY_PARAM);
+        if (value != null) {
+            for (PayloadFormat format : values()) {
+                if (format.queryValue.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * @param url the webhook url
+     * @return the url to send the request to
+     */
+    static HttpUrl strip(@NotNull HttpUrl url) {
+        if (url.queryParameter(QUERY_PARAM) == null) return url;
+        return url.newBuilder().removeAllQueryParameters(QUERY_PARAM).build();
+    }
+}
@@ -0,0 +1,309 @@
+package dinkplugin.message;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import dinkplugin.notifiers.data.AnnotatedItemStack;
+import dinkplugin.notifiers.data.GroupBankContentsNotificationData;
+import dinkplugin.notifiers.data.GroupStorageNotificationData;
+import dinkplugin.notifiers.data.LootNotificationData;
+import dinkplugin.notifiers.data.RareItemStack;
+import dinkplugin.notifiers.data.SerializedItemStack;
+import dinkplugin.util.ColorAdapter;
+import dinkplugin.util.InstantAdapter;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Streaming serializers for the webhook payload envelope ({@link NotificationBody} and its embeds),
+ * as well as the notification data that can hold hundreds of items (loot and group storage).
+ * <p>
+ * These write each field directly to the {@link JsonWriter}, in the same order and with the same names
+ * as Gson's reflective serialization, without the per-field reflection of {@code ReflectiveTypeAdapterFactory}.
+ * Deserialization is left to the reflective adapters.
+ * <p>
+ * Other notification data is small and fixed in size, so it continues to use the reflective adapters.
+ */
+final class PayloadTypeAdapterFactory implements TypeAdapterFactory {
+
+    private static final ColorAdapter COLOR_ADAPTER = new ColorAdapter();
+    private static final InstantAdapter INSTANT_ADAPTER = new InstantAdapter();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> raw = type.getRawType();
+        TypeAdapter<T> delegate;
+        if (raw == NotificationBody.class) {
+            delegate = gson.getDelegateAdapter(this, type);
+            return (TypeAdapter<T>) new BodyAdapter(gson, (TypeAdapter<NotificationBody<?>>) delegate);
+        }
+        if (raw == Embed.class) {
+            delegate = gson.getDelegateAdapter(this, type);
+            return (TypeAdapter<T>) new EmbedAdapter(gson, (TypeAdapter<Embed>) delegate);
+        }
+        if (raw == Field.class) {
+            delegate = gson.getDelegateAdapter(this, type);
+            return (TypeAdapter<T>) new FieldAdapter(gson, (TypeAdapter<Field>) delegate);
+        }
+        if (raw == SerializedItemStack.class || raw == AnnotatedItemStack.class || raw == RareItemStack.class) {
+            delegate = gson.getDelegateAdapter(this, type);
+            return (TypeAdapter<T>) new ItemStackAdapter(gson, (TypeAdapter<SerializedItemStack>) delegate);
+        }
+        if (raw == LootNotificationData.class) {
+            delegate = gson.getDelegateAdapter(this, type);
+            return (TypeAdapter<T>) new LootAdapter(gson, (TypeAdapter<LootNotificationData>) delegate);
+        }
+        if (raw == GroupStorageNotificationData.class) {
+            delegate = gson.getDelegateAdapter(this, type);
+            return (TypeAdapter<T>) new GroupStorageAdapter(gson, (TypeAdapter<GroupStorageNotificationData>) delegate);
+        }
+        if (raw == GroupBankContentsNotificationData.class) {
+            delegate = gson.getDelegateAdapter(this, type);
+            return (TypeAdapter<T>) new GroupBankAdapter(gson, (TypeAdapter<GroupBankContentsNotificationData>) delegate);
+        }
+        return null;
+    }
+
+    /**
+     * Writes a json object for non-null values, and delegates deserialization to the reflective adapter.
+     */
+    private abstract static class ObjectAdapter<T> extends TypeAdapter<T> {
+        private final Gson gson;
+        private final TypeAdapter<T> delegate;
+
+        ObjectAdapter(Gson gson, TypeAdapter<T> delegate) {
+            this.gson = gson;
+            this.delegate = delegate;
+        }
+
+        abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+        @Override
+        public final void write(JsonWriter out, T value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeFields(out, value);
+            out.endObject();
+        }
+
+        @Override
+        public final T read(JsonReader in) throws IOException {
+            return delegate.read(in);
+        }
+
+        /**
+         * Writes a value of any type, using the adapter of its runtime type (like Gson does for fields).
+         * <p>
+         * Null values are omitted unless {@link JsonWriter#getSerializeNulls()} is enabled.
+         */
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        final void writeValue(JsonWriter out, @Nullable Object value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+            } else if (value instanceof String) {
+                out.value((String) value);
+            } else {
+                TypeAdapter adapter = gson.getAdapter(value.getClass());
+                adapter.write(out, value);
+            }
+        }
+
+        final void writeArray(JsonWriter out, @Nullable Collection<?> values) throws IOException {
+            if (values == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginArray();
+            for (Object value : values) {
+                writeValue(out, value);
+            }
+            out.endArray();
+        }
+    }
+
+    private static final class BodyAdapter extends ObjectAdapter<NotificationBody<?>> {
+        BodyAdapter(Gson gson, TypeAdapter<NotificationBody<?>> delegate) {
+            super(gson, delegate);
+        }
+
+        @Override
+        void writeFields(JsonWriter out, NotificationBody<?> body) throws IOException {
+            out.name("type");
+            writeValue(out, body.getType());
+            out.name("playerName").value(body.getPlayerName());
+            out.name("accountType");
+            writeValue(out, body.getAccountType());
+            out.name("dinkAccountHash").value(body.getDinkAccountHash());
+            out.name("clanName").value(body.getClanName());
+            out.name("groupIronClanName").value(body.getGroupIronClanName());
+            out.name("seasonalWorld").value(body.isSeasonalWorld());
+            out.name("world").value(body.getWorld());
+            out.name("regionId").value(body.getRegionId());
+            out.name("extra");
+            writeValue(out, body.getExtra());
+            out.name("discordUser");
+            writeValue(out, body.getDiscordUser());
+            out.name("content").value(body.getComputedDiscordContent());
+            out.name("embeds");
+            writeArray(out, body.getEmbeds());
+            out.name("thread_name").value(body.getThreadName());
+            out.name("applied_tags");
+            Long[] tags = body.getAppliedTags();
+            if (tags == null) {
+                out.nullValue();
+            } else {
+                out.beginArray();
+                for (Long tag : tags) {
+                    out.value(tag);
+                }
+                out.endArray();
+            }
+        }
+    }
+
+    private static final class EmbedAdapter extends ObjectAdapter<Embed> {
+        EmbedAdapter(Gson gson, TypeAdapter<Embed> delegate) {
+            super(gson, delegate);
+        }
+
+        @Override
+        void writeFields(JsonWriter out, Embed embed) throws IOException {
+            out.name("title").value(embed.getTitle());
+            out.name("description").value(embed.getDescription());
+            Author author = embed.getAuthor();
+            out.name("author");
+            if (author == null) {
+                out.nullValue();
+            } else {
+                out.beginObject()
+                    .name("name").value(author.getName())
+                    .name("icon_url").value(author.getIconUrl())
+                    .name("url").value(author.getUrl())
+                    .endObject();
+            }
+            out.name("color");
+            COLOR_ADAPTER.write(out, embed.getColor());
+            out.name("image");
+            writeUrl(out, embed.getImage());
+            out.name("thumbnail");
+            writeUrl(out, embed.getThumbnail());
+            out.name("fields");
+            writeArray(out, embed.getFields());
+            Footer footer = embed.getFooter();
+            out.name("footer");
+            if (footer == null) {
+                out.nullValue();
+            } else {
+                out.beginObject()
+                    .name("text").value(footer.getText())
+                    .name("icon_url").value(footer.getIconUrl())
+                    .endObject();
+            }
+            out.name("timestamp");
+            INSTANT_ADAPTER.write(out, embed.getTimestamp());
+        }
+
+        private static void writeUrl(JsonWriter out, @Nullable Embed.UrlEmbed embed) throws IOException {
+            if (embed == null) {
+                out.nullValue();
+            } else {
+                out.beginObject().name("url").value(embed.getUrl()).endObject();
+            }
+        }
+    }
+
+    private static final class FieldAdapter extends ObjectAdapter<Field> {
+        FieldAdapter(Gson gson, TypeAdapter<Field> delegate) {
+            super(gson, delegate);
+        }
+
+        @Override
+        void writeFields(JsonWriter out, Field field) throws IOException {
+            out.name("name").value(field.getName());
+            out.name("value").value(field.getValue());
+            out.name("inline").value(field.getInline());
+        }
+    }
+
+    private static final class ItemStackAdapter extends ObjectAdapter<SerializedItemStack> {
+        ItemStackAdapter(Gson gson, TypeAdapter<SerializedItemStack> delegate) {
+            super(gson, delegate);
+        }
+
+        @Override
+        void writeFields(JsonWriter out, SerializedItemStack item) throws IOException {
+            // like gson, the fields of subclasses precede those of their superclass
+            if (item instanceof RareItemStack) {
+                out.name("rarity").value(((RareItemStack) item).getRarity());
+            }
+            if (item instanceof AnnotatedItemStack) {
+                out.name("criteria");
+                writeArray(out, ((AnnotatedItemStack) item).getCriteria());
+            }
+            out.name("id").value(item.getId());
+            out.name("quantity").value(item.getQuantity());
+            out.name("priceEach").value(item.getPriceEach());
+            out.name("name").value(item.getName());
+        }
+    }
+
+    private static final class LootAdapter extends ObjectAdapter<LootNotificationData> {
+        LootAdapter(Gson gson, TypeAdapter<LootNotificationData> delegate) {
+            super(gson, delegate);
+        }
+
+        @Override
+        void writeFields(JsonWriter out, LootNotificationData data) throws IOException {
+            out.name("items");
+            writeArray(out, data.getItems());
+            out.name("source").value(data.getSource());
+            out.name("category");
+            writeValue(out, data.getCategory());
+            out.name("killCount").value(data.getKillCount());
+            out.name("rarestProbability").value(data.getRarestProbability());
+            out.name("party");
+            writeArray(out, data.getParty());
+            out.name("npcId").value(data.getNpcId());
+            out.name("amascutMetadata");
+            writeValue(out, data.getAmascutMetadata());
+        }
+    }
+
+    private static final class GroupStorageAdapter extends ObjectAdapter<GroupStorageNotificationData> {
+        GroupStorageAdapter(Gson gson, TypeAdapter<GroupStorageNotificationData> delegate) {
+            super(gson, delegate);
+        }
+
+        @Override
+        void writeFields(JsonWriter out, GroupStorageNotificationData data) throws IOException {
+            out.name("deposits");
+            writeArray(out, data.getDeposits());
+            out.name("withdrawals");
+            writeArray(out, data.getWithdrawals());
+            out.name("netValue").value(data.getNetValue());
+            out.name("groupName").value(data.getGroupName());
+        }
+    }
+
+    private static final class GroupBankAdapter extends ObjectAdapter<GroupBankContentsNotificationData> {
+        GroupBankAdapter(Gson gson, TypeAdapter<GroupBankContentsNotificationData> delegate) {
+            super(gson, delegate);
+        }
+
+        @Override
+        void writeFields(JsonWriter out, GroupBankContentsNotificationData data) throws IOException {
+            out.name("items");
+            writeArray(out, data.getItems());
+            out.name("slots").value(data.getSlots());
+        }
+    }
+}
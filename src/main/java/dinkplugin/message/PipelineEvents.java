@@ -0,0 +1,115 @@
+package dinkplugin.message;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for each stage of the notification pipeline,
+ * so that a recording shows the work of the plugin alongside GC pauses and client frame hitches.
+ * <p>
+ * While recording is disabled (i.e., usually), the event classes are not instrumented by the JVM,
+ * so {@code begin} and {@code commit} are no-ops and the allocations are eliminated by escape analysis.
+ * Callers should only compute field values once {@link Event#shouldCommit()} returns true.
+ * Stack traces are not recorded, since the thread (and timing) suffices to correlate the events.
+ */
+public final class PipelineEvents {
+
+    private static final String CATEGORY = "Dink";
+    private static final String PIPELINE = "Notification Pipeline";
+
+    private PipelineEvents() {
+    }
+
+    @Name("dink.Trigger")
+    @Label("Notification Trigger")
+    @Description("A notifier handing a notification to the message handler")
+    @Category({ CATEGORY, PIPELINE })
+    @StackTrace(false)
+    public static final class Trigger extends Event {
+        @Label("Notification Type")
+        public String notificationType;
+    }
+
+    @Name("dink.Enrich")
+    @Label("Enrich Body")
+    @Description("Populating the player metadata and evaluating the templates of a notification")
+    @Category({ CATEGORY, PIPELINE })
+    @StackTrace(false)
+    static final class Enrich extends Event {
+        @Label("Notification Type")
+        String notificationType;
+    }
+
+    @Name("dink.ScreenshotCapture")
+    @Label("Screenshot Capture")
+    @Description("Waiting for the next frame to be drawn, and copying it")
+    @Category({ CATEGORY, PIPELINE })
+    @StackTrace(false)
+    static final class ScreenshotCapture extends Event {
+        @Label("Notification Type")
+        String notificationType;
+    }
+
+    @Name("dink.ImageEncode")
+    @Label("Image Encode")
+    @Description("Compressing a screenshot, which is rescaled if necessary to abide by the size limit")
+    @Category({ CATEGORY, PIPELINE })
+    @StackTrace(false)
+    static final class ImageEncode extends Event {
+        @Label("Notification Type")
+        String notificationType;
+
+        @Label("Image Format")
+        String imageFormat;
+
+        @Label("Payload Size")
+        @DataAmount
+        long payloadSize;
+    }
+
+    @Name("dink.Serialize")
+    @Label("Serialize")
+    @Description("A single encoding pass over a webhook payload")
+    @Category({ CATEGORY, PIPELINE })
+    @StackTrace(false)
+    static final class Serialize extends Event {
+        @Label("Notification Type")
+        String notificationType;
+
+        @Label("Payload Format")
+        String payloadFormat;
+
+        @Label("Payload Size")
+        @DataAmount
+        long payloadSize;
+    }
+
+    @Name("dink.HttpExchange")
+    @Label("HTTP Exchange")
+    @Description("Sending a webhook request, until the response headers are received")
+    @Category({ CATEGORY, PIPELINE })
+    @StackTrace(false)
+    static final class HttpExchange extends Event {
+        @Label("Notification Type")
+        String notificationType;
+
+        @Label("URL Host")
+        String urlHost;
+
+        @Label("Method")
+        String method;
+
+        @Label("Status Code")
+        int statusCode;
+
+        @Label("Payload Size")
+        @Description("The size of the serialized notification (excluding attachments), or -1 if unknown")
+        @DataAmount
+        long payloadSize;
+    }
+}
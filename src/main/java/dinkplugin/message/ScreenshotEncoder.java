@@ -0,0 +1,173 @@
+package dinkplugin.message;
+
+import dinkplugin.util.MetricsRegistry;
+import dinkplugin.util.Utils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Encodes screenshots such that they abide by {@link Embed#MAX_IMAGE_SIZE}, usually in a single codec pass.
+ * <p>
+ * The PNG size is predicted from the frame dimensions and the entropy of a sample of its rows,
+ * so frames that are unlikely to fit are written as JPEG straight away,
+ * rather than encoding a PNG only to decode it again.
+ */
+@Slf4j
+@Singleton
+public class ScreenshotEncoder {
+
+    @VisibleForTesting
+    static final float JPEG_QUALITY = 0.9f;
+
+    /**
+     * The number of rows to sample when estimating entropy.
+     */
+    private static final int SAMPLE_ROWS = 64;
+
+    /**
+     * Deflate exploits repetition beyond order-0 entropy, so the prediction is scaled down slightly.
+     * Mispredictions are still caught by the size check after encoding.
+     */
+    private static final double DEFLATE_FACTOR = 0.85;
+
+    /**
+     * JPEG size is not quite proportional to pixel count, so rescaling aims slightly below the limit.
+     */
+    private static final double RESCALE_MARGIN = 0.9;
+
+    /**
+     * The number of codec passes across all screenshots (whose latency is recorded by the caller),
+     * which indicates how often the PNG prediction misses.
+     */
+    private final LongAdder passes;
+
+    @Inject
+    public ScreenshotEncoder(MetricsRegistry metrics) {
+        this.passes = metrics.counter("screenshot.encode.passes");
+    }
+
+    /**
+     * @param image    the (already rescaled) screenshot
+     * @param maxBytes the maximum size of the output
+     * @return the image format name (either "png" or "jpeg") and the encoded bytes
+     * @throws IOException if the image could not be encoded
+     */
+    public Map.Entry<String, byte[]> encode(BufferedImage image, long maxBytes) throws IOException {
+        if (predictPngSize(image) <= maxBytes) {
+            passes.increment();
+            byte[] png = Utils.convertImageToByteArray(image, "png"); // lossless
+            if (png.length <= maxBytes) {
+                return Pair.of("png", png);
+            }
+            log.debug("Screenshot PNG size was underestimated; falling back to JPEG");
+        }
+
+        BufferedImage rgb = toRgb(image);
+        passes.increment();
+        byte[] jpeg = writeJpeg(rgb, JPEG_QUALITY); // lossy
+        if (jpeg.length <= maxBytes) {
+            return Pair.of("jpeg", jpeg);
+        }
+
+        // calculate scale factor to comply with the size limit
+        double factor = Math.sqrt(RESCALE_MARGIN * maxBytes / jpeg.length);
+        passes.increment();
+        return Pair.of("jpeg", writeJpeg(Utils.rescale(rgb, factor), JPEG_QUALITY));
+    }
+
+    /**
+     * Estimates the PNG size via the order-0 entropy of horizontal pixel residuals
+     * (i.e., the "Sub" filter) across a sample of rows.
+     *
+     * @param image the image to be encoded
+     * @return the predicted size of the PNG, in bytes
+     */
+    @VisibleForTesting
+    static long predictPngSize(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (width <= 1 || height <= 0) return 0;
+
+        boolean alpha = image.getColorModel().hasAlpha();
+        int channels = alpha ? 4 : 3;
+        int step = Math.max(height / SAMPLE_ROWS, 1);
+
+        long[] histogram = new long[256];
+        long samples = 0;
+        int[] row = new int[width];
+        for (int y = 0; y < height; y += step) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            for (int x = 1; x < width; x++) {
+                int curr = row[x], prev = row[x - 1];
+                histogram[((curr >>> 16) - (prev >>> 16)) & 0xFF]++;
+                histogram[((curr >>> 8) - (prev >>> 8)) & 0xFF]++;
+                histogram[(curr - prev) & 0xFF]++;
+                if (alpha) histogram[((curr >>> 24) - (prev >>> 24)) & 0xFF]++;
+            }
+            samples += (long) (width - 1) * channels;
+        }
+
+        double bitsPerByte = 0;
+        for (long count : histogram) {
+            if (count == 0) continue;
+            double p = (double) count / samples;
+            bitsPerByte -= p * Math.log(p) / Math.log(2);
+        }
+
+        long rawBytes = (long) width * height * channels;
+        return (long) (rawBytes * bitsPerByte / 8 * DEFLATE_FACTOR);
+    }
+
+    /**
+     * The JPEG writer rejects images with an alpha channel, so they are drawn onto an opaque canvas.
+     */
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) return image;
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    private static byte[] writeJpeg(BufferedImage image, float quality) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            return Utils.convertImageToByteArray(image, "jpeg");
+        }
+
+        ImageWriter writer = writers.next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,223 @@
+package dinkplugin.message;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import dinkplugin.util.LatencyHistogram;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The encoded form of a webhook message (i.e., UTF-8 json by default, or CBOR if requested by the url).
+ * <p>
+ * A single instance is shared by every webhook url (and retry attempt) that receives the same {@link NotificationBody}.
+ * The json is never materialized as a {@link String}: it is streamed straight into the request sink.
+ * <p>
+ * Requests are not sent with chunked encoding, so the exact length must be known upfront.
+ * Thus, the payload is encoded exactly once into a buffer, which determines the length and is then written.
+ * Once a payload is {@link #share() shared} (i.e., written for several webhooks or retried),
+ * the buffer is retained for every subsequent write; otherwise, it is released after the write,
+ * rather than being retained on the heap for the lifetime of the delivery.
+ */
+final class SerializedPayload {
+
+    @Nullable
+    private final Gson gson;
+
+    @Nullable
+    private final Object body;
+
+    @NotNull
+    private final PayloadFormat format;
+
+    /**
+     * Records the duration of each encoding pass, if instrumented.
+     */
+    @Nullable
+    private final LatencyHistogram encodeTime;
+
+    private volatile long length;
+
+    private volatile boolean shared;
+
+    @Nullable
+    private volatile byte[] encoded;
+
+    private SerializedPayload(@Nullable Gson gson, @Nullable Object body, @NotNull PayloadFormat format, @Nullable LatencyHistogram encodeTime, long length, @Nullable byte[] encoded) {
+        this.gson = gson;
+        this.body = body;
+        this.format = format;
+        this.encodeTime = encodeTime;
+        this.length = length;
+        this.encoded = encoded;
+    }
+
+    /**
+     * @return the number of encoded bytes
+     */
+    long contentLength() throws IOException {
+        long n = length;
+        return n >= 0 ? n : bytes().length;
+    }
+
+    /**
+     * Unlike {@link #contentLength()}, this never encodes the payload.
+     *
+     * @return the number of encoded bytes, or -1 if the payload has not been encoded yet
+     */
+    long knownLength() {
+        return length;
+    }
+
+    /**
+     * @return the encoding of the payload
+     */
+    @NotNull
+    PayloadFormat format() {
+        return format;
+    }
+
+    /**
+     * Indicates that the payload will be written more than once (e.g., for multiple webhooks, a retry attempt,
+     * or a rate-limited request that is re-enqueued), so its buffer should be retained.
+     *
+     * @return this payload
+     */
+    SerializedPayload share() {
+        shared = true;
+        return this;
+    }
+
+    /**
+     * Writes the encoded payload, without closing the stream.
+     *
+     * @param out the destination
+     */
+    void writeTo(@NotNull OutputStream out) throws IOException {
+        out.write(bytes());
+        if (!shared && gson != null) {
+            // single-use payloads can be re-encoded in the unlikely event of another write (e.g., for a redirect)
+            encoded = null;
+        }
+    }
+
+    /**
+     * @param contentType the media type of the request body, or null to omit the header (i.e., within multipart forms)
+     * @return a request body that encodes directly into the request sink
+     */
+    RequestBody toRequestBody(@Nullable MediaType contentType) {
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return contentType;
+            }
+
+            @Override
+            public long contentLength() throws IOException {
+                return SerializedPayload.this.contentLength();
+            }
+
+            @Override
+            public void writeTo(@NotNull BufferedSink sink) throws IOException {
+                SerializedPayload.this.writeTo(sink.outputStream());
+            }
+        };
+    }
+
+    /**
+     * Encodes the payload into a buffer (if not already encoded), which is retained for subsequent writes.
+     *
+     * @return the shared buffer, which must not be modified
+     */
+    byte[] bytes() throws IOException {
+        byte[] buffer = encoded;
+        if (buffer == null) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length > 0 ? (int) length : 512);
+            encode(out);
+            buffer = out.toByteArray();
+            length = buffer.length;
+            encoded = buffer;
+        }
+        return buffer;
+    }
+
+    private void encode(OutputStream out) throws IOException {
+        assert gson != null && body != null;
+        PipelineEvents.Serialize event = new PipelineEvents.Serialize();
+        event.begin();
+        long start = System.nanoTime();
+        if (format == PayloadFormat.CBOR) {
+            JsonWriter writer = new CborWriter(out);
+            gson.toJson(body, body.getClass(), writer);
+            writer.flush();
+        } else {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            gson.toJson(body, writer);
+            writer.flush();
+        }
+        if (encodeTime != null) {
+            encodeTime.recordSince(start);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.notificationType = body instanceof NotificationBody ? ((NotificationBody<?>) body).getType().name() : null;
+            event.payloadFormat = format.getQueryValue();
+            event.payloadSize = written(out);
+            event.commit();
+        }
+    }
+
+    private long written(OutputStream out) {
+        if (length >= 0) return length;
+        if (out instanceof ByteArrayOutputStream) return ((ByteArrayOutputStream) out).size();
+        return -1;
+    }
+
+    /**
+     * @param gson the gson instance to encode with
+     * @param body the message to encode lazily
+     * @return the (not yet encoded) json payload
+     */
+    static SerializedPayload of(@NotNull Gson gson, @NotNull Object body) {
+        return of(gson, body, PayloadFormat.JSON);
+    }
+
+    /**
+     * @param gson   the gson instance to encode with
+     * @param body   the message to encode lazily
+     * @param format the encoding of the payload
+     * @return the (not yet encoded) payload
+     */
+    static SerializedPayload of(@NotNull Gson gson, @NotNull Object body, @NotNull PayloadFormat format) {
+        return of(gson, body, format, null);
+    }
+
+    /**
+     * @param gson       the gson instance to encode with
+     * @param body       the message to encode lazily
+     * @param format     the encoding of the payload
+     * @param encodeTime the histogram that records the duration of each encoding pass
+     * @return the (not yet encoded) payload
+     */
+    static SerializedPayload of(@NotNull Gson gson, @NotNull Object body, @NotNull PayloadFormat format, @Nullable LatencyHistogram encodeTime) {
+        return new SerializedPayload(gson, body, format, encodeTime, -1, null);
+    }
+
+    /**
+     * @param json the already serialized message
+     * @return the encoded payload
+     */
+    static SerializedPayload of(@NotNull String json) {
+        byte[] utf8 = json.getBytes(StandardCharsets.UTF_8);
+        return new SerializedPayload(null, null, PayloadFormat.JSON, null, utf8.length, utf8);
+    }
+}
@@ -0,0 +1,165 @@
+package dinkplugin.message;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Coalesces notifications that are bound for the same webhook within a short window,
+ * so they can be posted as a single multi-embed message.
+ * <p>
+ * A batch is flushed once its window elapses, or early if the next notification
+ * would exceed {@link Embed#MAX_EMBEDS}, {@link Embed#MAX_TOTAL_LENGTH}, or {@link Embed#MAX_IMAGE_SIZE}.
+ * <p>
+ * Only the metadata (e.g., {@code thread_name}) of the first notification is retained by the merged message,
+ * so forum webhooks (where each notification creates its own thread) must not be batched.
+ */
+class WebhookBatcher {
+
+    private final ScheduledExecutorService executor;
+    private final BiConsumer<WebhookRoute, List<Item>> flusher;
+    private final Map<WebhookRoute, Batch> batches = new HashMap<>();
+
+    WebhookBatcher(ScheduledExecutorService executor, BiConsumer<WebhookRoute, List<Item>> flusher) {
+        this.executor = executor;
+        this.flusher = flusher;
+    }
+
+    void add(WebhookRoute route, NotificationBody<?> body, List<Attachment> attachments, long windowMillis) {
+        Item item = new Item(body, attachments);
+        Batch full = null;
+        Batch created = null;
+        synchronized (this) {
+            Batch batch = batches.get(route);
+            if (batch != null && !batch.fits(item)) {
+                batches.remove(route);
+                full = batch;
+                batch = null;
+            }
+            if (batch == null) {
+                batch = created = new Batch();
+                batches.put(route, batch);
+            }
+            batch.add(item);
+        }
+
+        if (full != null) {
+            flusher.accept(route, full.items);
+        }
+
+        if (created != null) {
+            Batch batch = created;
+            executor.schedule(() -> flush(route, batch), windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush(WebhookRoute route, Batch batch) {
+        synchronized (this) {
+            if (!batches.remove(route, batch)) {
+                return; // already flushed early
+            }
+        }
+        flusher.accept(route, batch.items);
+    }
+
+    /**
+     * Merges the embeds (and screenshots) of the batched notifications into a single message,
+     * renaming the screenshots so that their file names are unique within the message.
+     *
+     * @param items the notifications that were received within the batch window
+     * @return the merged notification
+     */
+    static Item merge(List<Item> items) {
+        if (items.size() == 1) {
+            return items.get(0);
+        }
+
+        List<Embed> embeds = new ArrayList<>(Embed.MAX_EMBEDS);
+        List<Attachment> attachments = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+
+            Map<String, String> renamed = new HashMap<>();
+            for (Attachment attachment : item.getAttachments()) {
+                String fileName = (i + 1) + "-" + attachment.getFileName();
+                renamed.put("attachment://" + attachment.getFileName(), "attachment://" + fileName);
+                attachments.add(attachment.withFileName(fileName));
+            }
+
+            if (item.getBody().getEmbeds() == null) continue;
+            for (Embed embed : item.getBody().getEmbeds()) {
+                Embed.UrlEmbed image = embed.getImage();
+                String target = image != null ? renamed.get(image.getUrl()) : null;
+                embeds.add(target != null ? embed.withImage(new Embed.UrlEmbed(target)) : embed);
+            }
+        }
+        return new Item(items.get(0).getBody().withEmbeds(embeds), attachments);
+    }
+
+    @Value
+    static class Item {
+        NotificationBody<?> body;
+        List<Attachment> attachments;
+
+        int embedCount() {
+            return body.getEmbeds() != null ? body.getEmbeds().size() : 0;
+        }
+
+        long attachmentBytes() {
+            long n = 0;
+            for (Attachment attachment : attachments) {
+                n += attachment.getBytes().length;
+            }
+            return n;
+        }
+
+        /**
+         * @return the length of the embed text that counts towards {@link Embed#MAX_TOTAL_LENGTH}
+         */
+        int embedLength() {
+            if (body.getEmbeds() == null) return 0;
+            int n = 0;
+            for (Embed embed : body.getEmbeds()) {
+                n += length(embed.getTitle()) + length(embed.getDescription());
+                if (embed.getAuthor() != null) n += length(embed.getAuthor().getName());
+                if (embed.getFooter() != null) n += length(embed.getFooter().getText());
+                if (embed.getFields() != null) {
+                    for (Field field : embed.getFields()) {
+                        n += length(field.getName()) + length(field.getValue());
+                    }
+                }
+            }
+            return n;
+        }
+
+        private static int length(String s) {
+            return s != null ? s.length() : 0;
+        }
+    }
+
+    private static class Batch {
+        private final List<Item> items = new ArrayList<>(Embed.MAX_EMBEDS);
+        private int embeds = 0;
+        private int length = 0;
+        private long bytes = 0;
+
+        boolean fits(Item item) {
+            return items.isEmpty() || (embeds + item.embedCount() <= Embed.MAX_EMBEDS
+                && length + item.embedLength() <= Embed.MAX_TOTAL_LENGTH
+                && bytes + item.attachmentBytes() <= Embed.MAX_IMAGE_SIZE);
+        }
+
+        void add(Item item) {
+            items.add(item);
+            embeds += item.embedCount();
+            length += item.embedLength();
+            bytes += item.attachmentBytes();
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package dinkplugin.message;
+
+import dinkplugin.ConfigSnapshotHolder;
+import dinkplugin.DinkConfigSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.HttpUrl;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the health of each webhook, so that unreachable endpoints are not sent every notification
+ * (along with the full cycle of retry attempts).
+ * <p>
+ * A circuit opens after {@link #FAILURE_THRESHOLD} consecutive failures (i.e., network errors or 5xx responses).
+ * Once the cooldown elapses, a single request is let through as a probe: if it succeeds, the circuit closes;
+ * otherwise, the circuit re-opens with twice the cooldown (up to {@link #MAX_COOLDOWN_NANOS}).
+ * <p>
+ * Webhooks that respond with 401 or with Discord's Unknown Webhook error have been deleted (or had their token reset),
+ * so their circuit stays open until the config changes (i.e., until {@link ConfigSnapshotHolder} is refreshed).
+ * Other 404 responses (e.g., Unknown Channel for a deleted {@code thread_id}) only disable that exact url.
+ */
+@Slf4j
+class WebhookCircuitBreaker {
+
+    static final int FAILURE_THRESHOLD = 5;
+    static final long BASE_COOLDOWN_NANOS = TimeUnit.MINUTES.toNanos(1);
+    static final long MAX_COOLDOWN_NANOS = TimeUnit.MINUTES.toNanos(30);
+
+    /**
+     * @see <a href="https://discord.com/developers/docs/topics/opcodes-and-status-codes#json">JSON Error Codes</a>
+     */
+    static final int UNKNOWN_WEBHOOK = 10015;
+
+    private final ConfigSnapshotHolder configSnapshot;
+    private final Consumer<String> warn;
+    private final LongSupplier nanoClock;
+
+    private volatile DinkConfigSnapshot builtFor;
+    private volatile Map<HttpUrl, Circuit> circuits = new ConcurrentHashMap<>();
+
+    /**
+     * @param configSnapshot used to reset all circuits whenever the config changes
+     * @param warn           notifies the player when a circuit trips
+     * @param nanoClock      the time source, such as {@link System#nanoTime()}
+     */
+    WebhookCircuitBreaker(ConfigSnapshotHolder configSnapshot, Consumer<String> warn, LongSupplier nanoClock) {
+        this.configSnapshot = configSnapshot;
+        this.warn = warn;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @param url the webhook url
+     * @return whether a request may be sent to the webhook
+     */
+    boolean allow(@NotNull HttpUrl url) {
+        Map<HttpUrl, Circuit> map = circuits();
+        if (url.query() != null) {
+            // checked first, so a rejected request does not consume the probe of the webhook circuit
+            Circuit target = map.get(url);
+            if (target != null && !target.allow(nanoClock.getAsLong())) return false;
+        }
+        Circuit circuit = map.get(key(url));
+        return circuit == null || circuit.allow(nanoClock.getAsLong());
+    }
+
+    /**
+     * Unlike {@link #allow(HttpUrl)}, this does not claim the probe of a half-open circuit,
+     * so it is suitable for requests whose outcome is not recorded.
+     *
+     * @param url the webhook url
+     * @return whether the webhook is believed to be healthy
+     */
+    boolean isClosed(@NotNull HttpUrl url) {
+        Map<HttpUrl, Circuit> map = circuits();
+        Circuit target = map.get(url);
+        if (target != null && target.isDisabled()) return false;
+        Circuit circuit = map.get(key(url));
+        return circuit == null || circuit.isClosed();
+    }
+
+    /**
+     * @param url the webhook url
+     * @return whether the url will be rejected until the config changes (rather than until a cooldown elapses)
+     */
+    boolean isDisabled(@NotNull HttpUrl url) {
+        Map<HttpUrl, Circuit> map = circuits();
+        Circuit target = map.get(url);
+        if (target != null && target.isDisabled()) return true;
+        Circuit circuit = map.get(key(url));
+        return circuit != null && circuit.isDisabled();
+    }
+
+    /**
+     * Records the response of a request that was permitted by {@link #allow(HttpUrl)}.
+     *
+     * @param url   the webhook url
+     * @param code  the http status code
+     * @param error the parsed response body, if it was a Discord error
+     */
+    void onResponse(@NotNull HttpUrl url, int code, @Nullable DiscordErrorMessage error) {
+        if (isPermanentFailure(code)) {
+            HttpUrl disabled = isWebhookDeleted(code, error) ? key(url) : url;
+            Circuit circuit = circuits().computeIfAbsent(disabled, k -> new Circuit());
+            if (circuit.disable()) {
+                log.warn("Disabled webhook {} after receiving HTTP {}", DiscordMessageHandler.censor(url), code);
+                warn.accept(String.format("A webhook URL responded with HTTP %d, so it will not be sent notifications until your webhook settings are updated", code));
+            }
+        } else if (code >= 500) {
+            onFailure(url);
+        } else {
+            // the endpoint is reachable, even if it rejected this particular message
+            Circuit circuit = circuits().get(key(url));
+            if (circuit != null) {
+                circuit.succeed();
+            }
+        }
+    }
+
+    /**
+     * Records a request that failed without a response (e.g., due to a timeout or refused connection).
+     *
+     * @param url the webhook url
+     */
+    void onFailure(@NotNull HttpUrl url) {
+        Circuit circuit = circuits().computeIfAbsent(key(url), k -> new Circuit());
+        long cooldown = circuit.fail(nanoClock.getAsLong());
+        if (cooldown > 0) {
+            long minutes = TimeUnit.NANOSECONDS.toMinutes(cooldown);
+            log.warn("Pausing notifications to webhook {} for {} minutes after {} consecutive failures", DiscordMessageHandler.censor(url), minutes, FAILURE_THRESHOLD);
+            warn.accept(String.format("A webhook URL failed %d times in a row, so notifications to it are paused for %d minute(s)", FAILURE_THRESHOLD, minutes));
+        }
+    }
+
+    /**
+     * @param code the http status code
+     * @return whether the webhook (or the thread it targets) no longer exists, so retrying is futile
+     */
+    static boolean isPermanentFailure(int code) {
+        return code == 401 || code == 404;
+    }
+
+    /**
+     * @param code  the http status code
+     * @param error the parsed response body, if it was a Discord error
+     * @return whether the webhook itself no longer exists, rather than just the targeted thread
+     */
+    static boolean isWebhookDeleted(int code, @Nullable DiscordErrorMessage error) {
+        return code == 401 || (code == 404 && error != null && error.getCode() == UNKNOWN_WEBHOOK);
+    }
+
+    private Map<HttpUrl, Circuit> circuits() {
+        DinkConfigSnapshot current = configSnapshot.get();
+        Map<HttpUrl, Circuit> map = circuits;
+        if (current != builtFor) {
+            map = new ConcurrentHashMap<>();
+            circuits = map;
+            builtFor = current;
+        }
+        return map;
+    }
+
+    /**
+     * Query parameters (such as {@code thread_id}) do not change which webhook is targeted,
+     * so they are ignored by every circuit except those disabled by a 404 for that exact url.
+     */
+    private static HttpUrl key(HttpUrl url) {
+        return url.query() == null ? url : url.newBuilder().query(null).build();
+    }
+
+    private static final class Circuit {
+        private int failures = 0;
+        private long cooldown = 0;
+
+        /**
+         * When the circuit will next permit a probe, if it is open.
+         */
+        private long openUntil = 0;
+        private boolean open = false;
+        private boolean probing = false;
+        private boolean disabled = false;
+
+        synchronized boolean allow(long now) {
+            if (disabled) return false;
+            if (!open) return true;
+            if (now - openUntil < 0) return false;
+
+            // half-open: permit one probe, and reject the remaining requests until its outcome (or another cooldown)
+            openUntil = now + cooldown;
+            probing = true;
+            return true;
+        }
+
+        synchronized void succeed() {
+            failures = 0;
+            cooldown = 0;
+            open = false;
+            probing = false;
+        }
+
+        /**
+         * @return the new cooldown if the circuit just tripped (rather than re-opening after a failed probe), or zero
+         */
+        synchronized long fail(long now) {
+            if (open) {
+                if (probing) {
+                    probing = false;
+                    cooldown = Math.min(cooldown * 2, MAX_COOLDOWN_NANOS);
+                    openUntil = now + cooldown;
+                }
+                // otherwise, the request was already in flight when the circuit opened
+                return 0;
+            }
+
+            if (++failures < FAILURE_THRESHOLD) return 0;
+            open = true;
+            cooldown = BASE_COOLDOWN_NANOS;
+            openUntil = now + cooldown;
+            return cooldown;
+        }
+
+        /**
+         * @return whether the circuit is neither open nor disabled
+         */
+        synchronized boolean isClosed() {
+            return !open && !disabled;
+        }
+
+        synchronized boolean isDisabled() {
+            return disabled;
+        }
+
+        /**
+         * @return whether the circuit was not already disabled
+         */
+        synchronized boolean disable() {
+            if (disabled) return false;
+            disabled = true;
+            return true;
+        }
+    }
+}
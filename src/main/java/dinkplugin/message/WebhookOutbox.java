@@ -0,0 +1,459 @@
+package dinkplugin.message;
+
+import lombok.Synchronized;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+import okhttp3.HttpUrl;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Durable, append-only log of webhook deliveries that have not yet been acknowledged by the server.
+ * <p>
+ * Each delivery is written to the active segment file before the first attempt, and an acknowledgement
+ * record is appended once the webhook responds with a 2xx status code. Segments are rolled once they reach
+ * {@link #MAX_SEGMENT_SIZE}, and are deleted (oldest-first) once every entry within them has been acknowledged.
+ * <p>
+ * Deliveries are at-least-once: if the client exits between a successful response and the acknowledgement
+ * being written, the entry will be replayed upon the next start-up.
+ *
+ * @see DiscordMessageHandler#replayOutbox()
+ */
+@Slf4j
+@Singleton
+public class WebhookOutbox {
+
+    @VisibleForTesting
+    static final long MAX_SEGMENT_SIZE = 4 * 1024 * 1024; // 4 MiB
+    private static final long MAX_TOTAL_SIZE = 64 * 1024 * 1024; // 64 MiB
+    private static final Duration MAX_REPLAY_AGE = Duration.ofDays(1);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final byte RECORD_ENTRY = 1;
+    private static final byte RECORD_ACK = 2;
+
+    private final File directory;
+
+    /**
+     * Segment metadata, ordered from oldest to newest.
+     */
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    /**
+     * The location of each unacknowledged entry on disk.
+     */
+    private final Map<Long, Location> pending = new HashMap<>();
+
+    /**
+     * Entries that are currently being delivered by this session, and thus should not be replayed again.
+     */
+    private final Set<Long> inFlight = new HashSet<>();
+
+    private boolean loaded = false;
+    private long nextId = 1;
+    private @Nullable DataOutputStream activeStream;
+
+    @Inject
+    public WebhookOutbox() {
+        this(new File(new File(RuneLite.RUNELITE_DIR, "dink"), "outbox"));
+    }
+
+    @VisibleForTesting
+    WebhookOutbox(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Persists a delivery before it is first attempted.
+     *
+     * @param type        the notification type, for logging
+     * @param url         the target webhook url
+     * @param payload     the serialized json payload
+     * @param attachments the screenshots to upload alongside the payload
+     * @return the id of the entry, or -1 if it could not be persisted
+     */
+    public long append(@NotNull String type, @NotNull HttpUrl url, @NotNull String payload, @NotNull List<Attachment> attachments) {
+        return append(type, url, payload.getBytes(StandardCharsets.UTF_8), attachments);
+    }
+
+    /**
+     * Persists a delivery before it is first attempted.
+     *
+     * @param type        the notification type, for logging
+     * @param url         the target webhook url
+     * @param payload     the UTF-8 encoded json payload, which is not modified
+     * @param attachments the screenshots to upload alongside the payload
+     * @return the id of the entry, or -1 if it could not be persisted
+     */
+    @Synchronized
+    public long append(@NotNull String type, @NotNull HttpUrl url, @NotNull byte[] payload, @NotNull List<Attachment> attachments) {
+        try {
+            ensureLoaded();
+            long id = nextId++;
+            int size = payload.length + attachments.stream().mapToInt(a -> a.getBytes().length).sum() + 128;
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(size);
+            try (DataOutputStream out = new DataOutputStream(buffer)) {
+                out.writeLong(id);
+                out.writeLong(System.currentTimeMillis());
+                out.writeUTF(type);
+                out.writeUTF(url.toString());
+                writeBytes(out, payload);
+                out.writeInt(attachments.size());
+                for (Attachment attachment : attachments) {
+                    out.writeUTF(attachment.getFormat());
+                    out.writeUTF(attachment.getFileName());
+                    writeBytes(out, attachment.getBytes());
+                }
+            }
+            Location location = writeRecord(RECORD_ENTRY, buffer.toByteArray());
+            segments.get(location.getSegment()).pending++;
+            pending.put(id, location);
+            inFlight.add(id);
+            return id;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to persist webhook message to outbox", e);
+            return -1;
+        }
+    }
+
+    /**
+     * Marks an entry as delivered (or as undeliverable, e.g. because its webhook was deleted), so it will not be replayed.
+     *
+     * @param id the entry id returned by {@link #append}
+     */
+    @Synchronized
+    public void acknowledge(long id) {
+        if (id <= 0) return;
+        inFlight.remove(id);
+        Location location = pending.remove(id);
+        if (location == null) return;
+
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(Long.BYTES);
+            try (DataOutputStream out = new DataOutputStream(buffer)) {
+                out.writeLong(id);
+            }
+            writeRecord(RECORD_ACK, buffer.toByteArray());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to acknowledge webhook message in outbox", e);
+        }
+
+        Segment segment = segments.get(location.getSegment());
+        if (segment != null) {
+            segment.pending--;
+        }
+        deleteAcknowledgedSegments();
+    }
+
+    /**
+     * Indicates that this session has given up on an entry, so it can be replayed on the next start-up.
+     *
+     * @param id the entry id returned by {@link #append}
+     */
+    @Synchronized
+    public void release(long id) {
+        if (id <= 0) return;
+        inFlight.remove(id);
+    }
+
+    /**
+     * Reads an unacknowledged entry from disk, so that retries need not hold the payload in memory.
+     *
+     * @param id the entry id returned by {@link #append}
+     * @return the persisted entry, or null if it was acknowledged or could not be read
+     */
+    @Nullable
+    @Synchronized
+    public Entry read(long id) {
+        Location location = pending.get(id);
+        if (location == null) return null;
+
+        File file = segmentFile(location.getSegment());
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.seek(location.getOffset());
+            int length = raf.readInt();
+            long checksum = raf.readInt() & 0xFFFFFFFFL;
+            byte[] record = new byte[length];
+            raf.readFully(record);
+            if (crc(record) != checksum || record[0] != RECORD_ENTRY) {
+                log.warn("Outbox entry {} is corrupt", id);
+                return null;
+            }
+            return decodeEntry(record);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to read webhook message from outbox", e);
+            return null;
+        }
+    }
+
+    /**
+     * Collects the unacknowledged entries that are not being delivered by this session.
+     * <p>
+     * Stale entries (older than {@link #MAX_REPLAY_AGE}) are discarded rather than replayed.
+     *
+     * @return entries that should be redelivered, from oldest to newest
+     */
+    @Synchronized
+    public List<Entry> drainPending() {
+        try {
+            ensureLoaded();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to load webhook outbox", e);
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>(pending.keySet());
+        ids.removeAll(inFlight);
+        ids.sort(null);
+
+        List<Entry> entries = new ArrayList<>(ids.size());
+        Instant cutoff = Instant.now().minus(MAX_REPLAY_AGE);
+        for (long id : ids) {
+            Entry entry = read(id);
+            if (entry == null || entry.getTime().isBefore(cutoff)) {
+                acknowledge(id);
+            } else {
+                inFlight.add(id);
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    @Synchronized
+    public void close() {
+        closeActiveStream();
+    }
+
+    private void ensureLoaded() throws IOException {
+        if (loaded) return;
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create outbox directory: " + directory);
+        }
+
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                try {
+                    long index = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    segments.put(index, new Segment(file.length()));
+                } catch (NumberFormatException e) {
+                    log.debug("Ignoring unrecognized outbox file: {}", name);
+                }
+            }
+        }
+
+        for (Map.Entry<Long, Segment> e : segments.entrySet()) {
+            loadSegment(e.getKey(), e.getValue());
+        }
+
+        loaded = true;
+        deleteAcknowledgedSegments();
+        log.debug("Loaded webhook outbox with {} pending entries across {} segments", pending.size(), segments.size());
+    }
+
+    private void loadSegment(long index, Segment segment) {
+        File file = segmentFile(index);
+        long offset = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException eof) {
+                    break;
+                }
+                long checksum = in.readInt() & 0xFFFFFFFFL;
+                if (length <= 0 || offset + 8 + length > segment.size) {
+                    log.debug("Truncated record at offset {} of outbox segment {}", offset, index);
+                    break;
+                }
+                byte[] record = new byte[length];
+                in.readFully(record);
+                if (crc(record) != checksum) {
+                    log.debug("Corrupt record at offset {} of outbox segment {}", offset, index);
+                    break;
+                }
+
+                try (DataInputStream data = new DataInputStream(new ByteArrayInputStream(record, 1, record.length - 1))) {
+                    long id = data.readLong();
+                    nextId = Math.max(nextId, id + 1);
+                    if (record[0] == RECORD_ENTRY) {
+                        pending.put(id, new Location(index, offset));
+                        segment.pending++;
+                    } else if (record[0] == RECORD_ACK) {
+                        Location location = pending.remove(id);
+                        if (location != null) {
+                            Segment origin = segments.get(location.getSegment());
+                            if (origin != null) origin.pending--;
+                        }
+                    }
+                }
+                offset += 8 + length;
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read outbox segment {}", index, e);
+        }
+    }
+
+    private Location writeRecord(byte type, byte[] data) throws IOException {
+        byte[] record = new byte[data.length + 1];
+        record[0] = type;
+        System.arraycopy(data, 0, record, 1, data.length);
+
+        Map.Entry<Long, Segment> active = segments.lastEntry();
+        if (active == null || activeStream == null || active.getValue().size >= MAX_SEGMENT_SIZE) {
+            active = rollSegment();
+        }
+
+        Segment segment = active.getValue();
+        long offset = segment.size;
+        DataOutputStream out = activeStream;
+        assert out != null;
+        out.writeInt(record.length);
+        out.writeInt((int) crc(record));
+        out.write(record);
+        out.flush();
+        segment.size += 8 + record.length;
+        return new Location(active.getKey(), offset);
+    }
+
+    private Map.Entry<Long, Segment> rollSegment() throws IOException {
+        closeActiveStream();
+
+        long total = segments.values().stream().mapToLong(s -> s.size).sum();
+        while (total > MAX_TOTAL_SIZE && segments.size() > 1) {
+            Map.Entry<Long, Segment> oldest = segments.pollFirstEntry();
+            log.warn("Webhook outbox exceeded {} bytes; discarding {} undelivered entries", MAX_TOTAL_SIZE, oldest.getValue().pending);
+            pending.values().removeIf(location -> location.getSegment() == oldest.getKey());
+            deleteSegmentFile(oldest.getKey());
+            total -= oldest.getValue().size;
+        }
+
+        long index = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        Segment segment = new Segment(0);
+        segments.put(index, segment);
+        activeStream = new DataOutputStream(new FileOutputStream(segmentFile(index), true));
+        return Map.entry(index, segment);
+    }
+
+    private void deleteAcknowledgedSegments() {
+        // acknowledgements are always written after their entry, so deleting a fully acknowledged prefix is safe
+        while (segments.size() > 1) {
+            Map.Entry<Long, Segment> oldest = segments.firstEntry();
+            if (oldest.getValue().pending > 0) break;
+            segments.pollFirstEntry();
+            deleteSegmentFile(oldest.getKey());
+        }
+    }
+
+    private void deleteSegmentFile(long index) {
+        File file = segmentFile(index);
+        if (file.exists() && !file.delete()) {
+            log.debug("Failed to delete outbox segment: {}", file);
+        }
+    }
+
+    private void closeActiveStream() {
+        if (activeStream != null) {
+            try {
+                activeStream.close();
+            } catch (IOException e) {
+                log.debug("Failed to close outbox segment", e);
+            }
+            activeStream = null;
+        }
+    }
+
+    private File segmentFile(long index) {
+        return new File(directory, String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private static Entry decodeEntry(byte[] record) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record, 1, record.length - 1))) {
+            long id = in.readLong();
+            Instant time = Instant.ofEpochMilli(in.readLong());
+            String type = in.readUTF();
+            HttpUrl url = HttpUrl.get(in.readUTF());
+            String payload = new String(readBytes(in), StandardCharsets.UTF_8);
+            int n = in.readInt();
+            List<Attachment> attachments = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                attachments.add(new Attachment(in.readUTF(), in.readUTF(), readBytes(in)));
+            }
+            return new Entry(id, time, type, url, payload, attachments);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static long crc(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return crc.getValue();
+    }
+
+    @Value
+    public static class Entry {
+        long id;
+        Instant time;
+        String type;
+        HttpUrl url;
+        String payload;
+        List<Attachment> attachments;
+    }
+
+    @Value
+    private static class Location {
+        long segment;
+        long offset;
+    }
+
+    private static class Segment {
+        long size;
+        int pending;
+
+        Segment(long size) {
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package dinkplugin.message;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.HttpUrl;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket scheduler for webhook requests, which learns each bucket from Discord's rate limit headers.
+ * <p>
+ * Requests are released immediately while the bucket has tokens (or its limits are unknown),
+ * and are otherwise held in FIFO order until the bucket resets.
+ * Endpoints that do not send rate limit headers are never throttled.
+ *
+ * @see <a href="https://discord.com/developers/docs/topics/rate-limits">Discord Rate Limits</a>
+ */
+@Slf4j
+class WebhookRateLimiter {
+
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    private static final String RESET_AFTER_HEADER = "X-RateLimit-Reset-After";
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /**
+     * Fallback wait when a 429 response does not specify when to retry.
+     */
+    private static final long DEFAULT_RETRY_AFTER_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ScheduledExecutorService executor;
+    private final Map<HttpUrl, Bucket> buckets = new ConcurrentHashMap<>();
+
+    WebhookRateLimiter(ScheduledExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Runs the task once the bucket associated with the url has capacity.
+     *
+     * @param url  the webhook url
+     * @param task the http call to perform
+     */
+    void submit(@NotNull HttpUrl url, @NotNull Runnable task) {
+        buckets.computeIfAbsent(key(url), k -> new Bucket()).submit(task);
+    }
+
+    /**
+     * Updates the bucket associated with the url based on the response headers.
+     *
+     * @param url      the webhook url
+     * @param response the http response
+     * @return whether the request was refused due to rate limiting (i.e., 429), in which case it should be resubmitted
+     */
+    boolean update(@NotNull HttpUrl url, @NotNull Response response) {
+        Bucket bucket = buckets.computeIfAbsent(key(url), k -> new Bucket());
+        long now = System.nanoTime();
+
+        if (response.code() == TOO_MANY_REQUESTS) {
+            Double retryAfter = parseDouble(response.header(RETRY_AFTER_HEADER));
+            if (retryAfter == null) retryAfter = parseDouble(response.header(RESET_AFTER_HEADER));
+            long waitNanos = retryAfter != null ? (long) (retryAfter * 1e9) : DEFAULT_RETRY_AFTER_NANOS;
+            log.debug("Webhook rate limit exceeded; holding requests for {} ms", TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            bucket.exhaust(now + waitNanos);
+            return true;
+        }
+
+        Double remaining = parseDouble(response.header(REMAINING_HEADER));
+        Double resetAfter = parseDouble(response.header(RESET_AFTER_HEADER));
+        if (remaining != null && resetAfter != null) {
+            Double limit = parseDouble(response.header(LIMIT_HEADER));
+            bucket.learn(remaining.intValue(), limit != null ? limit.intValue() : -1, now + (long) (resetAfter * 1e9));
+        }
+        return false;
+    }
+
+    /**
+     * Discord buckets are per webhook (rather than per thread), so query parameters are excluded from the key.
+     */
+    private static HttpUrl key(HttpUrl url) {
+        return url.query() == null ? url : url.newBuilder().query(null).build();
+    }
+
+    @Nullable
+    private static Double parseDouble(@Nullable String header) {
+        if (header == null || header.isEmpty()) return null;
+        try {
+            return Double.parseDouble(header);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private class Bucket {
+        private final Queue<Runnable> queue = new ArrayDeque<>();
+
+        /**
+         * The number of requests that can be sent before {@link #resetNanos}; negative implies unknown.
+         */
+        private int remaining = -1;
+
+        /**
+         * The bucket capacity once it resets; negative implies unknown.
+         */
+        private int limit = -1;
+
+        private long resetNanos = 0;
+        private boolean drainScheduled = false;
+
+        void submit(Runnable task) {
+            boolean acquired;
+            synchronized (this) {
+                acquired = queue.isEmpty() && tryAcquire(System.nanoTime());
+                if (!acquired) {
+                    queue.add(task);
+                    scheduleDrain();
+                }
+            }
+
+            if (acquired) {
+                task.run();
+            }
+        }
+
+        synchronized void learn(int remaining, int limit, long resetNanos) {
+            this.remaining = remaining;
+            this.limit = limit;
+            this.resetNanos = resetNanos;
+        }
+
+        synchronized void exhaust(long resetNanos) {
+            this.remaining = 0;
+            this.resetNanos = resetNanos;
+        }
+
+        private boolean tryAcquire(long now) {
+            if (now - resetNanos >= 0 && remaining == 0) {
+                // bucket has reset; tokens are unknown until the next response if the limit was not reported
+                remaining = limit;
+            }
+
+            if (remaining < 0) {
+                return true;
+            }
+
+            if (remaining > 0) {
+                remaining--;
+                return true;
+            }
+
+            return false;
+        }
+
+        private void scheduleDrain() {
+            if (drainScheduled) return;
+            drainScheduled = true;
+            long delay = Math.max(resetNanos - System.nanoTime(), 0);
+            executor.schedule(this::drain, delay, TimeUnit.NANOSECONDS);
+        }
+
+        private void drain() {
+            while (true) {
+                Runnable task;
+                synchronized (this) {
+                    drainScheduled = false;
+                    if (queue.isEmpty()) return;
+                    if (!tryAcquire(System.nanoTime())) {
+                        scheduleDrain();
+                        return;
+                    }
+                    task = queue.poll();
+                }
+                task.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package dinkplugin.message;
+
+import dinkplugin.util.ConfigUtil;
+import lombok.Value;
+import okhttp3.HttpUrl;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A parsed webhook url, along with the properties that determine how messages are delivered to it.
+ *
+ * @see WebhookRoutes
+ */
+@Value
+class WebhookRoute {
+    private static final Collection<String> NO_IMAGE_ENDPOINTS = Set.of(
+        "revolt.chat", "api.revolt.chat", "local.revolt.chat",
+        "stoat.chat", "api.stoat.chat", "local.stoat.chat",
+        "api.fluxer.app"
+    );
+
+    HttpUrl url;
+
+    /**
+     * Whether screenshots can be uploaded to this endpoint.
+     */
+    boolean images;
+
+    /**
+     * Whether this is a Discord endpoint (which supports batching multiple embeds into one message).
+     */
+    boolean discord;
+
+    /**
+     * Whether messages must specify a thread name, since the url targets a forum channel without a thread id.
+     */
+    boolean forum;
+
+    /**
+     * The ids of the forum tags to apply to new threads, from the {@code applied_tags} query parameter.
+     */
+    List<Long> appliedTags;
+
+    /**
+     * The request metrics of the webhook host.
+     */
+    HttpMetrics metrics;
+
+    static WebhookRoute of(@NotNull HttpUrl url, @NotNull HttpMetrics metrics) {
+        String host = url.host();
+        boolean discord = host.equals("discord.com") || host.endsWith(".discord.com")
+            || host.equals("discordapp.com") || host.endsWith(".discordapp.com");
+        Collection<String> queryParams = url.queryParameterNames();
+        boolean forum = queryParams.contains("forum") && !queryParams.contains("thread_id");
+        List<Long> appliedTags = ConfigUtil.readDelimited(url.queryParameter("applied_tags"))
+            .map(tag -> {
+                try {
+                    return Long.parseLong(tag);
+                } catch (NumberFormatException ignored) {
+                    return null;
+                }
+            })
+            .filter(Objects::nonNull)
+            .collect(Collectors.toUnmodifiableList());
+        return new WebhookRoute(url, !NO_IMAGE_ENDPOINTS.contains(host), discord, forum, appliedTags, metrics);
+    }
+}
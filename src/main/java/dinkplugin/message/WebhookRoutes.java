@@ -0,0 +1,66 @@
+package dinkplugin.message;
+
+import dinkplugin.ConfigSnapshotHolder;
+import dinkplugin.DinkConfigSnapshot;
+import dinkplugin.util.MetricsRegistry;
+import okhttp3.HttpUrl;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the parsed routes of each (multi-line) webhook config value,
+ * so urls are not split and parsed for every notification.
+ * <p>
+ * The cache is discarded whenever the config changes (i.e., whenever {@link ConfigSnapshotHolder} is refreshed),
+ * so it only holds the values that are currently configured.
+ */
+class WebhookRoutes {
+
+    private final ConfigSnapshotHolder configSnapshot;
+    private final MetricsRegistry metrics;
+    private volatile DinkConfigSnapshot builtFor;
+    private volatile Map<String, List<WebhookRoute>> routesByValue = new ConcurrentHashMap<>();
+
+    /**
+     * @param configSnapshot used to discard the cache whenever the config changes
+     * @param metrics        resolves the request metrics of each route's host
+     */
+    WebhookRoutes(ConfigSnapshotHolder configSnapshot, MetricsRegistry metrics) {
+        this.configSnapshot = configSnapshot;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param webhookUrls newline-delimited webhook urls
+     * @return the distinct, valid routes, in the order they were specified
+     */
+    List<WebhookRoute> get(@NotNull String webhookUrls) {
+        DinkConfigSnapshot current = configSnapshot.get();
+        Map<String, List<WebhookRoute>> routes = routesByValue;
+        if (current != builtFor) {
+            routes = new ConcurrentHashMap<>();
+            routesByValue = routes;
+            builtFor = current;
+        }
+        return routes.computeIfAbsent(webhookUrls, this::parse);
+    }
+
+    private List<WebhookRoute> parse(String webhookUrls) {
+        Map<HttpUrl, WebhookRoute> routes = new LinkedHashMap<>();
+        Arrays.stream(StringUtils.split(webhookUrls, '\n'))
+            .filter(StringUtils::isNotBlank)
+            .map(String::trim)
+            .map(HttpUrl::parse)
+            .filter(Objects::nonNull)
+            .filter(url -> !"example.com".equalsIgnoreCase(url.host()))
+            .forEach(url -> routes.computeIfAbsent(url, u -> WebhookRoute.of(u, HttpMetrics.of(metrics, u.host()))));
+        return List.copyOf(routes.values());
+    }
+}
@@ -0,0 +1,168 @@
+package dinkplugin.message.templating;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A template string that has been parsed once into the candidate placeholders
+ * delimited by the replacement boundary, so rendering does not need to rescan the template.
+ * <p>
+ * Whether a candidate is replaced depends on the replacements that are supplied at render time,
+ * so the parse is stored as a small state machine that mirrors {@link Template}'s scan:
+ * after a replaced key, scanning resumes immediately after the key; otherwise it resumes from the closing boundary.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CompiledTemplate {
+
+    private static final Cache<Key, CompiledTemplate> CACHE = CacheBuilder.newBuilder()
+        .maximumSize(256L)
+        .build();
+
+    private final String template;
+
+    /**
+     * The start index of each candidate key within the template.
+     */
+    private final int[] starts;
+
+    /**
+     * The end index (exclusive) of each candidate key within the template.
+     */
+    private final int[] ends;
+
+    /**
+     * The candidate keys, including the boundaries (e.g., "%USERNAME%").
+     */
+    private final String[] keys;
+
+    /**
+     * The index of the next candidate if this candidate is replaced, or -1 if there are no more candidates.
+     */
+    private final int[] onHit;
+
+    /**
+     * The index of the next candidate if this candidate has no replacement, or -1 if there are no more candidates.
+     */
+    private final int[] onMiss;
+
+    /**
+     * @param template the raw template string
+     * @param boundary the replacement boundary, such as "%"
+     * @return the (possibly cached) compiled template
+     */
+    public static CompiledTemplate of(@NotNull String template, @NotNull String boundary) {
+        try {
+            return CACHE.get(new Key(template, boundary), () -> compile(template, boundary));
+        } catch (ExecutionException e) {
+            return compile(template, boundary);
+        }
+    }
+
+    /**
+     * @param replacements the evaluables by their key (including the boundaries)
+     * @param rich         whether markdown formatting is supported
+     * @return the evaluated template
+     */
+    public String render(@NotNull Map<String, Evaluable> replacements, boolean rich) {
+        int n = keys.length;
+        if (n == 0 || replacements.isEmpty()) return template;
+
+        // first pass: evaluate the replacements that apply, so the output buffer can be sized exactly
+        String[] values = null;
+        int length = template.length();
+        for (int i = 0; i >= 0; ) {
+            Evaluable replacement = replacements.get(keys[i]);
+            if (replacement != null) {
+                if (values == null) values = new String[n];
+                String value = replacement.evaluate(rich);
+                values[i] = value;
+                length += value.length() - (ends[i] - starts[i]);
+                i = onHit[i];
+            } else {
+                i = onMiss[i];
+            }
+        }
+        if (values == null) return template;
+
+        // second pass: interleave literal segments with the evaluated replacements
+        StringBuilder sb = new StringBuilder(length);
+        int cursor = 0;
+        for (int i = 0; i < n; i++) {
+            String value = values[i];
+            if (value != null) {
+                sb.append(template, cursor, starts[i]).append(value);
+                cursor = ends[i];
+            }
+        }
+        return sb.append(template, cursor, template.length()).toString();
+    }
+
+    /**
+     * @return the raw template string
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    private static CompiledTemplate compile(String template, String boundary) {
+        int length = template.length();
+
+        // discover the candidate at each scan position that is reachable from the first boundary
+        int[] indexByPos = new int[length + 1];
+        Arrays.fill(indexByPos, -1);
+        int[] positions = new int[length + 1];
+        int n = 0;
+
+        int[] stack = new int[2 * length + 2];
+        int top = 0;
+        int first = boundary.isEmpty() ? -1 : template.indexOf(boundary);
+        if (first >= 0) stack[top++] = first;
+        boolean[] visited = new boolean[length + 1];
+        while (top > 0) {
+            int pos = stack[--top];
+            if (visited[pos]) continue;
+            visited[pos] = true;
+
+            int next = template.indexOf(boundary, pos + 1);
+            if (next < 0) continue; // no more candidates after this position
+
+            indexByPos[pos] = n;
+            positions[n++] = pos;
+            stack[top++] = next + 1; // resume after a replaced key
+            stack[top++] = next; // resume from the closing boundary after a missing key
+        }
+
+        // order the candidates by their position in the template
+        Arrays.sort(positions, 0, n);
+        for (int i = 0; i < n; i++) {
+            indexByPos[positions[i]] = i;
+        }
+
+        int[] starts = new int[n], ends = new int[n], onHit = new int[n], onMiss = new int[n];
+        String[] keys = new String[n];
+        for (int i = 0; i < n; i++) {
+            int start = positions[i];
+            int next = template.indexOf(boundary, start + 1);
+            starts[i] = start;
+            ends[i] = next + 1;
+            keys[i] = template.substring(start, next + 1);
+            onHit[i] = indexByPos[next + 1];
+            onMiss[i] = indexByPos[next];
+        }
+        return new CompiledTemplate(template, starts, ends, keys, onHit, onMiss);
+    }
+
+    @Value
+    private static class Key {
+        String template;
+        String boundary;
+    }
+}
@@ -39,24 +39,7 @@ public class Template implements Evaluable {
 
     private String evaluateFast(boolean rich) {
         assert replacementBoundary != null;
-        StringBuilder message = new StringBuilder(template);
-        int i = message.indexOf(replacementBoundary);
-        while (i != -1) {
-            int next = message.indexOf(replacementBoundary, i + 1);
-            if (next < 0) break;
-
-            int endExclusive = next + 1;
-            String key = message.substring(i, endExclusive);
-            Evaluable replacement = replacements.get(key);
-            if (replacement != null) {
-                String evaluated = replacement.evaluate(rich);
-                message.replace(i, endExclusive, evaluated);
-                i = endExclusive + evaluated.length() - key.length();
-            } else {
-                i = next;
-            }
-        }
-        return message.toString();
+        return CompiledTemplate.of(template, replacementBoundary).render(replacements, rich);
     }
 
     @Override
@@ -66,12 +49,16 @@ public class Template implements Evaluable {
 
         // custom equals/hashCode based on outputs (rather than inputs) for ease of testing notifiers
         Template other = (Template) o;
+        if (replacementBoundary != null && replacementBoundary.equals(other.replacementBoundary) && template.equals(other.template) && replacements.equals(other.replacements))
+            return true; // identical inputs yield identical outputs
+
         return this.evaluate(false).equals(other.evaluate(false))
             && this.evaluate(true).equals(other.evaluate(true));
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.evaluate(false), this.evaluate(true));
+        // equal templates must have equal plain outputs, so the rich output need not be evaluated
+        return this.evaluate(false).hashCode();
     }
 }
@@ -1,11 +1,17 @@
 package dinkplugin.notifiers;
 
+import dinkplugin.ConfigSnapshotHolder;
+import dinkplugin.DinkConfigSnapshot;
 import dinkplugin.DinkPluginConfig;
 import dinkplugin.SettingsManager;
 import dinkplugin.domain.SeasonalPolicy;
 import dinkplugin.message.DiscordMessageHandler;
 import dinkplugin.message.NotificationBody;
+import dinkplugin.message.NotificationType;
+import dinkplugin.message.PipelineEvents;
 import dinkplugin.util.AccountTypeTracker;
+import dinkplugin.util.LatencyHistogram;
+import dinkplugin.util.MetricsRegistry;
 import dinkplugin.util.Utils;
 import dinkplugin.util.WorldTypeTracker;
 import dinkplugin.util.WorldUtils;
@@ -27,6 +33,9 @@ public abstract class BaseNotifier {
     @Inject
     protected DinkPluginConfig config;
 
+    @Inject
+    protected ConfigSnapshotHolder configSnapshot;
+
     @Inject
     protected AccountTypeTracker accountTracker;
 
@@ -45,6 +54,13 @@ public abstract class BaseNotifier {
     @Inject
     private DiscordMessageHandler messageHandler;
 
+    private Map<NotificationType, LatencyHistogram> notifyTime;
+
+    @Inject
+    void initMetrics(MetricsRegistry metrics) {
+        this.notifyTime = metrics.histograms("notify.", NotificationType.class, NotificationType::name);
+    }
+
     public boolean isEnabled() {
         return worldTracker.hasValidState() && accountTracker.hasValidState();
     }
@@ -57,16 +73,26 @@ public abstract class BaseNotifier {
 
     protected final void createMessage(String overrideUrl, boolean sendImage, NotificationBody<?> body) {
         // determine target url
+        DinkConfigSnapshot settings = configSnapshot.get();
         String override;
-        if (StringUtils.isNotBlank(config.leaguesWebhook()) && config.seasonalPolicy() == SeasonalPolicy.FORWARD_TO_LEAGUES && WorldUtils.isSeasonal(client)) {
-            override = config.leaguesWebhook();
+        if (StringUtils.isNotBlank(settings.getLeaguesWebhook()) && settings.getSeasonalPolicy() == SeasonalPolicy.FORWARD_TO_LEAGUES && WorldUtils.isSeasonal(client)) {
+            override = settings.getLeaguesWebhook();
         } else {
             override = overrideUrl;
         }
-        String url = StringUtils.isNotBlank(override) ? override : config.primaryWebhook();
+        String url = StringUtils.isNotBlank(override) ? override : settings.getPrimaryWebhook();
 
         // post notification to target url
+        PipelineEvents.Trigger event = new PipelineEvents.Trigger();
+        event.begin();
+        long start = System.nanoTime();
         messageHandler.createMessage(url, sendImage, body);
+        notifyTime.get(body.getType()).recordSince(start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.notificationType = body.getType().name();
+            event.commit();
+        }
 
         // notify other hub plugins
         var playerName = body.getPlayerName() != null ? body.getPlayerName() : Utils.getPlayerName(client);
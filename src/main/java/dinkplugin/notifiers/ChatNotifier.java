@@ -6,7 +6,10 @@ import dinkplugin.message.NotificationType;
 import dinkplugin.message.templating.Replacements;
 import dinkplugin.message.templating.Template;
 import dinkplugin.notifiers.data.ChatNotificationData;
+import dinkplugin.util.TickTask;
 import dinkplugin.util.Utils;
+import dinkplugin.util.WildcardMatcher;
+import lombok.Getter;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.GameState;
 import net.runelite.api.clan.ClanChannel;
@@ -23,10 +26,6 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Objects;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static dinkplugin.domain.ChatNotificationType.*;
@@ -38,9 +37,19 @@ public class ChatNotifier extends BaseNotifier {
     @Inject
     private ClientThread clientThread;
 
-    private final Collection<Pattern> regexps = new ArrayList<>();
+    /**
+     * Immutable snapshot of the compiled patterns; swapped (rather than mutated) on config changes,
+     * so that messages can be matched by the executor without synchronizing with the client thread.
+     */
+    private volatile WildcardMatcher matcher = WildcardMatcher.EMPTY;
     private volatile boolean dirty;
 
+    /**
+     * Armed while {@link #dirty}, until the patterns are reloaded.
+     */
+    @Getter
+    private final TickTask tickTask = new TickTask("ChatNotifier", this::onTick, false);
+
     @Override
     public boolean isEnabled() {
         return config.notifyChat() && super.isEnabled();
@@ -52,28 +61,31 @@ public class ChatNotifier extends BaseNotifier {
     }
 
     public void init() {
-        this.dirty = true;
+        markDirty();
     }
 
     public void reset() {
-        this.dirty = true;
+        markDirty();
         clientThread.invoke(() -> {
             if (dirty) {
-                regexps.clear();
+                matcher = WildcardMatcher.EMPTY;
             }
         });
     }
 
     public void onConfig(String key) {
         if (PATTERNS_CONFIG_KEY.equals(key)) {
-            this.dirty = true;
+            markDirty();
         }
     }
 
     public void onTick() {
+        // disarm before checking the flag, so that concurrent config changes re-arm the task
+        tickTask.disarm();
         if (this.dirty) {
             var username = Utils.getPlayerName(client);
             if (username == null || username.isEmpty()) {
+                tickTask.arm();
                 return;
             }
             this.dirty = false;
@@ -84,15 +96,9 @@ public class ChatNotifier extends BaseNotifier {
     public void onMessage(@NotNull ChatMessageType messageType, @Nullable String source, @NotNull String message) {
         ChatNotificationType type = ChatNotificationType.MAPPINGS.get(messageType);
         if (type != null && config.chatMessageTypes().contains(type) && isEnabled()) {
-            clientThread.invoke(() -> {
-                if (dirty)
-                    return false; // try later
-
-                if (hasMatch(message)) {
-                    String cleanSource = source != null ? Text.sanitize(source) : null;
-                    this.handleNotify(type, messageType, cleanSource, message);
-                }
-                return true;
+            submit(message, () -> {
+                String cleanSource = source != null ? Text.sanitize(source) : null;
+                this.handleNotify(type, messageType, cleanSource, message);
             });
         }
     }
@@ -100,15 +106,7 @@ public class ChatNotifier extends BaseNotifier {
     public void onCommand(CommandExecuted event) {
         if (config.chatMessageTypes().contains(COMMAND) && isEnabled()) {
             String fullMessage = join(event);
-            clientThread.invoke(() -> {
-                if (dirty)
-                    return false; // try later
-
-                if (hasMatch(fullMessage)) {
-                    this.handleNotify(COMMAND, ChatMessageType.UNKNOWN, "CommandExecuted", fullMessage);
-                }
-                return true;
-            });
+            submit(fullMessage, () -> this.handleNotify(COMMAND, ChatMessageType.UNKNOWN, "CommandExecuted", fullMessage));
         }
     }
 
@@ -118,18 +116,39 @@ public class ChatNotifier extends BaseNotifier {
             return; // avoid duplicate notification (since runelite will also post to chat)
         }
         if (types.contains(RUNELITE) && isEnabled()) {
-            clientThread.invoke(() -> {
-                if (dirty)
-                    return false; // try later
-
-                if (hasMatch(event.getMessage())) {
-                    this.handleNotify(RUNELITE, ChatMessageType.UNKNOWN, "NotificationFired", event.getMessage());
-                }
-                return true;
-            });
+            String message = event.getMessage();
+            submit(message, () -> this.handleNotify(RUNELITE, ChatMessageType.UNKNOWN, "NotificationFired", message));
         }
     }
 
+    /**
+     * Matches the message against the current patterns on the executor,
+     * and only returns to the client thread (to run {@code onMatch}) if some pattern matched.
+     */
+    private void submit(String message, Runnable onMatch) {
+        if (!dirty) {
+            match(matcher, message, onMatch);
+            return;
+        }
+
+        // patterns are awaiting (re)compilation on the next tick
+        clientThread.invoke(() -> {
+            if (dirty)
+                return false; // try later
+
+            match(matcher, message, onMatch);
+            return true;
+        });
+    }
+
+    private void match(WildcardMatcher snapshot, String message, Runnable onMatch) {
+        executor.execute(() -> {
+            if (snapshot.matches(message)) {
+                clientThread.invoke(onMatch);
+            }
+        });
+    }
+
     private void handleNotify(ChatNotificationType dinkType, ChatMessageType type, String source, String message) {
         var clanTitle = getClanTitle(type, source, message);
         String playerName = Utils.getPlayerName(client);
@@ -148,23 +167,18 @@ public class ChatNotifier extends BaseNotifier {
             .build());
     }
 
-    private boolean hasMatch(String chatMessage) {
-        for (Pattern pattern : regexps) {
-            if (pattern.matcher(chatMessage).find())
-                return true;
-        }
-        return false;
+    private void markDirty() {
+        this.dirty = true;
+        tickTask.arm();
     }
 
     private void loadPatterns(String username) {
-        regexps.clear();
-        regexps.addAll(
+        // equivalent to Utils#regexify for each pattern, but scans each message once regardless of the pattern count
+        matcher = WildcardMatcher.compile(
             config.chatPatterns().lines()
                 .map(String::trim)
                 .filter(s -> !s.isEmpty())
                 .map(s -> s.replace("%USERNAME%", username))
-                .map(Utils::regexify)
-                .filter(Objects::nonNull)
                 .collect(Collectors.toList())
         );
     }
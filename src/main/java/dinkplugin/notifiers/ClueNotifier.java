@@ -9,9 +9,11 @@ import dinkplugin.message.templating.Replacements;
 import dinkplugin.message.templating.Template;
 import dinkplugin.message.templating.impl.JoiningReplacement;
 import dinkplugin.util.ItemUtils;
+import dinkplugin.util.TickTask;
 import dinkplugin.util.Utils;
 import dinkplugin.notifiers.data.ClueNotificationData;
 import dinkplugin.notifiers.data.SerializedItemStack;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.events.WidgetLoaded;
 import net.runelite.api.gameval.InterfaceID;
@@ -36,10 +38,19 @@ import java.util.regex.Pattern;
 @Singleton
 public class ClueNotifier extends BaseNotifier {
     private static final Pattern CLUE_SCROLL_REGEX = Pattern.compile("You have completed (?<scrollCount>\\d+) (?<scrollType>\\w+) Treasure Trails?\\.");
+
+    public static final List<String> GAME_MESSAGE_KEYWORDS = List.of(" Treasure Trail");
+
     private final AtomicInteger badTicks = new AtomicInteger(); // used to prevent notifs from using stale data
     private volatile int clueCount = -1;
     private volatile String clueType = "";
 
+    /**
+     * Armed while clue data has been parsed from chat, but the reward widget has not yet loaded.
+     */
+    @Getter
+    private final TickTask tickTask = new TickTask("ClueNotifier", this::onTick, false);
+
     @Inject
     private ItemManager itemManager;
 
@@ -60,6 +71,7 @@ public class ClueNotifier extends BaseNotifier {
                 // game message always occurs before widget load; save this data
                 this.clueCount = result.getValue();
                 this.clueType = result.getKey();
+                tickTask.arm();
             }
         }
     }
@@ -95,6 +107,9 @@ public class ClueNotifier extends BaseNotifier {
         // Clear data if 2 ticks pass with only partial parsing (both events should occur within same tick)
         if (badTicks.get() > 1)
             reset();
+
+        if (clueType.isEmpty())
+            tickTask.disarm();
     }
 
     private void handleNotify(Map<Integer, Integer> clueItems) {
@@ -31,6 +31,7 @@ import org.jetbrains.annotations.VisibleForTesting;
 import javax.inject.Inject;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.OptionalDouble;
@@ -43,6 +44,9 @@ import java.util.regex.Pattern;
 @Slf4j
 public class CollectionNotifier extends BaseNotifier {
     static final Pattern COLLECTION_LOG_REGEX = Pattern.compile("New item added to your collection log: (?<itemName>(.*))");
+
+    public static final List<String> GAME_MESSAGE_KEYWORDS = List.of("New item added to your collection log: ");
+
     public static final String ADDITION_WARNING = "Collection notifier will not fire unless you enable the game setting: Collection log - New addition notification";
     public static final int POPUP_PREFIX_LENGTH = "New item:".length();
 
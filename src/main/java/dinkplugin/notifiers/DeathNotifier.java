@@ -68,6 +68,8 @@ public class DeathNotifier extends BaseNotifier {
 
     private static final String FORTIS_DOOM_MSG = "You have been doomed!";
 
+    public static final List<String> GAME_MESSAGE_KEYWORDS = List.of(FORTIS_DOOM_MSG, TOA_DEATH_MSG);
+
     /**
      * @see <a href="https://github.com/Joshua-F/cs2-scripts/blob/master/scripts/%5Bclientscript,tob_hud_portal%5D.cs2">CS2 Reference</a>
      */
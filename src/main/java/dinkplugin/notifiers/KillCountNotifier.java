@@ -6,8 +6,10 @@ import dinkplugin.message.templating.Replacements;
 import dinkplugin.message.templating.Template;
 import dinkplugin.notifiers.data.BossNotificationData;
 import dinkplugin.util.KillCountService;
+import dinkplugin.util.TickTask;
 import dinkplugin.util.TimeUtils;
 import dinkplugin.util.Utils;
+import lombok.Getter;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
@@ -22,6 +24,7 @@ import org.jetbrains.annotations.VisibleForTesting;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -40,6 +43,8 @@ public class KillCountNotifier extends BaseNotifier {
     private static final Pattern SECONDARY_REGEX = Pattern.compile("Your (?:completed|subdued) (?<key>.+) count is: (?<value>[\\d,]+)\\b");
     private static final Pattern TIME_REGEX = Pattern.compile("(?:Duration|time|Subdued in):? (?<time>[\\d:]+(?:.\\d+)?)\\.?(?: Personal best: (?<pbtime>[\\d:+]+(?:.\\d+)?))?", Pattern.CASE_INSENSITIVE);
 
+    public static final List<String> GAME_MESSAGE_KEYWORDS = List.of("count is", "Duration", "time", "Subdued in");
+
     private static final String BA_BOSS_NAME = "Penance Queen";
 
     /**
@@ -57,6 +62,12 @@ public class KillCountNotifier extends BaseNotifier {
     private final AtomicInteger badTicks = new AtomicInteger();
     private final AtomicReference<BossNotificationData> data = new AtomicReference<>();
 
+    /**
+     * Armed while boss data is awaiting the rest of its chat messages.
+     */
+    @Getter
+    private final TickTask tickTask = new TickTask("KillCountNotifier", this::onTick, false);
+
     @Override
     public boolean isEnabled() {
         return config.notifyKillCount() && super.isEnabled();
@@ -94,6 +105,7 @@ public class KillCountNotifier extends BaseNotifier {
             if (widget != null && widget.getText().contains("80 ") && widget.getText().contains("5 ")) {
                 int gambleCount = client.getVarbitValue(VarbitID.BARBASSAULT_GAMBLECOUNT);
                 this.data.set(new BossNotificationData(BA_BOSS_NAME, gambleCount, "The Queen is dead!", null, null, null, null));
+                tickTask.arm();
             }
         }
     }
@@ -113,6 +125,8 @@ public class KillCountNotifier extends BaseNotifier {
                 // if boss name doesn't arrive in time, reset (to avoid stale data contaminating later notifications)
                 reset();
             }
+        } else {
+            tickTask.disarm();
         }
     }
 
@@ -188,6 +202,7 @@ public class KillCountNotifier extends BaseNotifier {
                 );
             }
         });
+        tickTask.arm();
     }
 
     private static Optional<BossNotificationData> parse(Client client, String message) {
@@ -39,6 +39,8 @@ public class LeaguesNotifier extends BaseNotifier {
     private static final Pattern TASK_REGEX = Pattern.compile("Congratulations, you've completed an? (?<tier>\\w+) task: (?<task>.+)\\.");
     private static final Pattern MASTERY_REGEX = Pattern.compile("Congratulations, you've unlocked a new .+ Combat Mastery: (?<type>\\w+) (?<tier>\\w+)\\.");
 
+    public static final List<String> GAME_MESSAGE_KEYWORDS = List.of("Congratulations, you've ");
+
     /**
      * @see <a href="https://oldschool.runescape.wiki/w/Demonic_Pacts_League#Areas">Wiki Reference</a>
      */
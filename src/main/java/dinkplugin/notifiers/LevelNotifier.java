@@ -8,7 +8,9 @@ import dinkplugin.message.templating.Template;
 import dinkplugin.message.templating.impl.JoiningReplacement;
 import dinkplugin.notifiers.data.LevelNotificationData;
 import dinkplugin.notifiers.data.XpNotificationData;
+import dinkplugin.util.TickTask;
 import dinkplugin.util.Utils;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Experience;
 import net.runelite.api.GameState;
@@ -51,6 +53,12 @@ public class LevelNotifier extends BaseNotifier {
     private int initTicks = 0;
     private Set<WorldType> specialWorldType = null;
 
+    /**
+     * Armed while skill levels are being initialized, or level ups are awaiting notification.
+     */
+    @Getter
+    private final TickTask tickTask = new TickTask("LevelNotifier", this::onTick, true);
+
     @Inject
     private ClientThread clientThread;
 
@@ -84,6 +92,7 @@ public class LevelNotifier extends BaseNotifier {
             currentXp.clear();
             currentLevels.clear();
             this.specialWorldType = null;
+            tickTask.arm();
         });
     }
 
@@ -99,6 +108,7 @@ public class LevelNotifier extends BaseNotifier {
         }
 
         if (levelledSkills.isEmpty() && xpReached.isEmpty()) {
+            tickTask.disarm();
             return;
         }
 
@@ -141,6 +151,7 @@ public class LevelNotifier extends BaseNotifier {
 
         if (previousLevel == null) {
             this.initTicks = INIT_GAME_TICKS; // force init on next tick
+            tickTask.arm();
             return;
         }
 
@@ -162,6 +173,7 @@ public class LevelNotifier extends BaseNotifier {
                 log.debug("Observed XP milestone for {} to {}", skill, xp);
                 xpReached.add(skill);
                 this.ticksWaited = 0;
+                tickTask.arm();
             }
         }
 
@@ -201,6 +213,7 @@ public class LevelNotifier extends BaseNotifier {
 
             // allow more accumulation of level ups into single notification
             this.ticksWaited = 0;
+            tickTask.arm();
         }
     }
 
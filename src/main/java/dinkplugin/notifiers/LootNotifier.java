@@ -1,5 +1,6 @@
 package dinkplugin.notifiers;
 
+import dinkplugin.DinkConfigSnapshot;
 import dinkplugin.domain.LootCriteria;
 import dinkplugin.message.Embed;
 import dinkplugin.message.NotificationBody;
@@ -35,6 +36,7 @@ import net.runelite.client.plugins.loottracker.LootReceived;
 import net.runelite.client.util.QuantityFormatter;
 import net.runelite.http.api.loottracker.LootRecordType;
 import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.VisibleForTesting;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -56,6 +58,10 @@ public class LootNotifier extends BaseNotifier {
 
     public static final Set<Integer> SERVER_LOOT_NPC_IDS;
 
+    public static final List<String> GAME_MESSAGE_KEYWORDS = List.of(
+        "You have found a Pharaoh's sceptre!", "You catch a ", "You've received some paint!"
+    );
+
     @Inject
     private ItemManager itemManager;
 
@@ -77,12 +83,12 @@ public class LootNotifier extends BaseNotifier {
 
     @Override
     public boolean isEnabled() {
-        return config.notifyLoot() && super.isEnabled();
+        return configSnapshot.get().isNotifyLoot() && super.isEnabled();
     }
 
     @Override
     protected String getWebhookUrl() {
-        return config.lootWebhook();
+        return configSnapshot.get().getLootWebhook();
     }
 
     public void init() {
@@ -163,21 +169,23 @@ public class LootNotifier extends BaseNotifier {
         if (WorldUtils.isSafeArea(client))
             return;
 
-        if (config.includePlayerLoot() && isEnabled())
+        if (configSnapshot.get().isIncludePlayerLoot() && isEnabled())
             this.handleNotify(event.getItems(), event.getPlayer().getName(), LootRecordType.PLAYER, null);
     }
 
     public void onLootReceived(LootReceived lootReceived) {
         if (!isEnabled()) return;
 
+        DinkConfigSnapshot settings = configSnapshot.get();
+
         // only consider non-NPC and non-PK loot
         if (lootReceived.getType() == LootRecordType.EVENT || lootReceived.getType() == LootRecordType.PICKPOCKET) {
-            if ("Barbarian Assault high gamble".equals(lootReceived.getName()) && !config.lootIncludeGambles()) {
+            if ("Barbarian Assault high gamble".equals(lootReceived.getName()) && !settings.isLootIncludeGambles()) {
                 // skip ba gambles, depending on config (since we have GambleNotifier)
                 return;
             }
 
-            if (!config.lootIncludeClueScrolls() && StringUtils.startsWithIgnoreCase(lootReceived.getName(), "Clue Scroll")) {
+            if (!settings.isLootIncludeClueScrolls() && StringUtils.startsWithIgnoreCase(lootReceived.getName(), "Clue Scroll")) {
                 // skip clue scroll loot, depending on config
                 return;
             }
@@ -218,9 +226,10 @@ public class LootNotifier extends BaseNotifier {
             return;
         }
 
+        final DinkConfigSnapshot settings = configSnapshot.get();
         final Integer kc = killCountService.getKillCount(type, dropper);
-        final int minValue = config.minLootValue();
-        final boolean icons = config.lootIcons();
+        final int minValue = settings.getMinLootValue();
+        final boolean icons = settings.isLootIcons();
 
         Collection<ItemStack> reduced = ItemUtils.reduceItemStack(items);
         List<SerializedItemStack> serializedItems = new ArrayList<>(reduced.size());
@@ -233,8 +242,8 @@ public class LootNotifier extends BaseNotifier {
         SerializedItemStack max = null;
         RareItemStack rarest = null;
 
-        final double rarityThreshold = config.lootRarityThreshold() > 0 ? 1.0 / config.lootRarityThreshold() : Double.NaN;
-        final boolean intersection = config.lootRarityValueIntersection() && Double.isFinite(rarityThreshold);
+        final double rarityThreshold = settings.getLootRarityThreshold() > 0 ? 1.0 / settings.getLootRarityThreshold() : Double.NaN;
+        final boolean intersection = settings.isLootRarityValueIntersection() && Double.isFinite(rarityThreshold);
         for (ItemStack item : reduced) {
             SerializedItemStack stack = ItemUtils.stackFromItem(itemManager, item.getId(), item.getQuantity());
             long totalPrice = stack.getTotalPrice();
@@ -325,19 +334,19 @@ public class LootNotifier extends BaseNotifier {
             }
 
             String overrideUrl = getWebhookUrl();
-            if (config.lootRedirectPlayerKill() && !config.pkWebhook().isBlank()) {
+            if (settings.isLootRedirectPlayerKill() && !settings.getPkWebhook().isBlank()) {
                 if (type == LootRecordType.PLAYER || (type == LootRecordType.EVENT && "Loot Chest".equals(dropper))) {
-                    overrideUrl = config.pkWebhook();
+                    overrideUrl = settings.getPkWebhook();
                 }
             }
             Double rarity = rarest != null ? rarest.getRarity() : null;
-            boolean screenshot = config.lootSendImage() && (totalStackValue >= config.lootImageMinValue() || onAllowList);
+            boolean screenshot = settings.isLootSendImage() && (totalStackValue >= settings.getLootImageMinValue() || onAllowList);
             Collection<String> party = toaData != null ? toaData.getParty() : (type == LootRecordType.EVENT ? Utils.getBossParty(client, dropper) : null);
             Evaluable source = type == LootRecordType.PLAYER
-                ? Replacements.ofLink(dropper, config.playerLookupService().getPlayerUrl(dropper))
+                ? Replacements.ofLink(dropper, settings.getPlayerLookupService().getPlayerUrl(dropper))
                 : Replacements.ofWiki(dropper);
             Template notifyMessage = Template.builder()
-                .template(config.lootNotifyMessage())
+                .template(settings.getLootNotifyMessage())
                 .replacementBoundary("%")
                 .replacement("%USERNAME%", Replacements.ofText(Utils.getPlayerName(client)))
                 .replacement("%LOOT%", lootMsg)
@@ -357,7 +366,8 @@ public class LootNotifier extends BaseNotifier {
         }
     }
 
-    private static boolean matches(Collection<Pattern> regexps, String input) {
+    @VisibleForTesting
+    static boolean matches(Collection<Pattern> regexps, String input) {
         for (Pattern regex : regexps) {
             if (regex.matcher(input).find())
                 return true;
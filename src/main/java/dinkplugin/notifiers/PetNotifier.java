@@ -11,9 +11,11 @@ import dinkplugin.util.ItemUtils;
 import dinkplugin.util.KillCountService;
 import dinkplugin.util.MathUtils;
 import dinkplugin.util.SerializedLoot;
+import dinkplugin.util.TickTask;
 import dinkplugin.util.Utils;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.Setter;
 import lombok.Value;
 import net.runelite.api.Client;
@@ -30,6 +32,7 @@ import org.jetbrains.annotations.VisibleForTesting;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -55,6 +58,12 @@ public class PetNotifier extends BaseNotifier {
     static final Pattern CLAN_REGEX = Pattern.compile("\\b(?<user>[\\w\\s]+) (?:has a funny feeling like .+ followed|feels something weird sneaking into .+ backpack|feels like .+ acquired something special): (?:(?<pet>.+) at (?<milestone>.+)|(?<pet2>.+))");
 
     private static final Pattern UNTRADEABLE_REGEX = Pattern.compile("Untradeable drop: (.+)");
+
+    public static final List<String> GAME_MESSAGE_KEYWORDS = List.of(
+        "You have a funny feeling like you", "You feel something weird sneaking",
+        "Untradeable drop: ", "New item added to your collection log: ", "automatically insured"
+    );
+
     private static final Map<String, Source> PET_NAMES_TO_SOURCE;
     private static final String PRIMED_NAME = "";
 
@@ -87,6 +96,12 @@ public class PetNotifier extends BaseNotifier {
     @Setter(AccessLevel.PRIVATE)
     private volatile String petName = null;
 
+    /**
+     * Armed while a pet drop is pending (i.e., {@link #petName} is populated).
+     */
+    @Getter
+    private final TickTask tickTask = new TickTask("PetNotifier", this::onTick, false);
+
     private volatile String milestone = null;
 
     private volatile boolean duplicate = false;
@@ -121,6 +136,7 @@ public class PetNotifier extends BaseNotifier {
                 if (PET_REGEX.matcher(chatMessage).matches()) {
                     // Prime the notifier to trigger next tick
                     this.petName = PRIMED_NAME;
+                    tickTask.arm();
                     this.duplicate = chatMessage.contains("would have been");
                     this.backpack = chatMessage.contains(" backpack");
 
@@ -182,8 +198,10 @@ public class PetNotifier extends BaseNotifier {
     }
 
     public void onTick() {
-        if (petName == null)
+        if (petName == null) {
+            tickTask.disarm();
             return;
+        }
 
         if (milestone != null || ticksWaited.incrementAndGet() > MAX_TICKS_WAIT) {
             // ensure notifier was not disabled during wait ticks
@@ -9,7 +9,9 @@ import dinkplugin.message.templating.Template;
 import dinkplugin.notifiers.data.PlayerKillNotificationData;
 import dinkplugin.notifiers.data.SerializedItemStack;
 import dinkplugin.util.ItemUtils;
+import dinkplugin.util.TickTask;
 import dinkplugin.util.WorldUtils;
+import lombok.Getter;
 import net.runelite.api.Actor;
 import net.runelite.api.Hitsplat;
 import net.runelite.api.Player;
@@ -42,6 +44,12 @@ public class PlayerKillNotifier extends BaseNotifier {
      */
     private final Map<Player, Integer> attacked = new WeakHashMap<>(4);
 
+    /**
+     * Armed while {@link #attacked} is non-empty.
+     */
+    @Getter
+    private final TickTask tickTask = new TickTask("PlayerKillNotifier", this::onTick, false);
+
     private final Cache<Actor, Boolean> recentlyNotified = CacheBuilder.newBuilder()
         .weakKeys()
         .expireAfterAccess(5, TimeUnit.SECONDS)
@@ -92,12 +100,15 @@ public class PlayerKillNotifier extends BaseNotifier {
 
         Player target = (Player) actor;
         attacked.merge(target, amount, Integer::sum);
+        tickTask.arm();
     }
 
     public void onTick() {
         // micro-optimization: this check is very fast for empty WeakHashMap & can avoid creating a HashIterator
-        if (attacked.isEmpty())
+        if (attacked.isEmpty()) {
+            tickTask.disarm();
             return;
+        }
 
         attacked.forEach((target, damage) -> {
             if (target.isDead())
@@ -105,6 +116,7 @@ public class PlayerKillNotifier extends BaseNotifier {
         });
 
         attacked.clear();
+        tickTask.disarm();
     }
 
     private void handleKill(Player target, int myLastDamage) {
@@ -6,14 +6,17 @@ import dinkplugin.message.templating.Evaluable;
 import dinkplugin.message.templating.Replacements;
 import dinkplugin.message.templating.Template;
 import dinkplugin.message.templating.impl.JoiningReplacement;
+import dinkplugin.util.TickTask;
 import dinkplugin.util.Utils;
 import dinkplugin.notifiers.data.SlayerNotificationData;
+import lombok.Getter;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
 import javax.inject.Singleton;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -28,9 +31,19 @@ public class SlayerNotifier extends BaseNotifier {
     private static final Pattern SLAYER_COMPLETE_REGEX = Pattern.compile("You've completed (?:at least )?(?<taskCount>[\\d,]+) (?:Wilderness |Mortimer )?tasks?(?: and received (?<points>[\\d,]+) points, giving you a total of [\\d,]+|\\.You'll be eligible to earn reward points if you complete tasks from a more advanced Slayer Master\\.| and reached the maximum amount of Slayer points \\((?<points2>[\\d,]+)\\))?");
     private static final Pattern TASK_MONSTER_REGEX = Pattern.compile("^(?<count>\\d*)\\s*(?<monster>.+)$");
 
+    public static final List<String> GAME_MESSAGE_KEYWORDS = List.of(
+        "Slayer XP for completing your boss task against", "You have completed your task! ", "You've completed "
+    );
+
     private final AtomicReference<String> slayerTask = new AtomicReference<>("");
     private final AtomicInteger badTicks = new AtomicInteger(); // used to prevent notifs from using stale data
 
+    /**
+     * Armed while a slayer task has been parsed from chat, but the points message has not yet arrived.
+     */
+    @Getter
+    private final TickTask tickTask = new TickTask("SlayerNotifier", this::onTick, false);
+
     @Override
     public boolean isEnabled() {
         return config.notifySlayer() && super.isEnabled();
@@ -48,6 +61,7 @@ public class SlayerNotifier extends BaseNotifier {
                 if (bossMatcher.find()) {
                     String name = bossMatcher.group("name");
                     this.slayerTask.set(name.endsWith(" boss") ? name.substring(0, name.length() - " boss".length()) : name);
+                    tickTask.arm();
                     return;
                 }
             }
@@ -60,6 +74,7 @@ public class SlayerNotifier extends BaseNotifier {
                         return task;
                     return String.format("%s %s", task.substring(0, task.indexOf(' ')), old);
                 });
+                tickTask.arm();
                 return;
             }
 
@@ -94,6 +109,9 @@ public class SlayerNotifier extends BaseNotifier {
         // Clear data if 2 ticks pass with only partial parsing
         if (badTicks.get() > 1)
             reset();
+
+        if (slayerTask.get().isEmpty())
+            tickTask.disarm();
     }
 
     private void handleNotify(String slayerPoints, String slayerCompleted) {
@@ -14,9 +14,14 @@ import net.runelite.api.gameval.InterfaceID;
 import net.runelite.api.widgets.Widget;
 
 import java.time.Duration;
+import java.util.List;
 
 @Slf4j
 public class SpeedrunNotifier extends BaseNotifier {
+    private static final String DURATION_PREFIX = "Speedrun duration: ";
+
+    public static final List<String> GAME_MESSAGE_KEYWORDS = List.of(DURATION_PREFIX);
+
     private boolean isPersonalBest = false;
 
     @Override
@@ -79,7 +84,7 @@ public class SpeedrunNotifier extends BaseNotifier {
             return;
         }
 
-        if (chatMessage.startsWith("Speedrun duration: ")) {
+        if (chatMessage.startsWith(DURATION_PREFIX)) {
             isPersonalBest = chatMessage.endsWith(" (new personal best)");
         }
     }
@@ -11,12 +11,14 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.ItemComposition;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.game.ItemVariationMapping;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -24,12 +26,38 @@ public abstract class AbstractRarityService {
 
     protected final Gson gson;
     protected final ItemManager itemManager;
-    protected final Map<String, Collection<RareDrop>> dropsBySourceName;
+    protected final Map<String, DropIndex> dropsBySourceName;
+
+    /**
+     * Item ids that are considered equivalent for drop rate purposes, by canonical (unnoted) item id.
+     */
+    private final Map<Integer, int[]> variantsByCanonicalId = new ConcurrentHashMap<>();
+
+    /**
+     * Drop rates in binary form, which are decoded into {@link #dropsBySourceName} on first lookup.
+     * Null if the drop rates were read from json (which are eagerly indexed instead).
+     */
+    @Nullable
+    private final PackedDropTable packed;
 
     AbstractRarityService(String resourceName, int expectedSize, Gson gson, ItemManager itemManager) {
         this.gson = gson;
         this.itemManager = itemManager;
+
+        if (resourceName.endsWith(".bin")) {
+            this.dropsBySourceName = new ConcurrentHashMap<>();
+            PackedDropTable table = null;
+            try (InputStream is = getClass().getResourceAsStream(resourceName)) {
+                table = PackedDropTable.read(Objects.requireNonNull(is));
+            } catch (Exception e) {
+                log.error("Failed to read monster drop rates", e);
+            }
+            this.packed = table;
+            return;
+        }
+
         this.dropsBySourceName = new HashMap<>(expectedSize);
+        this.packed = null;
 
         Map<String, List<RawDrop>> raw;
         try (InputStream is = getClass().getResourceAsStream(resourceName);
@@ -41,32 +69,84 @@ public abstract class AbstractRarityService {
         }
 
         raw.forEach((sourceName, rawDrops) -> {
-            ArrayList<RareDrop> drops = rawDrops.stream()
+            List<RareDrop> drops = rawDrops.stream()
                 .map(RawDrop::transform)
                 .flatMap(Collection::stream)
-                .collect(Collectors.toCollection(ArrayList::new));
-            drops.trimToSize();
-            dropsBySourceName.put(sourceName, drops);
+                .collect(Collectors.toList());
+            dropsBySourceName.put(sourceName, DropIndex.of(drops));
         });
     }
 
     public OptionalDouble getRarity(String sourceName, int itemId, int quantity) {
+        DropIndex index = getIndex(sourceName);
+        if (index == null) return OptionalDouble.empty();
+
+        double sum = index.getProbability(itemId, quantity);
+        boolean found = !Double.isNaN(sum);
+        if (!found) sum = 0;
+
+        for (int id : getVariants(itemId)) {
+            if (id == itemId) continue;
+            double probability = index.getProbability(id, quantity);
+            if (!Double.isNaN(probability)) {
+                sum += probability;
+                found = true;
+            }
+        }
+        return found ? OptionalDouble.of(sum) : OptionalDouble.empty();
+    }
+
+    @Nullable
+    private DropIndex getIndex(String sourceName) {
+        DropIndex index = dropsBySourceName.get(sourceName);
+        if (index != null || packed == null) return index;
+
+        List<RareDrop> drops = packed.decode(sourceName);
+        if (drops == null) return null;
+        return dropsBySourceName.computeIfAbsent(sourceName, k -> DropIndex.of(drops));
+    }
+
+    /**
+     * @param itemId the (possibly noted) item id
+     * @return the variations of the item that share its name
+     */
+    private int[] getVariants(int itemId) {
         ItemComposition composition = itemId >= 0 ? itemManager.getItemComposition(itemId) : null;
         int canonical = composition != null && composition.getNote() != -1 ? composition.getLinkedNoteId() : itemId;
+        int[] cached = variantsByCanonicalId.get(canonical);
+        if (cached != null) return cached;
+
         String itemName = composition != null ? composition.getMembersName() : "";
-        Collection<Integer> variants = new HashSet<>(
-            ItemVariationMapping.getVariations(ItemVariationMapping.map(canonical))
-        );
-        return dropsBySourceName.getOrDefault(sourceName, Collections.emptyList())
+        int[] variants = ItemVariationMapping.getVariations(ItemVariationMapping.map(canonical))
             .stream()
-            .filter(drop -> drop.getMinQuantity() <= quantity && quantity <= drop.getMaxQuantity())
-            .filter(drop -> {
-                int id = drop.getItemId();
-                if (id == itemId) return true;
-                return variants.contains(id) && itemName.equals(itemManager.getItemComposition(id).getMembersName());
-            })
-            .mapToDouble(RareDrop::getProbability)
-            .reduce(Double::sum);
+            .distinct()
+            .filter(id -> id == canonical || itemName.equals(itemManager.getItemComposition(id).getMembersName()))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        variantsByCanonicalId.put(canonical, variants);
+        return variants;
+    }
+
+    /**
+     * Converts a drop table entry into the probability of each possible quantity range.
+     *
+     * @param itemId      the item id
+     * @param rounds      the number of times the drop is rolled
+     * @param denominator the inverse of the probability of a single roll
+     * @param min         the minimum quantity dropped by a single successful roll
+     * @param max         the maximum quantity dropped by a single successful roll
+     * @param out         the collection to add the drops to
+     */
+    static void expand(int itemId, int rounds, double denominator, int min, int max, Collection<RareDrop> out) {
+        double prob = 1 / denominator;
+        if (rounds == 1) {
+            out.add(new RareDrop(itemId, min, max, prob));
+            return;
+        }
+        for (int successCount = 1; successCount <= rounds; successCount++) {
+            double density = MathUtils.binomialProbability(prob, rounds, successCount);
+            out.add(new RareDrop(itemId, min * successCount, max * successCount, density));
+        }
     }
 
     @Value
@@ -88,19 +168,10 @@ public abstract class AbstractRarityService {
         private @SerializedName("n") Integer quantMax;
 
         Collection<RareDrop> transform() {
-            int rounds = rolls != null ? rolls : 1;
             int min = quantMin != null ? quantMin : quantity;
             int max = quantMax != null ? quantMax : quantity;
-            double prob = 1 / denominator;
-
-            if (rounds == 1) {
-                return List.of(new RareDrop(itemId, min, max, prob));
-            }
-            List<RareDrop> drops = new ArrayList<>(rounds);
-            for (int successCount = 1; successCount <= rounds; successCount++) {
-                double density = MathUtils.binomialProbability(prob, rounds, successCount);
-                drops.add(new RareDrop(itemId, min * successCount, max * successCount, density));
-            }
+            List<RareDrop> drops = new ArrayList<>(rolls != null ? rolls : 1);
+            expand(itemId, rolls != null ? rolls : 1, denominator, min, max, drops);
             return drops;
         }
     }
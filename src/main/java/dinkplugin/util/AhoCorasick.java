@@ -0,0 +1,202 @@
+package dinkplugin.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton that finds all occurrences of a set of literals in a single pass over the text.
+ * <p>
+ * Characters are compared after {@link #fold(char)}, which mirrors {@link java.util.regex.Pattern#CASE_INSENSITIVE}
+ * (without {@link java.util.regex.Pattern#UNICODE_CASE}): only US-ASCII letters are case-insensitive.
+ */
+public final class AhoCorasick {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    /**
+     * The outgoing edge labels of each node, in ascending order.
+     */
+    private final char[][] labels;
+
+    /**
+     * The destination of each outgoing edge, parallel to {@link #labels}.
+     */
+    private final int[][] targets;
+
+    /**
+     * The longest proper suffix of each node that is also a node.
+     */
+    private final int[] fail;
+
+    /**
+     * The literal that ends at each node, or {@link #NONE}.
+     */
+    private final int[] output;
+
+    /**
+     * The nearest node along the failure chain that has an output, or {@link #NONE}.
+     */
+    private final int[] dictionary;
+
+    private final int[] lengths;
+
+    private AhoCorasick(char[][] labels, int[][] targets, int[] fail, int[] output, int[] dictionary, int[] lengths) {
+        this.labels = labels;
+        this.targets = targets;
+        this.fail = fail;
+        this.output = output;
+        this.dictionary = dictionary;
+        this.lengths = lengths;
+    }
+
+    /**
+     * @return the number of literals recognized by this automaton
+     */
+    public int size() {
+        return lengths.length;
+    }
+
+    /**
+     * @param literal the index of the literal, in the order passed to {@link #of(List)}
+     * @return the length of the literal
+     */
+    public int length(int literal) {
+        return lengths[literal];
+    }
+
+    /**
+     * Reports every occurrence of every literal in the text, in order of their end index.
+     *
+     * @param text     the text to scan
+     * @param consumer receives each occurrence; scanning stops early once it returns false
+     */
+    public void scan(@NotNull CharSequence text, @NotNull MatchConsumer consumer) {
+        int state = ROOT;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = fold(text.charAt(i));
+            int next;
+            while ((next = step(state, c)) == NONE && state != ROOT) {
+                state = fail[state];
+            }
+            state = next == NONE ? ROOT : next;
+
+            for (int node = output[state] != NONE ? state : dictionary[state]; node != NONE; node = dictionary[node]) {
+                if (!consumer.accept(output[node], i + 1)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private int step(int state, char c) {
+        char[] edges = labels[state];
+        int i = Arrays.binarySearch(edges, c);
+        return i >= 0 ? targets[state][i] : NONE;
+    }
+
+    /**
+     * @param literals distinct (after folding), non-empty strings
+     * @return the automaton that recognizes the literals
+     * @throws IllegalArgumentException if a literal is empty or a duplicate
+     */
+    public static AhoCorasick of(@NotNull List<String> literals) {
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        trie.add(new HashMap<>());
+        outputs.add(NONE);
+
+        int[] lengths = new int[literals.size()];
+        for (int id = 0; id < literals.size(); id++) {
+            String literal = literals.get(id);
+            if (literal.isEmpty()) throw new IllegalArgumentException("Literals must be non-empty");
+            lengths[id] = literal.length();
+
+            int node = ROOT;
+            for (int i = 0; i < literal.length(); i++) {
+                char c = fold(literal.charAt(i));
+                Integer child = trie.get(node).get(c);
+                if (child == null) {
+                    child = trie.size();
+                    trie.add(new HashMap<>());
+                    outputs.add(NONE);
+                    trie.get(node).put(c, child);
+                }
+                node = child;
+            }
+            if (outputs.get(node) != NONE) throw new IllegalArgumentException("Duplicate literal: " + literal);
+            outputs.set(node, id);
+        }
+
+        int n = trie.size();
+        char[][] labels = new char[n][];
+        int[][] targets = new int[n][];
+        int[] output = new int[n];
+        for (int node = 0; node < n; node++) {
+            Map<Character, Integer> children = trie.get(node);
+            char[] keys = new char[children.size()];
+            int k = 0;
+            for (char c : children.keySet()) keys[k++] = c;
+            Arrays.sort(keys);
+
+            int[] dest = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) dest[i] = children.get(keys[i]);
+
+            labels[node] = keys;
+            targets[node] = dest;
+            output[node] = outputs.get(node);
+        }
+
+        // breadth-first traversal, so the failure link of each node is computed before its children
+        int[] fail = new int[n];
+        int[] dictionary = new int[n];
+        dictionary[ROOT] = NONE;
+        Queue<Integer> queue = new ArrayDeque<>();
+        queue.add(ROOT);
+        AhoCorasick automaton = new AhoCorasick(labels, targets, fail, output, dictionary, lengths);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < labels[node].length; i++) {
+                char c = labels[node][i];
+                int child = targets[node][i];
+
+                int f = NONE;
+                if (node != ROOT) {
+                    int state = fail[node];
+                    while ((f = automaton.step(state, c)) == NONE && state != ROOT) {
+                        state = fail[state];
+                    }
+                }
+                fail[child] = f == NONE ? ROOT : f;
+                dictionary[child] = output[fail[child]] != NONE ? fail[child] : dictionary[fail[child]];
+                queue.add(child);
+            }
+        }
+        return automaton;
+    }
+
+    /**
+     * @param c the character to fold
+     * @return the lowercase form of US-ASCII letters, or the input character otherwise
+     */
+    public static char fold(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    @FunctionalInterface
+    public interface MatchConsumer {
+        /**
+         * @param literal      the index of the literal that was found
+         * @param endExclusive the index just beyond the end of the occurrence
+         * @return whether scanning should continue
+         */
+        boolean accept(int literal, int endExclusive);
+    }
+}
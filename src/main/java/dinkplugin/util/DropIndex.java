@@ -0,0 +1,136 @@
+package dinkplugin.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The drops of a single source, indexed by item id and then by quantity.
+ * <p>
+ * For each item, the (possibly overlapping) quantity ranges are swept into disjoint segments,
+ * each holding the summed probability of the drops that cover it.
+ * Lookups are therefore two binary searches, with no allocation.
+ */
+final class DropIndex {
+
+    /**
+     * Distinct item ids, in ascending order.
+     */
+    private final int[] itemIds;
+
+    /**
+     * The offset of each item's segments within {@link #bounds} and {@link #probabilities};
+     * the segments of {@code itemIds[i]} span {@code [offsets[i], offsets[i + 1])}.
+     */
+    private final int[] offsets;
+
+    /**
+     * The minimum quantity (inclusive) of each segment; segments span until the next bound of the same item.
+     */
+    private final int[] bounds;
+
+    /**
+     * The summed probability of each segment, or {@link Double#NaN} if no drop covers the segment.
+     */
+    private final double[] probabilities;
+
+    private DropIndex(int[] itemIds, int[] offsets, int[] bounds, double[] probabilities) {
+        this.itemIds = itemIds;
+        this.offsets = offsets;
+        this.bounds = bounds;
+        this.probabilities = probabilities;
+    }
+
+    /**
+     * @param itemId   the item id
+     * @param quantity the dropped quantity
+     * @return the summed probability of the matching drops, or {@link Double#NaN} if no drop matches
+     */
+    double getProbability(int itemId, int quantity) {
+        int i = Arrays.binarySearch(itemIds, itemId);
+        if (i < 0) return Double.NaN;
+
+        int from = offsets[i], to = offsets[i + 1];
+        int j = Arrays.binarySearch(bounds, from, to, quantity);
+        if (j < 0) {
+            j = -j - 2; // the greatest bound below the quantity
+            if (j < from) return Double.NaN;
+        }
+        return probabilities[j];
+    }
+
+    static DropIndex of(@NotNull Collection<AbstractRarityService.RareDrop> drops) {
+        List<AbstractRarityService.RareDrop> sorted = new ArrayList<>(drops);
+        sorted.sort(Comparator.comparingInt(AbstractRarityService.RareDrop::getItemId));
+
+        int n = sorted.size();
+        int[] itemIds = new int[n];
+        int[] offsets = new int[n + 1];
+        int[] bounds = new int[2 * n];
+        double[] probabilities = new double[2 * n];
+
+        int items = 0, segments = 0;
+        for (int start = 0; start < n; ) {
+            int itemId = sorted.get(start).getItemId();
+            int end = start;
+            while (end < n && sorted.get(end).getItemId() == itemId) end++;
+
+            itemIds[items] = itemId;
+            offsets[items++] = segments;
+            segments = sweep(sorted.subList(start, end), bounds, probabilities, segments);
+            start = end;
+        }
+        offsets[items] = segments;
+
+        return new DropIndex(
+            Arrays.copyOf(itemIds, items),
+            Arrays.copyOf(offsets, items + 1),
+            Arrays.copyOf(bounds, segments),
+            Arrays.copyOf(probabilities, segments)
+        );
+    }
+
+    /**
+     * Converts the quantity ranges of a single item into disjoint segments.
+     * <p>
+     * Probabilities are summed in the original drop order, so lookups match a linear scan exactly.
+     *
+     * @return the updated number of segments
+     */
+    private static int sweep(List<AbstractRarityService.RareDrop> drops, int[] bounds, double[] probabilities, int segments) {
+        int m = drops.size();
+
+        // segments begin at each min quantity, and just beyond each max quantity
+        long[] edges = new long[2 * m];
+        for (int k = 0; k < m; k++) {
+            AbstractRarityService.RareDrop drop = drops.get(k);
+            edges[2 * k] = drop.getMinQuantity();
+            edges[2 * k + 1] = (long) drop.getMaxQuantity() + 1;
+        }
+        Arrays.sort(edges);
+
+        long prev = Long.MIN_VALUE;
+        for (long edge : edges) {
+            if (edge == prev || edge > Integer.MAX_VALUE) continue;
+            prev = edge;
+
+            double sum = 0;
+            boolean covered = false;
+            for (AbstractRarityService.RareDrop drop : drops) {
+                if (drop.getMinQuantity() <= edge && edge <= drop.getMaxQuantity()) {
+                    sum += drop.getProbability();
+                    covered = true;
+                }
+            }
+
+            bounds[segments] = (int) edge;
+            probabilities[segments] = covered ? sum : Double.NaN;
+            segments++;
+        }
+        return segments;
+    }
+}
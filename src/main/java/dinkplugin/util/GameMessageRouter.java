@@ -0,0 +1,121 @@
+package dinkplugin.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Dispatches game messages to the consumers whose keywords occur in the message, in the order they were registered.
+ * <p>
+ * The keywords of every consumer are compiled into one {@link AhoCorasick} automaton,
+ * so the common case (a message that no consumer cares about) costs a single scan, rather than a regex per consumer.
+ * Keywords are compared case-insensitively (for US-ASCII letters), so a consumer may be offered messages
+ * that it then ignores, but never misses a message that contains one of its keywords.
+ */
+public final class GameMessageRouter {
+
+    private static final int MAX_CONSUMERS = Long.SIZE;
+
+    private final AhoCorasick automaton;
+    private final Consumer<String>[] consumers;
+
+    /**
+     * The bitset of the consumers that registered each literal.
+     */
+    private final long[] consumersByLiteral;
+
+    private final long allConsumers;
+
+    private GameMessageRouter(AhoCorasick automaton, Consumer<String>[] consumers, long[] consumersByLiteral) {
+        this.automaton = automaton;
+        this.consumers = consumers;
+        this.consumersByLiteral = consumersByLiteral;
+        this.allConsumers = consumers.length == MAX_CONSUMERS ? -1L : (1L << consumers.length) - 1;
+    }
+
+    /**
+     * @param message the sanitized game message
+     */
+    public void route(@NotNull String message) {
+        long matched = match(message);
+        for (int i = 0; matched != 0; i++, matched >>>= 1) {
+            if ((matched & 1) != 0) {
+                consumers[i].accept(message);
+            }
+        }
+    }
+
+    /**
+     * @param message the sanitized game message
+     * @return the bitset of the consumers (by registration index) that would be offered the message
+     */
+    long match(@NotNull String message) {
+        long[] matched = { 0L };
+        automaton.scan(message, (literal, end) -> {
+            matched[0] |= consumersByLiteral[literal];
+            return matched[0] != allConsumers;
+        });
+        return matched[0];
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private final List<Consumer<String>> consumers = new ArrayList<>();
+
+        /**
+         * Consumers that share a keyword are indexed under the same (folded) literal.
+         */
+        private final Map<String, Long> consumersByLiteral = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Registers a consumer, which is only offered the game messages that contain at least one of its keywords.
+         * <p>
+         * Thus, every message that the consumer can act upon must contain one of the keywords verbatim
+         * (modulo the case of US-ASCII letters); otherwise, the message is silently never offered.
+         * Whenever a consumer starts matching another message (e.g., a new regex or a changed prefix),
+         * its keywords must be updated alongside, and the test of the consumer should route a sample of the message.
+         *
+         * @param keywords literals, at least one of which occurs in every message the consumer can act upon
+         * @param consumer the handler of matching messages
+         * @return this builder
+         * @throws IllegalArgumentException if no keywords are specified or too many consumers are registered
+         */
+        public Builder route(@NotNull Collection<String> keywords, @NotNull Consumer<String> consumer) {
+            if (keywords.isEmpty()) throw new IllegalArgumentException("Consumers must specify at least one keyword");
+            if (consumers.size() >= MAX_CONSUMERS) throw new IllegalArgumentException("Too many consumers");
+
+            long bit = 1L << consumers.size();
+            consumers.add(consumer);
+            for (String keyword : keywords) {
+                consumersByLiteral.merge(fold(keyword), bit, (a, b) -> a | b);
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public GameMessageRouter build() {
+            List<String> literals = new ArrayList<>(consumersByLiteral.keySet());
+            long[] owners = consumersByLiteral.values().stream().mapToLong(Long::longValue).toArray();
+            return new GameMessageRouter(AhoCorasick.of(literals), consumers.toArray(new Consumer[0]), owners);
+        }
+
+        private static String fold(String keyword) {
+            char[] chars = keyword.toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = AhoCorasick.fold(chars[i]);
+            }
+            return new String(chars);
+        }
+    }
+}
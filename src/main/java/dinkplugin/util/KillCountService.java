@@ -35,6 +35,7 @@ import javax.inject.Singleton;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.OptionalDouble;
 import java.util.Set;
@@ -58,6 +59,10 @@ public class KillCountService {
     private static final String RIFT_PREFIX = "Amount of rifts you have closed: ";
     private static final String HERBIBOAR_PREFIX = "Your herbiboar harvest count is: ";
 
+    public static final List<String> GAME_MESSAGE_KEYWORDS = List.of(
+        RIFT_PREFIX, HERBIBOAR_PREFIX, "count is", " Treasure Trail"
+    );
+
     public static final Set<Integer> SPECIAL_LOOT_NPC_IDS = Set.of(
         NpcID.WHISPERER, NpcID.WHISPERER_MELEE, NpcID.WHISPERER_QUEST, NpcID.WHISPERER_MELEE_QUEST,
         NpcID.ARAXXOR, NpcID.ARAXXOR_DEAD, NpcID.RT_FIRE_QUEEN_INACTIVE, NpcID.RT_ICE_KING_INACTIVE
@@ -0,0 +1,100 @@
+package dinkplugin.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations (in nanoseconds), with log-linear buckets (in the style of HdrHistogram).
+ * <p>
+ * Each power of two is split into {@link #SUB_BUCKETS} linear buckets, so percentiles are reported
+ * within ~6% of the true value, across the full range of a {@code long}, with a fixed footprint of under 8 KiB.
+ * Recording a value is a handful of atomic increments, so it is safe to use on the client thread.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Values below {@code 2 * SUB_BUCKETS} are recorded exactly; each larger power of two adds {@link #SUB_BUCKETS} buckets.
+     */
+    private static final int BUCKETS = (Long.SIZE - 2 - SUB_BUCKET_BITS) * SUB_BUCKETS + 2 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * @param nanos the duration to record (negative values are treated as zero)
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        counts.incrementAndGet(bucket(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Records the time elapsed since the specified start.
+     *
+     * @param startNanos the value of {@link System#nanoTime()} at the start of the operation
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return total.sum();
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * @param percentile the desired percentile, in [0, 100]
+     * @return an upper bound of the duration at the specified percentile, or zero if nothing has been recorded
+     */
+    public long getPercentile(double percentile) {
+        long n = getCount();
+        if (n <= 0) return 0L;
+
+        long rank = Math.max((long) Math.ceil(n * Math.min(Math.max(percentile, 0.0), 100.0) / 100.0), 1L);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos(); // concurrent writers updated the total after our scan
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d, p50=%d us, p99=%d us, max=%d us, total=%d ms", getCount(),
+            TimeUnit.NANOSECONDS.toMicros(getPercentile(50)), TimeUnit.NANOSECONDS.toMicros(getPercentile(99)),
+            TimeUnit.NANOSECONDS.toMicros(getMaxNanos()), TimeUnit.NANOSECONDS.toMillis(getTotalNanos()));
+    }
+
+    static int bucket(long value) {
+        if (value < 2 * SUB_BUCKETS) return (int) value;
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        long sub = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
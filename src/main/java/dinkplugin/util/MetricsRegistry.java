@@ -0,0 +1,114 @@
+package dinkplugin.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free counters, gauges, and {@link LatencyHistogram}s for the hot paths of the plugin
+ * (i.e., event handlers, template evaluation, screenshots, serialization, and webhook requests).
+ * <p>
+ * Metrics are created upon first use and retained for the lifetime of the client,
+ * so callers on hot paths should hold onto the returned instances rather than looking them up on each event.
+ * The metrics can be viewed via the {@code ::DinkStats} chat command.
+ */
+@Singleton
+public class MetricsRegistry {
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * @param name the name of the counter
+     * @return the counter with the specified name
+     */
+    public LongAdder counter(@NotNull String name) {
+        return counters.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    /**
+     * @param name the name of the counter to increment
+     */
+    public void increment(@NotNull String name) {
+        counter(name).increment();
+    }
+
+    /**
+     * @param name  the name of the gauge
+     * @param value supplies the current value of the gauge when a report is generated
+     */
+    public void gauge(@NotNull String name, @NotNull LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * @param name the name of the histogram
+     * @return the histogram with the specified name
+     */
+    public LatencyHistogram histogram(@NotNull String name) {
+        return histograms.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    /**
+     * Resolves a histogram for each constant of an enum upfront,
+     * so that hot paths need not build names or look up histograms on each event.
+     *
+     * @param prefix the common prefix of the histogram names
+     * @param type   the enum class
+     * @param suffix the name of each constant within the histogram name
+     * @return the histogram for each constant
+     */
+    public <E extends Enum<E>> Map<E, LatencyHistogram> histograms(@NotNull String prefix, @NotNull Class<E> type, @NotNull Function<E, String> suffix) {
+        Map<E, LatencyHistogram> map = new EnumMap<>(type);
+        for (E constant : type.getEnumConstants()) {
+            map.put(constant, histogram(prefix + suffix.apply(constant)));
+        }
+        return map;
+    }
+
+    /**
+     * @param name     the name of the histogram that records the duration of each invocation
+     * @param consumer the handler to instrument
+     * @return the instrumented handler
+     */
+    public <T> Consumer<T> timed(@NotNull String name, @NotNull Consumer<T> consumer) {
+        LatencyHistogram histogram = histogram(name);
+        return value -> {
+            long start = System.nanoTime();
+            try {
+                consumer.accept(value);
+            } finally {
+                histogram.recordSince(start);
+            }
+        };
+    }
+
+    /**
+     * @return a line for each gauge and counter (by name), followed by each non-empty histogram (in descending order of total time)
+     */
+    public List<String> report() {
+        List<String> lines = new ArrayList<>();
+        gauges.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(e -> lines.add(e.getKey() + ": " + e.getValue().getAsLong()));
+        counters.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(e -> lines.add(e.getKey() + ": " + e.getValue().sum()));
+        histograms.entrySet().stream()
+            .filter(e -> e.getValue().getCount() > 0)
+            .sorted(Comparator.comparingLong((Map.Entry<String, LatencyHistogram> e) -> e.getValue().getTotalNanos()).reversed())
+            .forEach(e -> lines.add(e.getKey() + ": " + e.getValue()));
+        return lines;
+    }
+}
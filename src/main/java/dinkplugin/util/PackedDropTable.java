@@ -0,0 +1,90 @@
+package dinkplugin.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of the drop rates that is generated from {@code npc_drops.json} at build time.
+ * <p>
+ * Layout (big-endian):
+ * <ol>
+ *     <li>{@link #MAGIC}, {@link #VERSION}, and the number of sources</li>
+ *     <li>String table: the name of each source, in modified UTF-8 (see {@link java.io.DataOutput#writeUTF(String)})</li>
+ *     <li>Offset index: the first record of each source, followed by the total number of records</li>
+ *     <li>Records of {@link #RECORD_SIZE} bytes: item id (int), denominator (float), min quantity (int), max quantity (int), rolls (byte)</li>
+ * </ol>
+ * Only the string table and offset index are decoded eagerly; each source's records are decoded on demand.
+ */
+final class PackedDropTable {
+
+    static final int MAGIC = 0x44524F50; // "DROP"
+    static final int VERSION = 1;
+    static final int RECORD_SIZE = 17;
+
+    private final Map<String, Integer> indexByName;
+    private final int[] offsets;
+    private final ByteBuffer records;
+
+    private PackedDropTable(Map<String, Integer> indexByName, int[] offsets, ByteBuffer records) {
+        this.indexByName = indexByName;
+        this.offsets = offsets;
+        this.records = records;
+    }
+
+    /**
+     * @param sourceName the name of the npc or other loot source
+     * @return the drops of the source, or null if the source is unknown
+     */
+    @Nullable
+    List<AbstractRarityService.RareDrop> decode(@NotNull String sourceName) {
+        Integer index = indexByName.get(sourceName);
+        if (index == null) return null;
+
+        int from = offsets[index], to = offsets[index + 1];
+        List<AbstractRarityService.RareDrop> drops = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            int pos = i * RECORD_SIZE;
+            AbstractRarityService.expand(
+                records.getInt(pos),
+                records.get(pos + 16),
+                records.getFloat(pos + 4),
+                records.getInt(pos + 8),
+                records.getInt(pos + 12),
+                drops
+            );
+        }
+        return drops;
+    }
+
+    static PackedDropTable read(@NotNull InputStream is) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(is));
+        if (in.readInt() != MAGIC) throw new IOException("Unrecognized drop table format");
+        int version = in.readInt();
+        if (version != VERSION) throw new IOException("Unsupported drop table version: " + version);
+
+        int n = in.readInt();
+        Map<String, Integer> indexByName = new HashMap<>(n * 4 / 3 + 1);
+        for (int i = 0; i < n; i++) {
+            indexByName.put(in.readUTF(), i);
+        }
+
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i <= n; i++) {
+            offsets[i] = in.readInt();
+        }
+
+        byte[] records = new byte[Math.multiplyExact(offsets[n], RECORD_SIZE)];
+        in.readFully(records);
+        return new PackedDropTable(indexByName, offsets, ByteBuffer.wrap(records).asReadOnlyBuffer());
+    }
+}
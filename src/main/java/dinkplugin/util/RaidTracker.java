@@ -43,6 +43,12 @@ public class RaidTracker {
 
     private boolean checkPartyMembers;
 
+    /**
+     * Armed while {@link #checkPartyMembers} is set.
+     */
+    @Getter
+    private final TickTask tickTask = new TickTask("RaidTracker", this::onTick, false);
+
     public void onVarbit(VarbitChanged e) {
         if (e.getValue() <= 0) {
             return;
@@ -58,6 +64,7 @@ public class RaidTracker {
             this.damageDone = e.getValue();
         } else if (e.getVarbitId() >= PARTY_VARBS[0] && e.getVarbitId() <= PARTY_VARBS[PARTY_VARBS.length - 1]) {
             this.checkPartyMembers = true;
+            tickTask.arm();
         } else if (e.getVarbitId() == VarbitID.RAIDS_CLIENT_PARTYSIZE) {
             this.teamSize = e.getValue();
         } else if (e.getVarpId() == VarPlayerID.RAIDS_PLAYERSCORE) {
@@ -66,6 +73,7 @@ public class RaidTracker {
     }
 
     public void onTick() {
+        tickTask.disarm();
         if (this.checkPartyMembers) {
             this.checkPartyMembers = false;
 
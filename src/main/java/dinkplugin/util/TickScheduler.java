@@ -0,0 +1,100 @@
+package dinkplugin.util;
+
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the armed {@link TickTask}s on each game tick, in the order they were registered.
+ * <p>
+ * Armed tasks are tracked in a bitset, so idle tasks are never visited.
+ * The time spent in each task is accumulated, to show what actually consumes the tick budget.
+ */
+@Singleton
+public class TickScheduler {
+
+    private static final int MAX_TASKS = Long.SIZE;
+
+    private final List<TickTask> tasks = new ArrayList<>(MAX_TASKS);
+    private final AtomicLong armed = new AtomicLong();
+
+    /**
+     * @param task the task to run on each tick while armed
+     * @return the registered task
+     * @throws IllegalStateException if too many tasks are registered
+     */
+    public synchronized TickTask register(@NotNull TickTask task) {
+        if (tasks.size() >= MAX_TASKS) throw new IllegalStateException("Too many tick tasks");
+        int index = tasks.size();
+        tasks.add(task);
+        task.register(this, index);
+        return task;
+    }
+
+    /**
+     * @param name   the name that tick costs are reported under
+     * @param action the work to perform on every tick
+     * @return the registered (and armed) task
+     */
+    public TickTask register(@NotNull String name, @NotNull Runnable action) {
+        return register(new TickTask(name, action, true));
+    }
+
+    /**
+     * Invoked on the client thread for each game tick.
+     */
+    public void onTick() {
+        long mask = armed.get();
+        while (mask != 0) {
+            int i = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            tasks.get(i).tick();
+        }
+    }
+
+    /**
+     * @return the cost of each task, in descending order of total time
+     */
+    public synchronized List<TickCost> getCosts() {
+        List<TickCost> costs = new ArrayList<>(tasks.size());
+        for (TickTask task : tasks) {
+            costs.add(task.getCost());
+        }
+        costs.sort(Comparator.comparingLong(TickCost::getTotalNanos).reversed());
+        return costs;
+    }
+
+    boolean isArmed(int index) {
+        return (armed.get() & (1L << index)) != 0;
+    }
+
+    void setArmed(int index, boolean value) {
+        long bit = 1L << index;
+        if (value) {
+            armed.getAndUpdate(mask -> mask | bit);
+        } else {
+            armed.getAndUpdate(mask -> mask & ~bit);
+        }
+    }
+
+    @Value
+    public static class TickCost {
+        String name;
+        long runs;
+        long totalNanos;
+        long maxNanos;
+
+        @Override
+        public String toString() {
+            long avg = runs > 0 ? totalNanos / runs : 0;
+            return String.format("%s: %d runs, %d ms total, %d us avg, %d us max", name, runs,
+                TimeUnit.NANOSECONDS.toMillis(totalNanos), TimeUnit.NANOSECONDS.toMicros(avg), TimeUnit.NANOSECONDS.toMicros(maxNanos));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package dinkplugin.util;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Work that runs on the game tick, but only while armed.
+ * <p>
+ * Components arm their task when they have something pending (e.g., awaiting a follow-up chat message),
+ * and disarm it once idle, so that {@link TickScheduler} never visits them otherwise.
+ * A task may be armed before it is registered (i.e., in tests that drive {@code onTick} directly).
+ */
+public final class TickTask {
+
+    @Getter
+    private final String name;
+
+    private final Runnable action;
+
+    private volatile TickScheduler scheduler;
+    private int index = -1;
+
+    /**
+     * Whether the task is armed, while it is not yet registered with a scheduler.
+     */
+    private volatile boolean armed;
+
+    /**
+     * The number of ticks to skip before the next run.
+     */
+    private volatile int delay;
+
+    /**
+     * Whether the task disarms itself after its next run.
+     */
+    private volatile boolean once;
+
+    private volatile long runs;
+    private volatile long totalNanos;
+    private volatile long maxNanos;
+
+    /**
+     * @param name   the name that tick costs are reported under
+     * @param action the work to perform each tick while armed
+     * @param armed  whether the task is initially armed
+     */
+    public TickTask(@NotNull String name, @NotNull Runnable action, boolean armed) {
+        this.name = name;
+        this.action = action;
+        this.armed = armed;
+    }
+
+    /**
+     * Runs the task on every tick, until {@link #disarm()} is called.
+     */
+    public void arm() {
+        this.once = false;
+        this.delay = 0;
+        setArmed(true);
+    }
+
+    /**
+     * Runs the task once, after the specified number of ticks.
+     *
+     * @param ticks the number of ticks until the run, with 1 indicating the next tick
+     */
+    public void armIn(int ticks) {
+        this.once = true;
+        this.delay = Math.max(ticks - 1, 0);
+        setArmed(true);
+    }
+
+    /**
+     * Stops running the task until it is armed again.
+     */
+    public void disarm() {
+        setArmed(false);
+    }
+
+    public boolean isArmed() {
+        TickScheduler s = scheduler;
+        return s != null ? s.isArmed(index) : armed;
+    }
+
+    /**
+     * @return the cost of the task so far
+     */
+    public TickScheduler.TickCost getCost() {
+        return new TickScheduler.TickCost(name, runs, totalNanos, maxNanos);
+    }
+
+    void register(TickScheduler scheduler, int index) {
+        this.index = index;
+        this.scheduler = scheduler;
+        scheduler.setArmed(index, armed);
+    }
+
+    /**
+     * Invoked by {@link TickScheduler} on the client thread, while armed.
+     */
+    void tick() {
+        if (delay > 0) {
+            delay--;
+            return;
+        }
+        if (once) {
+            // disarm before running, so that the action can re-arm the task
+            once = false;
+            disarm();
+        }
+
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            runs++;
+            totalNanos += elapsed;
+            if (elapsed > maxNanos) maxNanos = elapsed;
+        }
+    }
+
+    private void setArmed(boolean armed) {
+        TickScheduler s = scheduler;
+        if (s != null) {
+            s.setArmed(index, armed);
+        } else {
+            this.armed = armed;
+        }
+    }
+}
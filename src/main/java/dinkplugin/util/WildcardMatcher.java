@@ -0,0 +1,274 @@
+package dinkplugin.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches text against a set of wildcard patterns in a single pass, with the same semantics as
+ * calling {@link java.util.regex.Matcher#find()} on each pattern produced by {@link Utils#regexify(String)}.
+ * <p>
+ * The literal segments of every pattern are compiled into one {@link AhoCorasick} automaton.
+ * Only the patterns whose literals all occur in the text are then verified,
+ * by checking the segment order, the anchors, and that no wildcard spans a line terminator.
+ */
+public final class WildcardMatcher {
+
+    public static final WildcardMatcher EMPTY = compile(List.of());
+
+    private final AhoCorasick automaton;
+    private final Compiled[] patterns;
+
+    /**
+     * The patterns that contain each literal.
+     */
+    private final int[][] patternsByLiteral;
+
+    /**
+     * Whether some pattern consists solely of wildcards (and thus matches any text).
+     */
+    private final boolean matchesAll;
+
+    private WildcardMatcher(AhoCorasick automaton, Compiled[] patterns, int[][] patternsByLiteral, boolean matchesAll) {
+        this.automaton = automaton;
+        this.patterns = patterns;
+        this.patternsByLiteral = patternsByLiteral;
+        this.matchesAll = matchesAll;
+    }
+
+    /**
+     * @return the number of patterns
+     */
+    public int size() {
+        return patterns.length + (matchesAll ? 1 : 0);
+    }
+
+    /**
+     * @param text the text to test
+     * @return whether any pattern is found in the text
+     */
+    public boolean matches(@NotNull String text) {
+        if (matchesAll) return true;
+        if (patterns.length == 0) return false;
+
+        int[] remaining = new int[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            remaining[i] = patterns[i].distinctLiterals;
+        }
+        boolean[] seen = new boolean[automaton.size()];
+        boolean[] candidate = new boolean[patterns.length];
+        boolean[] anyCandidate = { false };
+        automaton.scan(text, (literal, end) -> {
+            if (!seen[literal]) {
+                seen[literal] = true;
+                for (int p : patternsByLiteral[literal]) {
+                    if (--remaining[p] == 0) {
+                        candidate[p] = true;
+                        anyCandidate[0] = true;
+                    }
+                }
+            }
+            return true;
+        });
+        if (!anyCandidate[0]) return false;
+
+        char[] folded = new char[text.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = AhoCorasick.fold(text.charAt(i));
+        }
+        for (int p = 0; p < patterns.length; p++) {
+            if (candidate[p] && patterns[p].verify(folded)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param wildcardPatterns patterns where {@code *} matches any sequence of characters (excluding line terminators)
+     * @return the combined matcher
+     */
+    public static WildcardMatcher compile(@NotNull Collection<String> wildcardPatterns) {
+        Map<String, Integer> literalIds = new HashMap<>();
+        List<String> literals = new ArrayList<>();
+        List<List<Integer>> patternsByLiteral = new ArrayList<>();
+        List<Compiled> compiled = new ArrayList<>(wildcardPatterns.size());
+        boolean matchesAll = false;
+
+        for (String pattern : wildcardPatterns) {
+            Compiled c = parse(pattern);
+            if (c.segments.length == 0) {
+                matchesAll = true;
+                continue;
+            }
+
+            int index = compiled.size();
+            int distinct = 0;
+            for (char[] segment : c.segments) {
+                String literal = new String(segment);
+                Integer id = literalIds.get(literal);
+                if (id == null) {
+                    id = literals.size();
+                    literalIds.put(literal, id);
+                    literals.add(literal);
+                    patternsByLiteral.add(new ArrayList<>());
+                }
+                List<Integer> owners = patternsByLiteral.get(id);
+                if (owners.isEmpty() || owners.get(owners.size() - 1) != index) {
+                    owners.add(index);
+                    distinct++;
+                }
+            }
+            compiled.add(c.withDistinctLiterals(distinct));
+        }
+
+        int[][] owners = new int[patternsByLiteral.size()][];
+        for (int i = 0; i < owners.length; i++) {
+            owners[i] = patternsByLiteral.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new WildcardMatcher(AhoCorasick.of(literals), compiled.toArray(new Compiled[0]), owners, matchesAll);
+    }
+
+    /**
+     * Splits the pattern in the same manner as {@link Utils#regexify(String)}.
+     */
+    private static Compiled parse(String pattern) {
+        int len = pattern.length();
+        boolean anchoredStart = !pattern.startsWith("*");
+        int startIndex = anchoredStart ? 0 : 1;
+
+        List<char[]> segments = new ArrayList<>();
+        int i;
+        while ((i = pattern.indexOf('*', startIndex)) >= 0) {
+            addSegment(segments, pattern.substring(startIndex, i));
+            startIndex = i + 1;
+        }
+
+        boolean anchoredEnd = startIndex < len;
+        if (anchoredEnd) {
+            addSegment(segments, pattern.substring(startIndex));
+        }
+        return new Compiled(segments.toArray(new char[0][]), anchoredStart, anchoredEnd, 0);
+    }
+
+    private static void addSegment(List<char[]> segments, String section) {
+        // consecutive wildcards are equivalent to a single wildcard, so empty sections are dropped
+        if (section.isEmpty()) return;
+        char[] folded = new char[section.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = AhoCorasick.fold(section.charAt(i));
+        }
+        segments.add(folded);
+    }
+
+    private static final class Compiled {
+        private final char[][] segments;
+        private final boolean anchoredStart;
+        private final boolean anchoredEnd;
+        private final int distinctLiterals;
+
+        Compiled(char[][] segments, boolean anchoredStart, boolean anchoredEnd, int distinctLiterals) {
+            this.segments = segments;
+            this.anchoredStart = anchoredStart;
+            this.anchoredEnd = anchoredEnd;
+            this.distinctLiterals = distinctLiterals;
+        }
+
+        Compiled withDistinctLiterals(int distinctLiterals) {
+            return new Compiled(segments, anchoredStart, anchoredEnd, distinctLiterals);
+        }
+
+        boolean verify(char[] text) {
+            char[] first = segments[0];
+            if (anchoredStart) {
+                if (!regionMatches(text, 0, first)) return false;
+                if (segments.length == 1) return !anchoredEnd || isEnd(text, first.length);
+                return matchRest(text, first.length);
+            }
+
+            // the first segment may begin anywhere, but a later occurrence can avoid a line terminator
+            for (int at = indexOf(text, first, 0); at >= 0; at = indexOf(text, first, at + 1)) {
+                int end = at + first.length;
+                if (segments.length == 1 ? !anchoredEnd || isEnd(text, end) : matchRest(text, end)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Places segments[1..] after {@code pos}, each preceded by a wildcard.
+         */
+        private boolean matchRest(char[] text, int pos) {
+            int last = segments.length - 1;
+            int k = 1;
+            for (; k < last || (k == last && !anchoredEnd); k++) {
+                // the leftmost occurrence is optimal, since it leaves the shortest wildcard span
+                int at = indexOf(text, segments[k], pos);
+                if (at < 0 || hasTerminator(text, pos, at)) return false;
+                pos = at + segments[k].length;
+            }
+            if (k > last) return true;
+
+            // the final segment must end where '$' can match
+            char[] segment = segments[last];
+            int n = text.length;
+            for (int end = n; end >= n - 2 && end >= 0; end--) {
+                int start = end - segment.length;
+                if (start >= pos && isEnd(text, end) && regionMatches(text, start, segment) && !hasTerminator(text, pos, start)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Mirrors '$' without {@link java.util.regex.Pattern#MULTILINE}:
+     * the end of input, or just before a line terminator at the end of input.
+     */
+    private static boolean isEnd(char[] text, int i) {
+        int n = text.length;
+        if (i == n) return true;
+        if (i == n - 2) return text[i] == '\r' && text[i + 1] == '\n';
+        if (i == n - 1) {
+            char c = text[i];
+            if (c == '\n') return i == 0 || text[i - 1] != '\r';
+            return isTerminator(c);
+        }
+        return false;
+    }
+
+    /**
+     * @return whether the '.' in a wildcard would fail to match some character in the range
+     */
+    private static boolean hasTerminator(char[] text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (isTerminator(text[i])) return true;
+        }
+        return false;
+    }
+
+    private static boolean isTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static boolean regionMatches(char[] text, int offset, char[] segment) {
+        if (offset < 0 || offset + segment.length > text.length) return false;
+        for (int i = 0; i < segment.length; i++) {
+            if (text[offset + i] != segment[i]) return false;
+        }
+        return true;
+    }
+
+    private static int indexOf(char[] text, char[] segment, int from) {
+        for (int i = from, max = text.length - segment.length; i <= max; i++) {
+            if (regionMatches(text, i, segment)) return i;
+        }
+        return -1;
+    }
+}
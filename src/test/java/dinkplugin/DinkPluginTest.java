@@ -0,0 +1,138 @@
+package dinkplugin;
+
+import dinkplugin.message.DiscordMessageHandler;
+import dinkplugin.notifiers.ChatNotifier;
+import dinkplugin.notifiers.ClueNotifier;
+import dinkplugin.notifiers.CollectionNotifier;
+import dinkplugin.notifiers.DeathNotifier;
+import dinkplugin.notifiers.DiaryNotifier;
+import dinkplugin.notifiers.GroupStorageNotifier;
+import dinkplugin.notifiers.KillCountNotifier;
+import dinkplugin.notifiers.LeaguesNotifier;
+import dinkplugin.notifiers.LevelNotifier;
+import dinkplugin.notifiers.LootNotifier;
+import dinkplugin.notifiers.MetaNotifier;
+import dinkplugin.notifiers.PetNotifier;
+import dinkplugin.notifiers.SlayerNotifier;
+import dinkplugin.notifiers.SpeedrunNotifier;
+import dinkplugin.notifiers.TradeNotifier;
+import dinkplugin.util.AccountTypeTracker;
+import dinkplugin.util.TickScheduler;
+import dinkplugin.util.WorldTypeTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+class DinkPluginTest {
+
+    private final DinkPluginConfig config = Mockito.mock(DinkPluginConfig.class);
+
+    @Spy
+    private ConfigSnapshotHolder configSnapshot = new ConfigSnapshotHolder(config);
+
+    @Mock
+    private ScheduledExecutorService executor;
+
+    @Mock
+    private SettingsManager settingsManager;
+
+    @Mock
+    private VersionManager versionManager;
+
+    @Mock
+    private DiscordMessageHandler messageHandler;
+
+    @Mock
+    private AccountTypeTracker accountTracker;
+
+    @Mock
+    private WorldTypeTracker worldTracker;
+
+    @Mock
+    private TickScheduler tickScheduler;
+
+    @Mock
+    private CollectionNotifier collectionNotifier;
+
+    @Mock
+    private PetNotifier petNotifier;
+
+    @Mock
+    private LevelNotifier levelNotifier;
+
+    @Mock
+    private LootNotifier lootNotifier;
+
+    @Mock
+    private DeathNotifier deathNotifier;
+
+    @Mock
+    private SlayerNotifier slayerNotifier;
+
+    @Mock
+    private ClueNotifier clueNotifier;
+
+    @Mock
+    private SpeedrunNotifier speedrunNotifier;
+
+    @Mock
+    private LeaguesNotifier leaguesNotifier;
+
+    @Mock
+    private KillCountNotifier killCountNotifier;
+
+    @Mock
+    private DiaryNotifier diaryNotifier;
+
+    @Mock
+    private GroupStorageNotifier groupStorageNotifier;
+
+    @Mock
+    private MetaNotifier metaNotifier;
+
+    @Mock
+    private TradeNotifier tradeNotifier;
+
+    @Mock
+    private ChatNotifier chatNotifier;
+
+    @InjectMocks
+    private DinkPlugin plugin;
+
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void cleanUp() throws Exception {
+        mocks.close();
+    }
+
+    @Test
+    void configChangedWhileDisabled() {
+        when(config.primaryWebhook()).thenReturn("https://discord.com/api/webhooks/1/old");
+        plugin.startUp();
+        assertEquals("https://discord.com/api/webhooks/1/old", configSnapshot.get().getPrimaryWebhook());
+        plugin.shutDown();
+
+        // no ConfigChanged event is posted to a disabled plugin
+        when(config.primaryWebhook()).thenReturn("https://discord.com/api/webhooks/2/new");
+        assertEquals("https://discord.com/api/webhooks/1/old", configSnapshot.get().getPrimaryWebhook());
+
+        plugin.startUp();
+        assertEquals("https://discord.com/api/webhooks/2/new", configSnapshot.get().getPrimaryWebhook());
+    }
+}
@@ -0,0 +1,103 @@
+package dinkplugin;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Packs {@code npc_drops.json} (as written by {@link RarityCalculator}) into the binary format
+ * that is read by {@code dinkplugin.util.PackedDropTable}.
+ */
+@Tag("generator")
+class DropTableGenerator {
+
+    static final Path JSON_PATH = Paths.get("./src/test/resources/npc_drops.json");
+    static final Path BINARY_PATH = Paths.get("./src/main/resources/npc_drops.bin");
+
+    private static final int MAGIC = 0x44524F50; // "DROP"
+    private static final int VERSION = 1;
+
+    /**
+     * The relative error that is tolerated when a denominator is narrowed to a float.
+     * <p>
+     * Floats keep about 7 significant digits, which is ample for a drop rate,
+     * so this only rejects values that floats cannot represent (e.g., overflow to infinity).
+     */
+    static final double DENOMINATOR_TOLERANCE = 1e-6;
+
+    private final Gson gson = new GsonBuilder().create();
+
+    @Test
+    void packMonsterRates() throws IOException {
+        SortedMap<String, List<RarityCalculator.Transformed>> map;
+        try (Reader reader = Files.newBufferedReader(JSON_PATH)) {
+            map = gson.fromJson(reader, new TypeToken<SortedMap<String, List<RarityCalculator.Transformed>>>() {}.getType());
+        }
+        pack(map, BINARY_PATH);
+    }
+
+    static void pack(SortedMap<String, ? extends Collection<RarityCalculator.Transformed>> map, Path path) throws IOException {
+        // validate before opening the file, so an invalid input does not leave a truncated table behind
+        map.forEach((name, drops) -> drops.forEach(drop -> validate(name, drop)));
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(map.size());
+
+            // string table
+            for (String name : map.keySet()) {
+                out.writeUTF(name);
+            }
+
+            // offset index
+            int offset = 0;
+            for (Collection<RarityCalculator.Transformed> drops : map.values()) {
+                out.writeInt(offset);
+                offset += drops.size();
+            }
+            out.writeInt(offset);
+
+            // records
+            for (Collection<RarityCalculator.Transformed> drops : map.values()) {
+                for (RarityCalculator.Transformed drop : drops) {
+                    int min = drop.getQuantMin() != null ? drop.getQuantMin() : drop.getQuantity();
+                    int max = drop.getQuantMax() != null ? drop.getQuantMax() : drop.getQuantity();
+                    out.writeInt(drop.getItemId());
+                    out.writeFloat(drop.getDenominator().floatValue());
+                    out.writeInt(min);
+                    out.writeInt(max);
+                    out.writeByte(drop.getRolls() != null ? drop.getRolls() : 1);
+                }
+            }
+        }
+    }
+
+    private static void validate(String name, RarityCalculator.Transformed drop) {
+        // rolls are written as a (signed) byte
+        int rolls = drop.getRolls() != null ? drop.getRolls() : 1;
+        if (rolls < 1 || rolls > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("%s: rolls of item %d do not fit in a byte: %d", name, drop.getItemId(), rolls));
+        }
+
+        double denominator = drop.getDenominator();
+        double narrowed = (float) denominator;
+        if (!(Math.abs(narrowed - denominator) <= denominator * DENOMINATOR_TOLERANCE)) {
+            throw new IllegalArgumentException(String.format("%s: denominator of item %d is not representable as a float: %s", name, drop.getItemId(), denominator));
+        }
+    }
+
+}
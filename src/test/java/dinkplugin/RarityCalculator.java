@@ -20,7 +20,6 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -70,10 +69,13 @@ class RarityCalculator {
         }
 
         String output = gson.toJson(map).replace(".00,", ",");
-        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get("./src/main/resources/npc_drops.json"))) {
+        try (BufferedWriter writer = Files.newBufferedWriter(DropTableGenerator.JSON_PATH)) {
             writer.write(output);
             writer.newLine();
         }
+
+        // the plugin reads the binary form, while the json is retained for reviewing diffs
+        DropTableGenerator.pack(map, DropTableGenerator.BINARY_PATH);
     }
 
     @Data
@@ -0,0 +1,93 @@
+package dinkplugin.message;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
+import net.runelite.http.api.RuneLiteAPI;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CborWriterTest {
+
+    private static final Gson GSON = RuneLiteAPI.GSON;
+
+    @Test
+    void structure() throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("a", 1);
+        map.put("b", List.of(-1, "x"));
+        map.put("c", 1.5);
+        map.put("d", null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonWriter writer = new CborWriter(out);
+        GSON.toJson(map, Map.class, writer);
+        writer.flush();
+
+        assertEquals("bf61610161629f206178ff6163fb3ff8000000000000ff", hex(out));
+    }
+
+    @Test
+    void integers() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonWriter writer = new CborWriter(out);
+        writer.beginArray();
+        for (long n : new long[] { 0, 23, 24, 255, 256, 65536, 1L << 32, -500, Long.MIN_VALUE }) {
+            writer.value(n);
+        }
+        writer.value(2.0);
+        writer.endArray();
+
+        assertEquals("9f" + "00" + "17" + "1818" + "18ff" + "190100" + "1a00010000" + "1b0000000100000000"
+            + "3901f3" + "3b7fffffffffffffff" + "fb4000000000000000" + "ff", hex(out));
+    }
+
+    @Test
+    void nulls() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonWriter writer = new CborWriter(out);
+        writer.setSerializeNulls(false);
+        writer.beginObject().name("a").nullValue().name("b").value(true).endObject();
+        assertEquals("bf6162f5ff", hex(out));
+
+        out.reset();
+        writer = new CborWriter(out);
+        writer.beginObject().name("a").nullValue().name("b").value(false).endObject();
+        assertEquals("bf6161f66162f4ff", hex(out));
+    }
+
+    @Test
+    void text() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CborWriter(out).value("ké");
+        assertEquals("63" + "6bc3a9", hex(out));
+    }
+
+    @Test
+    void parsedJson() throws IOException {
+        // as when replaying a persisted (json) message to a url that requests cbor
+        JsonElement json = GSON.fromJson("{\"n\":3,\"d\":0.25,\"w\":2.0,\"s\":\"t\"}", JsonElement.class);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonWriter writer = new CborWriter(out);
+        GSON.toJson(json, JsonElement.class, writer);
+        writer.flush();
+
+        assertEquals("bf616e036164fb3fd0000000000000" + "6177fb4000000000000000" + "617361" + "74ff", hex(out));
+    }
+
+    private static String hex(ByteArrayOutputStream out) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : out.toByteArray()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
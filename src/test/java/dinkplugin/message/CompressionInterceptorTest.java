@@ -0,0 +1,97 @@
+package dinkplugin.message;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.GzipSource;
+import okio.InflaterSource;
+import okio.Okio;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class CompressionInterceptorTest {
+
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+    private static final String PAYLOAD = "{\"content\":\"" + "a".repeat(1000) + "\"}";
+
+    private final CompressionInterceptor interceptor = new CompressionInterceptor();
+
+    @Test
+    void gzip() throws IOException {
+        Request sent = intercept("https://example.org/dink?compress=gzip&thread_id=1");
+        assertEquals("https://example.org/dink?thread_id=1", sent.url().toString());
+        assertEquals("gzip", sent.header("Content-Encoding"));
+        assertEquals(JSON, sent.body().contentType());
+
+        Buffer compressed = new Buffer();
+        sent.body().writeTo(compressed);
+        assertEquals(PAYLOAD, Okio.buffer(new GzipSource(compressed)).readUtf8());
+    }
+
+    @Test
+    void deflate() throws IOException {
+        Request sent = intercept("https://example.org/dink?compress=deflate");
+        assertEquals("https://example.org/dink", sent.url().toString());
+        assertEquals("deflate", sent.header("Content-Encoding"));
+
+        Buffer compressed = new Buffer();
+        sent.body().writeTo(compressed);
+        assertEquals(PAYLOAD, Okio.buffer(new InflaterSource(compressed, new Inflater())).readUtf8());
+    }
+
+    @Test
+    void unknownEncoding() throws IOException {
+        Request sent = intercept("https://example.org/dink?compress=br");
+        assertEquals("https://example.org/dink", sent.url().toString());
+        assertNull(sent.header("Content-Encoding"));
+
+        Buffer body = new Buffer();
+        sent.body().writeTo(body);
+        assertEquals(PAYLOAD, body.readUtf8());
+    }
+
+    @Test
+    void notRequested() throws IOException {
+        Request request = request("https://example.org/dink");
+        assertSame(request, proceed(request));
+    }
+
+    private Request intercept(String url) throws IOException {
+        return proceed(request(url));
+    }
+
+    private Request proceed(Request request) throws IOException {
+        AtomicReference<Request> sent = new AtomicReference<>();
+        Interceptor.Chain chain = Mockito.mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(any())).thenAnswer(invocation -> {
+            Request r = invocation.getArgument(0);
+            sent.set(r);
+            return new Response.Builder().request(r).protocol(Protocol.HTTP_1_1).code(204).message("No Content").build();
+        });
+        interceptor.intercept(chain);
+        return sent.get();
+    }
+
+    private static Request request(String url) {
+        return new Request.Builder()
+            .url(url)
+            .post(RequestBody.create(JSON, PAYLOAD.getBytes(StandardCharsets.UTF_8)))
+            .build();
+    }
+}
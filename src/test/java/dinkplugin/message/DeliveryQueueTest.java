@@ -0,0 +1,151 @@
+package dinkplugin.message;
+
+import dinkplugin.ConfigSnapshotHolder;
+import dinkplugin.DinkPluginConfig;
+import dinkplugin.domain.DeliveryOverflowPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+class DeliveryQueueTest {
+
+    private static final List<Attachment> IMAGE = List.of(new Attachment("png", "image.png", new byte[16]));
+
+    private final DinkPluginConfig config = Mockito.mock(DinkPluginConfig.class);
+    private final ScheduledExecutorService executor = Mockito.mock(ScheduledExecutorService.class);
+    private final DeliveryQueue queue = new DeliveryQueue(executor, new ConfigSnapshotHolder(config), 1);
+
+    private final List<String> sent = new ArrayList<>();
+    private final List<String> dropped = new ArrayList<>();
+    private final List<DeliveryQueue.Delivery> inFlight = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // run dispatched tasks immediately, but never fire retry timers
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any());
+    }
+
+    @Test
+    void dispatchesByPriority() {
+        init(10, DeliveryOverflowPolicy.DROP_OLDEST);
+
+        submit("first", DeliveryPriority.LOW, Collections.emptyList()); // occupies the only slot
+        submit("chat", DeliveryPriority.LOW, Collections.emptyList());
+        submit("level", DeliveryPriority.NORMAL, Collections.emptyList());
+        submit("pet", DeliveryPriority.HIGH, Collections.emptyList());
+        assertEquals(3, queue.depth());
+
+        completeAll();
+        assertEquals(List.of("first", "pet", "level", "chat"), sent);
+        assertEquals(0, queue.depth());
+    }
+
+    @Test
+    void dropOldest() {
+        init(2, DeliveryOverflowPolicy.DROP_OLDEST);
+
+        submit("first", DeliveryPriority.NORMAL, Collections.emptyList());
+        submit("pet", DeliveryPriority.HIGH, Collections.emptyList());
+        submit("chat", DeliveryPriority.LOW, Collections.emptyList());
+        submit("level", DeliveryPriority.NORMAL, Collections.emptyList());
+        assertEquals(2, queue.depth());
+        assertEquals(List.of("pet"), dropped);
+
+        completeAll();
+        assertEquals(List.of("first", "level", "chat"), sent);
+    }
+
+    @Test
+    void dropLowestPriority() {
+        init(2, DeliveryOverflowPolicy.DROP_LOWEST_PRIORITY);
+
+        submit("first", DeliveryPriority.NORMAL, Collections.emptyList());
+        submit("chat", DeliveryPriority.LOW, Collections.emptyList());
+        submit("pet", DeliveryPriority.HIGH, Collections.emptyList());
+        submit("level", DeliveryPriority.NORMAL, Collections.emptyList());
+        assertEquals(List.of("chat"), dropped);
+
+        // incoming deliveries of lower priority than everything queued are dropped themselves
+        submit("login", DeliveryPriority.LOW, Collections.emptyList());
+        assertEquals(List.of("chat", "login"), dropped);
+        assertEquals(2, queue.depth());
+
+        completeAll();
+        assertEquals(List.of("first", "pet", "level"), sent);
+    }
+
+    @Test
+    void stripImage() {
+        init(2, DeliveryOverflowPolicy.STRIP_IMAGE);
+
+        submit("first", DeliveryPriority.NORMAL, IMAGE);
+        submit("a", DeliveryPriority.NORMAL, IMAGE);
+        submit("b", DeliveryPriority.NORMAL, IMAGE);
+        submit("c", DeliveryPriority.NORMAL, IMAGE);
+        assertEquals(3, queue.depth());
+        assertTrue(dropped.isEmpty());
+
+        submit("d", DeliveryPriority.NORMAL, IMAGE);
+        assertEquals(4, queue.depth());
+
+        // at twice the capacity, the oldest deliveries are dropped
+        submit("e", DeliveryPriority.NORMAL, IMAGE);
+        assertEquals(List.of("a"), dropped);
+
+        List<Integer> images = new ArrayList<>();
+        while (!inFlight.isEmpty()) {
+            DeliveryQueue.Delivery delivery = inFlight.remove(0);
+            images.add(delivery.getAttachments().size());
+            queue.complete(delivery);
+        }
+        assertEquals(List.of("first", "b", "c", "d", "e"), sent);
+        assertEquals(List.of(1, 0, 1, 1, 1), images);
+    }
+
+    @Test
+    void retryCountsTowardsCapacity() {
+        init(1, DeliveryOverflowPolicy.DROP_OLDEST);
+
+        submit("first", DeliveryPriority.NORMAL, IMAGE);
+        DeliveryQueue.Delivery delivery = inFlight.remove(0);
+        queue.retry(delivery, 60_000, IMAGE, d -> sent.add("retry"), () -> dropped.add("retry"));
+        assertEquals(1, queue.depth());
+
+        submit("second", DeliveryPriority.NORMAL, Collections.emptyList());
+        assertEquals(List.of("retry"), dropped);
+        assertEquals(List.of("first", "second"), sent);
+        assertEquals(0, queue.depth());
+    }
+
+    private void init(int capacity, DeliveryOverflowPolicy policy) {
+        when(config.deliveryQueueCapacity()).thenReturn(capacity);
+        when(config.deliveryOverflowPolicy()).thenReturn(policy);
+    }
+
+    private void submit(String name, DeliveryPriority priority, List<Attachment> attachments) {
+        queue.submit(priority, attachments, delivery -> {
+            sent.add(name);
+            inFlight.add(delivery);
+        }, () -> dropped.add(name));
+    }
+
+    private void completeAll() {
+        while (!inFlight.isEmpty()) {
+            queue.complete(inFlight.remove(0));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package dinkplugin.message;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrameCaptureCoordinatorTest {
+
+    private final FrameCaptureCoordinator coordinator = new FrameCaptureCoordinator();
+    private final AtomicInteger captures = new AtomicInteger();
+    private final CompletableFuture<Map.Entry<String, byte[]>> frame = new CompletableFuture<>();
+
+    @Test
+    void sharesWithinTick() {
+        FrameCaptureCoordinator.Lease a = coordinator.acquire(1, 1.0, this::capture);
+        FrameCaptureCoordinator.Lease b = coordinator.acquire(1, 1.0, this::capture);
+        assertEquals(1, captures.get());
+
+        frame.complete(Pair.of("png", new byte[] { 1 }));
+        assertSame(a.getScreenshot().join(), b.getScreenshot().join());
+
+        a.release();
+        a.release(); // idempotent
+        assertEquals(1, coordinator.size());
+
+        b.release();
+        assertEquals(0, coordinator.size());
+    }
+
+    @Test
+    void separateAcrossTicks() {
+        FrameCaptureCoordinator.Lease a = coordinator.acquire(1, 1.0, this::capture);
+        FrameCaptureCoordinator.Lease b = coordinator.acquire(2, 1.0, this::capture);
+        FrameCaptureCoordinator.Lease c = coordinator.acquire(2, 0.5, this::capture);
+        assertEquals(3, captures.get());
+        assertEquals(3, coordinator.size());
+
+        a.release();
+        b.release();
+        c.release();
+        assertEquals(0, coordinator.size());
+    }
+
+    @Test
+    void recapturesAfterRelease() {
+        coordinator.acquire(1, 1.0, this::capture).release();
+        coordinator.acquire(1, 1.0, this::capture).release();
+        assertEquals(2, captures.get());
+    }
+
+    @Test
+    void unsharedIsUntracked() {
+        FrameCaptureCoordinator.Lease lease = coordinator.acquireUnshared(this::capture);
+        assertEquals(0, coordinator.size());
+        assertFalse(lease.getScreenshot().isDone());
+
+        frame.complete(Pair.of("png", new byte[0]));
+        assertTrue(lease.getScreenshot().isDone());
+        lease.release();
+    }
+
+    @Test
+    void propagatesFailure() {
+        FrameCaptureCoordinator.Lease lease = coordinator.acquire(1, 1.0, this::capture);
+        frame.completeExceptionally(new IllegalStateException());
+        assertTrue(lease.getScreenshot().isCompletedExceptionally());
+        lease.release();
+        assertEquals(0, coordinator.size());
+    }
+
+    private CompletableFuture<Map.Entry<String, byte[]>> capture() {
+        captures.incrementAndGet();
+        return frame;
+    }
+
+}
@@ -0,0 +1,25 @@
+package dinkplugin.message;
+
+import okhttp3.HttpUrl;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PayloadFormatTest {
+
+    @Test
+    void cbor() {
+        HttpUrl url = HttpUrl.get("https://example.com/hook?dink_format=CBOR&thread_id=1");
+        assertEquals(PayloadFormat.CBOR, PayloadFormat.of(url));
+        assertEquals(HttpUrl.get("https://example.com/hook?thread_id=1"), PayloadFormat.strip(url));
+    }
+
+    @Test
+    void foreignFormatParameter() {
+        // the receiving endpoint may define its own "format" parameter
+        HttpUrl url = HttpUrl.get("https://example.com/hook?format=cbor");
+        assertEquals(PayloadFormat.JSON, PayloadFormat.of(url));
+        assertSame(url, PayloadFormat.strip(url));
+    }
+}
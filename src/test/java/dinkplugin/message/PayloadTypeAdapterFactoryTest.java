@@ -0,0 +1,208 @@
+package dinkplugin.message;
+
+import com.google.gson.Gson;
+import dinkplugin.domain.AccountType;
+import dinkplugin.domain.LootCriteria;
+import dinkplugin.message.templating.Template;
+import dinkplugin.notifiers.data.AmascutMetadata;
+import dinkplugin.notifiers.data.AnnotatedItemStack;
+import dinkplugin.notifiers.data.ChatNotificationData;
+import dinkplugin.notifiers.data.GroupBankContentsNotificationData;
+import dinkplugin.notifiers.data.GroupStorageNotificationData;
+import dinkplugin.notifiers.data.LootNotificationData;
+import dinkplugin.notifiers.data.RareItemStack;
+import dinkplugin.notifiers.data.SerializedItemStack;
+import dinkplugin.util.DiscordProfile;
+import dinkplugin.util.Utils;
+import net.runelite.api.ChatMessageType;
+import net.runelite.http.api.RuneLiteAPI;
+import net.runelite.http.api.loottracker.LootRecordType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class PayloadTypeAdapterFactoryTest {
+
+    private static final Gson REFLECTIVE = RuneLiteAPI.GSON;
+    private static final Gson STREAMING = REFLECTIVE.newBuilder()
+        .registerTypeAdapterFactory(new PayloadTypeAdapterFactory())
+        .create();
+
+    @Test
+    void loot() {
+        NotificationBody<LootNotificationData> body = NotificationBody.<LootNotificationData>builder()
+            .type(NotificationType.LOOT)
+            .text(Template.builder().template("dank dank has looted: 3 items").build())
+            .playerName("dank dank")
+            .accountType(AccountType.GROUP_IRONMAN)
+            .dinkAccountHash("abc")
+            .seasonalWorld(true)
+            .world(301)
+            .discordUser(new DiscordProfile("1", null, "hash"))
+            .extra(new LootNotificationData(items(), "Vorkath", LootRecordType.NPC, 100, 0.0002, List.of("a", "b"), 8061, null))
+            .embeds(List.of(embed(), Embed.ofImage("https://example.com/x.png")))
+            .threadName("[Loot] dank dank")
+            .appliedTags(new Long[] { 1L, 2L })
+            .build();
+
+        assertSame(body);
+    }
+
+    @Test
+    void groupStorage() {
+        NotificationBody<GroupStorageNotificationData> body = NotificationBody.<GroupStorageNotificationData>builder()
+            .type(NotificationType.GROUP_STORAGE)
+            .text(Template.builder().template("dank dank has deposited").build())
+            .computedDiscordContent("dank dank has deposited")
+            .extra(new GroupStorageNotificationData(items(), List.of(), -5L, null, true))
+            .build();
+
+        assertSame(body);
+    }
+
+    @Test
+    void groupBank() {
+        NotificationBody<GroupBankContentsNotificationData> body = NotificationBody.<GroupBankContentsNotificationData>builder()
+            .type(NotificationType.GROUP_BANK_CONTENTS)
+            .text(Template.builder().template("bank contents").build())
+            .extra(new GroupBankContentsNotificationData(items(), 200))
+            .embeds(null)
+            .build();
+
+        assertSame(body);
+    }
+
+    @Test
+    void reflectiveExtra() {
+        NotificationBody<ChatNotificationData> body = NotificationBody.<ChatNotificationData>builder()
+            .type(NotificationType.CHAT)
+            .text(Template.builder().template("chat").build())
+            .extra(new ChatNotificationData(ChatMessageType.GAMEMESSAGE, null, null, "Dragon impling is in the area"))
+            .build();
+
+        assertSame(body);
+    }
+
+    @Test
+    void nulls() {
+        Gson reflective = REFLECTIVE.newBuilder().serializeNulls().create();
+        Gson streaming = STREAMING.newBuilder().serializeNulls().create();
+        NotificationBody<LootNotificationData> body = NotificationBody.<LootNotificationData>builder()
+            .type(NotificationType.LOOT)
+            .text(Template.builder().template("loot").build())
+            .extra(new LootNotificationData(items(), "Chest", LootRecordType.EVENT, null, null, null, null, null))
+            .embeds(List.of(Embed.builder().build()))
+            .build();
+
+        assertEquals(reflective.toJson(body), streaming.toJson(body));
+    }
+
+    /**
+     * Every serialized field of every type covered by the factory is populated,
+     * so a field that is added to a model class (but not to its adapter) fails the comparison.
+     */
+    @Test
+    void parity() {
+        List<SerializedItemStack> items = List.of(
+            new SerializedItemStack(536, 1, 2_500, "Dragon bones"),
+            new AnnotatedItemStack(1249, 1, 40_000, "Dragon spear", EnumSet.of(LootCriteria.VALUE)),
+            new RareItemStack(22006, 1, 1_000_000, "Skeletal visage", EnumSet.of(LootCriteria.RARITY), 1 / 5000.0)
+        );
+        AmascutMetadata amascut = new AmascutMetadata(2, List.of("a", "b"), 30_000, 500, 12_345, 0.01, 0.2);
+        LootNotificationData loot = new LootNotificationData(items, "Tombs of Amascut", LootRecordType.EVENT, 100, 0.0002, List.of("a", "b"), 8061, amascut);
+        GroupStorageNotificationData storage = new GroupStorageNotificationData(items, items.subList(0, 1), 41_000L, "group", true);
+        GroupBankContentsNotificationData bank = new GroupBankContentsNotificationData(items, 200);
+        Field field = new Field("Total Value", "```\n1,052,500 gp\n```", true);
+        Embed embed = Embed.builder()
+            .title("Loot Drop")
+            .description("dank dank has looted")
+            .author(Author.builder().name("dank dank").iconUrl("https://example.com/icon.png").url("https://example.com").build())
+            .color(Utils.PINK)
+            .image(new Embed.UrlEmbed("https://example.com/image.png"))
+            .thumbnail(new Embed.UrlEmbed("https://example.com/thumb.png"))
+            .fields(List.of(field))
+            .footer(Footer.builder().text("Powered by Dink").iconUrl("https://example.com/footer.png").build())
+            .timestamp(Instant.ofEpochSecond(1_700_000_000L))
+            .build();
+        NotificationBody<LootNotificationData> body = NotificationBody.<LootNotificationData>builder()
+            .type(NotificationType.LOOT)
+            .text(Template.builder().template("dank dank has looted").build())
+            .playerName("dank dank")
+            .accountType(AccountType.GROUP_IRONMAN)
+            .dinkAccountHash("abc")
+            .clanName("clan")
+            .groupIronClanName("group")
+            .seasonalWorld(true)
+            .world(301)
+            .regionId(12_345)
+            .extra(loot)
+            .discordUser(new DiscordProfile("1", "dank", "hash"))
+            .computedDiscordContent("dank dank has looted")
+            .embeds(List.of(embed))
+            .threadName("[Loot] dank dank")
+            .appliedTags(new Long[] { 1L, 2L })
+            .build();
+
+        for (Object value : List.of(body, embed, field, items.get(0), items.get(1), items.get(2), loot, storage, bank)) {
+            assertPopulated(value);
+            assertEquals(REFLECTIVE.toJsonTree(value), STREAMING.toJsonTree(value), value.getClass().getSimpleName());
+        }
+    }
+
+    private static void assertSame(NotificationBody<?> body) {
+        assertEquals(REFLECTIVE.toJson(body), STREAMING.toJson(body));
+    }
+
+    private static List<SerializedItemStack> items() {
+        List<SerializedItemStack> items = new ArrayList<>();
+        items.add(new SerializedItemStack(536, 1, 2_500, "Dragon bones"));
+        items.add(new AnnotatedItemStack(1249, 1, 40_000, "Dragon spear", EnumSet.of(LootCriteria.VALUE)));
+        items.add(new RareItemStack(22006, 1, 1_000_000, "Skeletal visage \"rare\"", EnumSet.of(LootCriteria.VALUE, LootCriteria.RARITY), 1 / 5000.0));
+        items.add(new SerializedItemStack(995, 12345, 1, null));
+        return items;
+    }
+
+    private static Embed embed() {
+        return Embed.builder()
+            .title("Loot Drop")
+            .author(Author.builder().name("dank dank").url("https://example.com").build())
+            .color(Utils.PINK)
+            .thumbnail(new Embed.UrlEmbed("https://example.com/thumb.png"))
+            .fields(List.of(new Field("Total Value", "```\n1,052,500 gp\n```"), new Field("Empty", "-", null)))
+            .footer(Footer.builder().text("Powered by Dink").build())
+            .timestamp(Instant.ofEpochSecond(1_700_000_000L))
+            .build();
+    }
+
+    private static void assertPopulated(Object value) {
+        if (value instanceof Collection) {
+            ((Collection<?>) value).forEach(PayloadTypeAdapterFactoryTest::assertPopulated);
+            return;
+        }
+        if (value.getClass().isEnum() || !value.getClass().getName().startsWith("dinkplugin.")) {
+            return;
+        }
+        for (Class<?> c = value.getClass(); c != Object.class; c = c.getSuperclass()) {
+            for (java.lang.reflect.Field f : c.getDeclaredFields()) {
+                if ((f.getModifiers() & (Modifier.STATIC | Modifier.TRANSIENT)) != 0) continue;
+                f.setAccessible(true);
+                Object fieldValue;
+                try {
+                    fieldValue = f.get(value);
+                } catch (IllegalAccessException e) {
+                    throw new AssertionError(e);
+                }
+                assertNotNull(fieldValue, c.getSimpleName() + "." + f.getName());
+                assertPopulated(fieldValue);
+            }
+        }
+    }
+}
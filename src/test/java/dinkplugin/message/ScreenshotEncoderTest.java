@@ -0,0 +1,51 @@
+package dinkplugin.message;
+
+import dinkplugin.util.MetricsRegistry;
+import dinkplugin.util.TestImageUtil;
+import net.runelite.client.util.ImageUtil;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScreenshotEncoderTest {
+
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private final ScreenshotEncoder encoder = new ScreenshotEncoder(metrics);
+
+    @Test
+    void losslessWhenSmall() throws IOException {
+        BufferedImage image = ImageUtil.bufferedImageFromImage(TestImageUtil.getExample());
+
+        Map.Entry<String, byte[]> encoded = encoder.encode(image, Embed.MAX_IMAGE_SIZE);
+        assertEquals("png", encoded.getKey());
+        assertTrue(encoded.getValue().length <= Embed.MAX_IMAGE_SIZE);
+        assertEquals(1, passes());
+    }
+
+    @Test
+    void lossyWhenLarge() throws IOException {
+        BufferedImage image = ImageUtil.bufferedImageFromImage(TestImageUtil.random(960, 640));
+        long limit = 500_000;
+        assertTrue(ScreenshotEncoder.predictPngSize(image) > limit);
+
+        Map.Entry<String, byte[]> encoded = encoder.encode(image, limit);
+        assertEquals("jpeg", encoded.getKey());
+        assertTrue(encoded.getValue().length <= limit);
+        assertTrue(passes() >= 1);
+    }
+
+    @Test
+    void predictsFlatImageIsSmall() {
+        BufferedImage image = new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB);
+        assertTrue(ScreenshotEncoder.predictPngSize(image) < 1_000);
+    }
+
+    private long passes() {
+        return metrics.counter("screenshot.encode.passes").sum();
+    }
+}
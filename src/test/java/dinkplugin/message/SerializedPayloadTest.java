@@ -0,0 +1,93 @@
+package dinkplugin.message;
+
+import com.google.gson.Gson;
+import dinkplugin.util.LatencyHistogram;
+import net.runelite.http.api.RuneLiteAPI;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SerializedPayloadTest {
+
+    private static final Gson GSON = RuneLiteAPI.GSON;
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    @Test
+    void small() throws IOException {
+        assertStreamed(payload(10));
+    }
+
+    @Test
+    void large() throws IOException {
+        Map<String, Object> body = payload(5000);
+        assertTrue(GSON.toJson(body).length() > 64 * 1024);
+        assertStreamed(body);
+    }
+
+    @Test
+    void encodedOnce() throws IOException {
+        Map<String, Object> body = payload(5000);
+        byte[] expected = GSON.toJson(body).getBytes(StandardCharsets.UTF_8);
+
+        // single-use payloads are encoded once, even when large
+        LatencyHistogram encodeTime = new LatencyHistogram();
+        RequestBody request = SerializedPayload.of(GSON, body, PayloadFormat.JSON, encodeTime).toRequestBody(JSON);
+        assertEquals(expected.length, request.contentLength());
+        Buffer sink = new Buffer();
+        request.writeTo(sink);
+        assertArrayEquals(expected, sink.readByteArray());
+        assertEquals(expected.length, request.contentLength());
+        assertEquals(1, encodeTime.getCount());
+
+        // shared payloads are encoded exactly once
+        LatencyHistogram sharedTime = new LatencyHistogram();
+        RequestBody shared = SerializedPayload.of(GSON, body, PayloadFormat.JSON, sharedTime).share().toRequestBody(JSON);
+        assertEquals(expected.length, shared.contentLength());
+        for (int i = 0; i < 3; i++) {
+            shared.writeTo(sink);
+            assertArrayEquals(expected, sink.readByteArray());
+        }
+        assertEquals(1, sharedTime.getCount());
+    }
+
+    @Test
+    void raw() throws IOException {
+        String json = "{\"content\":\"ké\"}";
+        SerializedPayload payload = SerializedPayload.of(json);
+        assertEquals(json.getBytes(StandardCharsets.UTF_8).length, payload.contentLength());
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), payload.bytes());
+    }
+
+    private static void assertStreamed(Object body) throws IOException {
+        byte[] expected = GSON.toJson(body).getBytes(StandardCharsets.UTF_8);
+        SerializedPayload payload = SerializedPayload.of(GSON, body);
+        RequestBody request = payload.toRequestBody(JSON);
+        assertEquals(expected.length, request.contentLength());
+
+        // bodies can be written more than once (e.g., for redirects)
+        for (int i = 0; i < 2; i++) {
+            Buffer sink = new Buffer();
+            request.writeTo(sink);
+            assertArrayEquals(expected, sink.readByteArray());
+        }
+    }
+
+    private static Map<String, Object> payload(int n) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            map.put("ké😀" + i, List.of(i, "<value & " + i + ">"));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,147 @@
+package dinkplugin.message;
+
+import dinkplugin.message.templating.Template;
+import dinkplugin.util.MetricsRegistry;
+import okhttp3.HttpUrl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+class WebhookBatcherTest {
+
+    private static final HttpUrl URL = HttpUrl.get("https://discord.com/api/webhooks/123/abc");
+    private static final WebhookRoute ROUTE = WebhookRoute.of(URL, HttpMetrics.of(new MetricsRegistry(), URL.host()));
+
+    private final ScheduledExecutorService executor = Mockito.mock(ScheduledExecutorService.class);
+    private final List<List<WebhookBatcher.Item>> flushed = new ArrayList<>();
+    private final List<Runnable> timers = new ArrayList<>();
+    private final WebhookBatcher batcher = new WebhookBatcher(executor, (route, items) -> flushed.add(items));
+
+    @BeforeEach
+    void setUp() {
+        // capture the window timers, rather than waiting for them
+        doAnswer(invocation -> {
+            timers.add(invocation.getArgument(0));
+            return null;
+        }).when(executor).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void flushesAfterWindow() {
+        batcher.add(ROUTE, body("first", 1), Collections.emptyList(), 1200);
+        batcher.add(ROUTE, body("second", 1), Collections.emptyList(), 1200);
+        assertTrue(flushed.isEmpty());
+        assertEquals(1, timers.size());
+
+        timers.get(0).run();
+        assertEquals(List.of(List.of("first", "second")), titles());
+    }
+
+    @Test
+    void flushesEarlyOnEmbedCount() {
+        batcher.add(ROUTE, body("first", 6), Collections.emptyList(), 1200);
+        batcher.add(ROUTE, body("second", 4), Collections.emptyList(), 1200);
+        assertTrue(flushed.isEmpty());
+
+        batcher.add(ROUTE, body("third", 1), Collections.emptyList(), 1200);
+        assertEquals(List.of(List.of("first", "second")), titles());
+
+        // the timer of the early-flushed batch is a no-op
+        timers.get(0).run();
+        assertEquals(1, flushed.size());
+        timers.get(1).run();
+        assertEquals(List.of(List.of("first", "second"), List.of("third")), titles());
+    }
+
+    @Test
+    void flushesEarlyOnAttachmentBytes() {
+        List<Attachment> screenshot = List.of(new Attachment("png", "screenshot.png", new byte[Embed.MAX_IMAGE_SIZE / 2 + 1]));
+        batcher.add(ROUTE, body("first", 1), screenshot, 1200);
+        batcher.add(ROUTE, body("second", 1), screenshot, 1200);
+        assertEquals(List.of(List.of("first")), titles());
+    }
+
+    @Test
+    void flushesEarlyOnEmbedLength() {
+        String description = "a".repeat(Embed.MAX_DESCRIPTION_LENGTH);
+        batcher.add(ROUTE, body("first", description), Collections.emptyList(), 1200);
+        batcher.add(ROUTE, body("second", description), Collections.emptyList(), 1200);
+        assertEquals(List.of(List.of("first")), titles());
+
+        // short embeds still fit alongside a long one
+        batcher.add(ROUTE, body("third", "b".repeat(100)), Collections.emptyList(), 1200);
+        timers.get(1).run();
+        assertEquals(List.of(List.of("first"), List.of("second", "third")), titles());
+    }
+
+    @Test
+    void mergeRenamesAttachments() {
+        WebhookBatcher.Item first = new WebhookBatcher.Item(
+            body("first", List.of(Embed.builder().title("first").image(new Embed.UrlEmbed("attachment://loot.png")).build())),
+            List.of(new Attachment("png", "loot.png", new byte[1]))
+        );
+        WebhookBatcher.Item second = new WebhookBatcher.Item(
+            body("second", List.of(Embed.builder().title("second").image(new Embed.UrlEmbed("attachment://loot.png")).build(), Embed.ofImage("https://example.com/item.png"))),
+            List.of(new Attachment("jpeg", "loot.png", new byte[2]))
+        );
+
+        WebhookBatcher.Item merged = WebhookBatcher.merge(List.of(first, second));
+        assertEquals(List.of("1-loot.png", "2-loot.png"), merged.getAttachments().stream().map(Attachment::getFileName).collect(Collectors.toList()));
+        assertEquals("jpeg", merged.getAttachments().get(1).getFormat());
+
+        List<Embed> embeds = merged.getBody().getEmbeds();
+        assertEquals(3, embeds.size());
+        assertEquals("attachment://1-loot.png", embeds.get(0).getImage().getUrl());
+        assertEquals("attachment://2-loot.png", embeds.get(1).getImage().getUrl());
+        assertEquals("https://example.com/item.png", embeds.get(2).getImage().getUrl());
+        assertNull(embeds.get(2).getTitle());
+        assertEquals(NotificationType.LOOT, merged.getBody().getType());
+    }
+
+    @Test
+    void mergeSingleItem() {
+        WebhookBatcher.Item item = new WebhookBatcher.Item(body("only", 1), Collections.emptyList());
+        assertEquals(item, WebhookBatcher.merge(List.of(item)));
+    }
+
+    private List<List<String>> titles() {
+        return flushed.stream()
+            .map(items -> items.stream().map(item -> item.getBody().getEmbeds().get(0).getTitle()).collect(Collectors.toList()))
+            .collect(Collectors.toList());
+    }
+
+    private static NotificationBody<?> body(String title, int embedCount) {
+        List<Embed> embeds = new ArrayList<>(embedCount);
+        for (int i = 0; i < embedCount; i++) {
+            embeds.add(Embed.builder().title(title).build());
+        }
+        return body(title, embeds);
+    }
+
+    private static NotificationBody<?> body(String title, String description) {
+        return body(title, List.of(Embed.builder().title(title).description(description).build()));
+    }
+
+    private static NotificationBody<?> body(String text, List<Embed> embeds) {
+        return NotificationBody.builder()
+            .type(NotificationType.LOOT)
+            .text(Template.builder().template(text).build())
+            .embeds(embeds)
+            .build();
+    }
+}
@@ -0,0 +1,145 @@
+package dinkplugin.message;
+
+import dinkplugin.ConfigSnapshotHolder;
+import dinkplugin.DinkPluginConfig;
+import net.runelite.http.api.RuneLiteAPI;
+import okhttp3.HttpUrl;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebhookCircuitBreakerTest {
+
+    private static final HttpUrl URL = HttpUrl.get("https://discord.com/api/webhooks/123/abc");
+    private static final HttpUrl THREAD_URL = HttpUrl.get("https://discord.com/api/webhooks/123/abc?thread_id=456");
+    private static final HttpUrl OTHER_URL = HttpUrl.get("https://discord.com/api/webhooks/789/xyz");
+
+    private final ConfigSnapshotHolder configSnapshot = new ConfigSnapshotHolder(Mockito.mock(DinkPluginConfig.class));
+    private final AtomicLong clock = new AtomicLong();
+    private final List<String> warnings = new ArrayList<>();
+    private final WebhookCircuitBreaker breaker = new WebhookCircuitBreaker(configSnapshot, warnings::add, clock::get);
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        for (int i = 1; i < WebhookCircuitBreaker.FAILURE_THRESHOLD; i++) {
+            breaker.onFailure(URL);
+        }
+        assertTrue(breaker.allow(URL));
+
+        // a success resets the count
+        breaker.onResponse(URL, 204, null);
+        for (int i = 1; i < WebhookCircuitBreaker.FAILURE_THRESHOLD; i++) {
+            breaker.onFailure(URL);
+        }
+        assertTrue(breaker.allow(URL));
+        assertTrue(warnings.isEmpty());
+
+        breaker.onResponse(THREAD_URL, 503, null);
+        assertFalse(breaker.allow(URL));
+        assertFalse(breaker.allow(THREAD_URL));
+        assertTrue(breaker.allow(OTHER_URL));
+        assertEquals(1, warnings.size());
+
+        // failures of requests that were already in flight do not extend the cooldown
+        breaker.onFailure(URL);
+        assertEquals(1, warnings.size());
+    }
+
+    @Test
+    void halfOpenProbe() {
+        trip();
+
+        clock.addAndGet(WebhookCircuitBreaker.BASE_COOLDOWN_NANOS);
+        assertTrue(breaker.allow(URL));
+        assertFalse(breaker.allow(URL));
+
+        // failed probe doubles the cooldown
+        breaker.onFailure(URL);
+        clock.addAndGet(WebhookCircuitBreaker.BASE_COOLDOWN_NANOS);
+        assertFalse(breaker.allow(URL));
+        clock.addAndGet(WebhookCircuitBreaker.BASE_COOLDOWN_NANOS);
+        assertTrue(breaker.allow(URL));
+
+        // successful probe closes the circuit
+        breaker.onResponse(URL, 200, null);
+        assertTrue(breaker.allow(URL));
+        assertTrue(breaker.allow(URL));
+        assertEquals(1, warnings.size());
+    }
+
+    @Test
+    void disabledUntilConfigChanged() {
+        breaker.onResponse(URL, 404, error(WebhookCircuitBreaker.UNKNOWN_WEBHOOK));
+        assertFalse(breaker.allow(URL));
+        assertFalse(breaker.allow(THREAD_URL));
+        assertTrue(breaker.isDisabled(THREAD_URL));
+        assertTrue(breaker.allow(OTHER_URL));
+
+        breaker.onResponse(THREAD_URL, 404, error(WebhookCircuitBreaker.UNKNOWN_WEBHOOK));
+        assertEquals(1, warnings.size());
+
+        clock.addAndGet(WebhookCircuitBreaker.MAX_COOLDOWN_NANOS);
+        assertFalse(breaker.allow(URL));
+
+        configSnapshot.refresh();
+        assertTrue(breaker.allow(URL));
+        assertFalse(breaker.isDisabled(URL));
+    }
+
+    @Test
+    void unauthorizedDisablesWebhook() {
+        breaker.onResponse(THREAD_URL, 401, null);
+        assertFalse(breaker.allow(URL));
+        assertTrue(breaker.isDisabled(URL));
+    }
+
+    @Test
+    void deletedThreadOnlyDisablesThreadUrl() {
+        // Unknown Channel
+        breaker.onResponse(THREAD_URL, 404, error(10003));
+        assertFalse(breaker.allow(THREAD_URL));
+        assertTrue(breaker.isDisabled(THREAD_URL));
+        assertTrue(breaker.allow(URL));
+        assertFalse(breaker.isDisabled(URL));
+        assertTrue(breaker.allow(HttpUrl.get("https://discord.com/api/webhooks/123/abc?thread_id=789")));
+        assertEquals(1, warnings.size());
+    }
+
+    @Test
+    void isClosedDoesNotClaimProbe() {
+        assertTrue(breaker.isClosed(URL));
+        trip();
+        assertFalse(breaker.isClosed(URL));
+
+        clock.addAndGet(WebhookCircuitBreaker.BASE_COOLDOWN_NANOS);
+        assertFalse(breaker.isClosed(URL));
+        assertTrue(breaker.allow(URL));
+
+        breaker.onResponse(THREAD_URL, 404, error(10003));
+        assertFalse(breaker.isClosed(THREAD_URL));
+    }
+
+    @Test
+    void openCircuitIsNotDisabled() {
+        trip();
+        assertFalse(breaker.isDisabled(URL));
+    }
+
+    private static DiscordErrorMessage error(int code) {
+        return RuneLiteAPI.GSON.fromJson("{\"code\":" + code + ",\"message\":\"Unknown\"}", DiscordErrorMessage.class);
+    }
+
+    private void trip() {
+        for (int i = 0; i < WebhookCircuitBreaker.FAILURE_THRESHOLD; i++) {
+            breaker.onFailure(URL);
+        }
+        assertFalse(breaker.allow(URL));
+    }
+}
@@ -0,0 +1,93 @@
+package dinkplugin.message;
+
+import okhttp3.HttpUrl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebhookOutboxTest {
+
+    private static final HttpUrl URL = HttpUrl.get("https://discord.com/api/webhooks/123/abc");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysUnacknowledged() {
+        WebhookOutbox outbox = new WebhookOutbox(dir.toFile());
+        long a = outbox.append("LOOT", URL, "{\"a\":1}", List.of());
+        long b = outbox.append("PET", URL, "{\"b\":2}", List.of(new Attachment("png", "petImage.png", new byte[] { 1, 2, 3 })));
+        outbox.acknowledge(a);
+        outbox.close();
+
+        // simulate a client restart
+        List<WebhookOutbox.Entry> entries = new WebhookOutbox(dir.toFile()).drainPending();
+        assertEquals(1, entries.size());
+
+        WebhookOutbox.Entry entry = entries.get(0);
+        assertEquals(b, entry.getId());
+        assertEquals("PET", entry.getType());
+        assertEquals(URL, entry.getUrl());
+        assertEquals("{\"b\":2}", entry.getPayload());
+        assertEquals(1, entry.getAttachments().size());
+
+        Attachment attachment = entry.getAttachments().get(0);
+        assertEquals("png", attachment.getFormat());
+        assertEquals("petImage.png", attachment.getFileName());
+        assertArrayEquals(new byte[] { 1, 2, 3 }, attachment.getBytes());
+    }
+
+    @Test
+    void skipsInFlight() {
+        WebhookOutbox outbox = new WebhookOutbox(dir.toFile());
+        long id = outbox.append("LOOT", URL, "{}", List.of());
+        assertTrue(outbox.drainPending().isEmpty());
+
+        outbox.release(id);
+        assertEquals(1, outbox.drainPending().size());
+    }
+
+    @Test
+    void readAfterAcknowledge() {
+        WebhookOutbox outbox = new WebhookOutbox(dir.toFile());
+        long id = outbox.append("LOOT", URL, "{}", List.of());
+        assertNotNull(outbox.read(id));
+
+        outbox.acknowledge(id);
+        assertNull(outbox.read(id));
+    }
+
+    @Test
+    void deletesAcknowledgedSegments() {
+        WebhookOutbox outbox = new WebhookOutbox(dir.toFile());
+        List<Attachment> image = List.of(new Attachment("png", "lootImage.png", new byte[(int) (WebhookOutbox.MAX_SEGMENT_SIZE / 2)]));
+        long[] ids = new long[5];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = outbox.append("LOOT", URL, "{}", image);
+        }
+        assertTrue(countSegments() > 1);
+
+        for (long id : ids) {
+            outbox.acknowledge(id);
+        }
+        assertEquals(1, countSegments());
+        outbox.close();
+
+        assertTrue(new WebhookOutbox(dir.toFile()).drainPending().isEmpty());
+    }
+
+    private int countSegments() {
+        File[] files = dir.toFile().listFiles();
+        return files != null ? files.length : 0;
+    }
+
+}
@@ -0,0 +1,80 @@
+package dinkplugin.message;
+
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebhookRateLimiterTest {
+
+    private static final HttpUrl URL = HttpUrl.get("https://discord.com/api/webhooks/123/abc");
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final WebhookRateLimiter limiter = new WebhookRateLimiter(executor);
+
+    @AfterEach
+    void cleanUp() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void unknownBucketIsNotThrottled() {
+        AtomicInteger count = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            limiter.submit(URL, count::incrementAndGet);
+        }
+        assertEquals(10, count.get());
+
+        assertFalse(limiter.update(URL, response(200, null, null)));
+        limiter.submit(URL, count::incrementAndGet);
+        assertEquals(11, count.get());
+    }
+
+    @Test
+    void holdsUntilReset() throws InterruptedException {
+        assertFalse(limiter.update(URL, response(204, "0", "0.25")));
+
+        CountDownLatch latch = new CountDownLatch(2);
+        long start = System.nanoTime();
+        limiter.submit(URL, latch::countDown);
+        limiter.submit(URL.newBuilder().addQueryParameter("thread_id", "456").build(), latch::countDown);
+        assertEquals(2, latch.getCount());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    void tooManyRequests() throws InterruptedException {
+        assertTrue(limiter.update(URL, response(429, null, null).newBuilder().header("Retry-After", "0.1").build()));
+
+        CountDownLatch latch = new CountDownLatch(1);
+        limiter.submit(URL, latch::countDown);
+        assertEquals(1, latch.getCount());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    private static Response response(int code, String remaining, String resetAfter) {
+        Response.Builder builder = new Response.Builder()
+            .request(new Request.Builder().url(URL).build())
+            .protocol(Protocol.HTTP_1_1)
+            .code(code)
+            .message("");
+        if (remaining != null) builder.header("X-RateLimit-Remaining", remaining);
+        if (resetAfter != null) builder.header("X-RateLimit-Reset-After", resetAfter);
+        return builder.build();
+    }
+
+}
@@ -0,0 +1,65 @@
+package dinkplugin.message;
+
+import dinkplugin.ConfigSnapshotHolder;
+import dinkplugin.DinkPluginConfig;
+import dinkplugin.util.MetricsRegistry;
+import okhttp3.HttpUrl;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebhookRoutesTest {
+
+    private final ConfigSnapshotHolder configSnapshot = new ConfigSnapshotHolder(Mockito.mock(DinkPluginConfig.class));
+    private final WebhookRoutes routes = new WebhookRoutes(configSnapshot, new MetricsRegistry());
+
+    @Test
+    void parse() {
+        String urls = "https://discord.com/api/webhooks/1/a?forum&applied_tags=123,abc,456\n" +
+            "\n" +
+            "not a url\n" +
+            "https://example.com/ignored\n" +
+            "https://api.revolt.chat/webhooks/2/b\n" +
+            " https://discord.com/api/webhooks/1/a?forum&applied_tags=123,abc,456 \n" +
+            "https://canary.discord.com/api/webhooks/3/c?forum&thread_id=789";
+
+        List<WebhookRoute> list = routes.get(urls);
+        assertEquals(3, list.size());
+
+        WebhookRoute forum = list.get(0);
+        assertEquals(HttpUrl.get("https://discord.com/api/webhooks/1/a?forum&applied_tags=123,abc,456"), forum.getUrl());
+        assertTrue(forum.isDiscord());
+        assertTrue(forum.isImages());
+        assertTrue(forum.isForum());
+        assertEquals(List.of(123L, 456L), forum.getAppliedTags());
+
+        WebhookRoute revolt = list.get(1);
+        assertFalse(revolt.isDiscord());
+        assertFalse(revolt.isImages());
+        assertFalse(revolt.isForum());
+        assertEquals(List.of(), revolt.getAppliedTags());
+
+        WebhookRoute thread = list.get(2);
+        assertTrue(thread.isDiscord());
+        assertFalse(thread.isForum());
+    }
+
+    @Test
+    void cachedUntilConfigChanged() {
+        String urls = "https://discord.com/api/webhooks/1/a";
+        List<WebhookRoute> first = routes.get(urls);
+        assertSame(first, routes.get(urls));
+
+        configSnapshot.refresh();
+        List<WebhookRoute> second = routes.get(urls);
+        assertNotSame(first, second);
+        assertEquals(first, second);
+    }
+}
@@ -0,0 +1,49 @@
+package dinkplugin.message.templating;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CompiledTemplateTest {
+
+    @Test
+    void cached() {
+        assertSame(CompiledTemplate.of("%USERNAME% logged out", "%"), CompiledTemplate.of("%USERNAME% logged out", "%"));
+    }
+
+    @Test
+    void adjacentPlaceholders() {
+        assertEquals(
+            "ab",
+            CompiledTemplate.of("%A%%B%", "%").render(Map.of("%A%", Replacements.ofText("a"), "%B%", Replacements.ofText("b")), false)
+        );
+    }
+
+    @Test
+    void strayBoundary() {
+        assertEquals(
+            "50% off for dank dank",
+            CompiledTemplate.of("50% off for %USERNAME%", "%").render(Map.of("%USERNAME%", Replacements.ofText("dank dank")), false)
+        );
+    }
+
+    @Test
+    void replacementContainsBoundary() {
+        assertEquals(
+            "%B% and b",
+            CompiledTemplate.of("%A% and %B%", "%").render(Map.of("%A%", Replacements.ofText("%B%"), "%B%", Replacements.ofText("b")), false)
+        );
+    }
+
+    @Test
+    void rich() {
+        assertEquals(
+            "[Monk](https://oldschool.runescape.wiki/w/Special:Search?search=Monk) %MISSING%",
+            CompiledTemplate.of("%TARGET% %MISSING%", "%").render(Map.of("%TARGET%", Replacements.ofWiki("Monk")), true)
+        );
+    }
+
+}
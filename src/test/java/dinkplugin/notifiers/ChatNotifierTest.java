@@ -21,9 +21,11 @@ import org.mockito.InjectMocks;
 
 import java.awt.TrayIcon;
 import java.util.EnumSet;
+import java.util.function.BooleanSupplier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -224,6 +226,20 @@ public class ChatNotifierTest extends MockedNotifierTest {
         verify(messageHandler, never()).createMessage(any(), anyBoolean(), any());
     }
 
+    @Test
+    void testIgnoreOffClientThread() {
+        clearInvocations(clientThread);
+
+        // fire event
+        notifier.onMessage(ChatMessageType.GAMEMESSAGE, null, "You will be logged out in approximately 30 minutes.");
+        notifier.onCommand(new CommandExecuted("DontTriggerDink", new String[0]));
+
+        // ensure unmatched messages never reach the client thread
+        verify(clientThread, never()).invoke(any(Runnable.class));
+        verify(clientThread, never()).invoke(any(BooleanSupplier.class));
+        verify(messageHandler, never()).createMessage(any(), anyBoolean(), any());
+    }
+
     @Test
     void testDisabled() {
         // update config mock
@@ -211,4 +211,10 @@ class ClueNotifierTest extends MockedNotifierTest {
         verify(messageHandler, never()).createMessage(any(), anyBoolean(), any());
     }
 
+    @Test
+    void testRoutedGameMessages() {
+        assertRoutedGameMessage("ClueNotifier.onChatMessage", "You have completed 1312 medium Treasure Trails.");
+        assertRoutedGameMessage("ClueNotifier.onChatMessage", "You have completed 1 easy Treasure Trail.");
+    }
+
 }
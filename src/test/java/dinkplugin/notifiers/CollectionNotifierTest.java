@@ -402,4 +402,12 @@ class CollectionNotifierTest extends MockedNotifierTest {
         when(config.notifyCollectionLog()).thenReturn(true);
     }
 
+    @Test
+    void testRoutedGameMessages() {
+        when(itemSearcher.findItemId("Seercull")).thenReturn(ItemID.DAGANOTH_CAVE_MAGIC_SHORTBOW);
+        mockItem(ItemID.DAGANOTH_CAVE_MAGIC_SHORTBOW, 23_000, "Seercull");
+
+        assertRoutedGameMessage("CollectionNotifier.onChatMessage", "New item added to your collection log: Seercull");
+    }
+
 }
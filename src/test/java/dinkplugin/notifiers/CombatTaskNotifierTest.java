@@ -171,4 +171,11 @@ class CombatTaskNotifierTest extends MockedNotifierTest {
             .replacement("{{task}}", Replacements.ofWiki(task))
             .build();
     }
+
+    @Test
+    void testRoutedGameMessages() {
+        assertRoutedGameMessage("CombatTaskNotifier.onGameMessage", "Congratulations, you've completed a hard combat task: Whack-a-Mole.");
+        assertRoutedGameMessage("CombatTaskNotifier.onGameMessage", "Congratulations, you've completed an easy combat task: A Slow Death.");
+        assertRoutedGameMessage("CombatTaskNotifier.onGameMessage", "Congratulations, you've completed a grandmaster combat task: No Pressure (6 points).");
+    }
 }
@@ -717,4 +717,10 @@ class DeathNotifierTest extends MockedNotifierTest {
         verify(messageHandler, never()).createMessage(any(), anyBoolean(), any());
     }
 
+    @Test
+    void testRoutedGameMessages() {
+        assertRoutedGameMessage("DeathNotifier.onGameMessage", "You have been doomed!");
+        assertRoutedGameMessage("DeathNotifier.onGameMessage", "You failed to survive the Tombs of Amascut");
+    }
+
 }
@@ -748,4 +748,20 @@ class KillCountNotifierTest extends MockedNotifierTest {
             .replacement("{{boss}}", Replacements.ofWiki(boss))
             .build();
     }
+
+    @Test
+    void testRoutedGameMessages() {
+        // primary count
+        assertRoutedGameMessage("KillCountNotifier.onGameMessage", "Your King Black Dragon kill count is: 581.");
+        assertRoutedGameMessage("KillCountNotifier.onGameMessage", "Your Gauntlet completion count is: 10.");
+        assertRoutedGameMessage("KillCountNotifier.onGameMessage", "Your Yama success count is: 4.");
+
+        // secondary count
+        assertRoutedGameMessage("KillCountNotifier.onGameMessage", "Your completed Chambers of Xeric count is: 125.");
+
+        // time
+        assertRoutedGameMessage("KillCountNotifier.onGameMessage", "Challenge duration: 10:25 (new personal best).");
+        assertRoutedGameMessage("KillCountNotifier.onGameMessage", "Theatre of Blood total completion time: 23:42.60. Personal best: 20:47.00");
+        assertRoutedGameMessage("KillCountNotifier.onGameMessage", "Subdued in 6:13. Personal best: 5:57");
+    }
 }
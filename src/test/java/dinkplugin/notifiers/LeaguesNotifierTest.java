@@ -369,4 +369,12 @@ public class LeaguesNotifierTest extends MockedNotifierTest {
         // ensure no notification occurred
         verify(messageHandler, never()).createMessage(any(), anyBoolean(), any());
     }
+
+    @Test
+    void testRoutedGameMessages() {
+        assertRoutedGameMessage("LeaguesNotifier.onGameMessage", "Congratulations, you've unlocked a new area: Kandarin.");
+        assertRoutedGameMessage("LeaguesNotifier.onGameMessage", "Congratulations, you've unlocked a new Relic: Endless Harvest.");
+        assertRoutedGameMessage("LeaguesNotifier.onGameMessage", "Congratulations, you've completed a hard task: The Frozen Door.");
+        assertRoutedGameMessage("LeaguesNotifier.onGameMessage", "Congratulations, you've unlocked a new Melee Combat Mastery: Melee I.");
+    }
 }
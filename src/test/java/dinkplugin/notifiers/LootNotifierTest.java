@@ -973,4 +973,30 @@ class LootNotifierTest extends MockedNotifierTest {
         verify(messageHandler, never()).createMessage(any(), anyBoolean(), any());
     }
 
+    @Test
+    void testRoutedGameMessages() {
+        mockItem(ItemID.POH_TROPHYDROP_GIANT_KRILL, 1, "Giant blue krill");
+        mockItem(ItemID.POH_TROPHYDROP_HADDOCK, 1, "Golden haddock");
+        mockItem(ItemID.POH_TROPHYDROP_YELLOWFIN, 1, "Orangefin");
+        mockItem(ItemID.POH_TROPHYDROP_HALIBUT, 1, "Huge halibut");
+        mockItem(ItemID.POH_TROPHYDROP_BLUEFIN, 1, "Purplefin");
+        mockItem(ItemID.POH_TROPHYDROP_MARLIN, 1, "Swift marlin");
+        mockItem(ItemID.SAILING_PAINT_ANGLERS, 1, "Angler's paint");
+
+        assertRoutedGameMessage("LootNotifier.onGameMessage", "You have found a Pharaoh's sceptre! It fell on the floor.");
+        assertRoutedGameMessage("LootNotifier.onGameMessage", "You catch a giant blue krill!");
+        assertRoutedGameMessage("LootNotifier.onGameMessage", "You catch a golden haddock!");
+        assertRoutedGameMessage("LootNotifier.onGameMessage", "You catch a orangefin!");
+        assertRoutedGameMessage("LootNotifier.onGameMessage", "You catch a huge halibut!");
+        assertRoutedGameMessage("LootNotifier.onGameMessage", "You catch a purplefin!");
+        assertRoutedGameMessage("LootNotifier.onGameMessage", "You catch a swift marlin!");
+        assertRoutedGameMessage("LootNotifier.onGameMessage", "You've received some paint!");
+
+        // kill counts are tracked by KillCountService, for the loot notifications that follow
+        assertRoutedGameMessage("KillCountService.onGameMessage", "You have completed 42 medium Treasure Trails.");
+        assertRoutedGameMessage("KillCountService.onGameMessage", "Amount of rifts you have closed: 1,234.");
+        assertRoutedGameMessage("KillCountService.onGameMessage", "Your herbiboar harvest count is: 123.");
+        assertRoutedGameMessage("KillCountService.onGameMessage", "Your Vorkath kill count is: 7.");
+    }
+
 }
@@ -2,24 +2,31 @@ package dinkplugin.notifiers;
 
 import com.google.gson.Gson;
 import com.google.inject.testing.fieldbinder.Bind;
+import dinkplugin.ConfigSnapshotHolder;
 import dinkplugin.DinkPlugin;
 import dinkplugin.DinkPluginConfig;
 import dinkplugin.MockedTestBase;
 import dinkplugin.SettingsManager;
 import dinkplugin.domain.AccountType;
+import dinkplugin.domain.DeliveryOverflowPolicy;
 import dinkplugin.domain.FilterMode;
 import dinkplugin.domain.PlayerLookupService;
 import dinkplugin.message.DiscordMessageHandler;
 import dinkplugin.message.NotificationBody;
+import dinkplugin.message.ScreenshotEncoder;
+import dinkplugin.message.WebhookOutbox;
 import dinkplugin.message.templating.Template;
 import dinkplugin.util.AccountTypeTracker;
 import dinkplugin.util.BlockingClientThread;
 import dinkplugin.util.BlockingExecutor;
 import dinkplugin.util.IndexedArray;
+import dinkplugin.util.LatencyHistogram;
+import dinkplugin.util.MetricsRegistry;
 import dinkplugin.util.TestImageUtil;
 import dinkplugin.util.Utils;
 import dinkplugin.util.WorldTypeTracker;
 import lombok.SneakyThrows;
+import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
 import net.runelite.api.IndexedObjectSet;
@@ -29,6 +36,7 @@ import net.runelite.api.Player;
 import net.runelite.api.WorldType;
 import net.runelite.api.WorldView;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.ChatMessage;
 import net.runelite.api.gameval.VarbitID;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.chat.ChatMessageManager;
@@ -40,7 +48,6 @@ import net.runelite.client.game.NPCManager;
 import net.runelite.client.ui.DrawManager;
 import net.runelite.client.util.ImageCapture;
 import net.runelite.http.api.RuneLiteAPI;
-import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -51,6 +58,7 @@ import java.util.EnumSet;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -119,7 +127,19 @@ abstract class MockedNotifierTest extends MockedTestBase {
     protected SettingsManager settingsManager = Mockito.spy(new SettingsManager(gson, client, clientThread, plugin, config, configManager, httpClient));
 
     @Bind
-    protected DiscordMessageHandler messageHandler = Mockito.spy(new DiscordMessageHandler(gson, client, drawManager, httpClient, config, executor, clientThread, discordService, imageCapture));
+    protected WebhookOutbox outbox = Mockito.mock(WebhookOutbox.class);
+
+    @Bind
+    protected MetricsRegistry metrics = new MetricsRegistry();
+
+    @Bind
+    protected ScreenshotEncoder screenshotEncoder = new ScreenshotEncoder(metrics);
+
+    @Bind
+    protected ConfigSnapshotHolder configSnapshot = new ConfigSnapshotHolder(config);
+
+    @Bind
+    protected DiscordMessageHandler messageHandler = Mockito.spy(new DiscordMessageHandler(gson, client, drawManager, httpClient, config, executor, clientThread, discordService, imageCapture, outbox, screenshotEncoder, configSnapshot, plugin::addChatWarning, metrics));
 
     @Override
     protected void setUp() {
@@ -151,6 +171,8 @@ abstract class MockedNotifierTest extends MockedTestBase {
         when(config.primaryWebhook()).thenReturn(PRIMARY_WEBHOOK_URL);
         when(config.maxRetries()).thenReturn(0);
         when(config.baseRetryDelay()).thenReturn(2000);
+        when(config.deliveryQueueCapacity()).thenReturn(50);
+        when(config.deliveryOverflowPolicy()).thenReturn(DeliveryOverflowPolicy.DROP_LOWEST_PRIORITY);
         when(config.networkTimeout()).thenReturn(15_000);
         when(config.imageWriteTimeout()).thenReturn(30_000);
         when(config.screenshotScale()).thenReturn(95);
@@ -195,14 +217,27 @@ abstract class MockedNotifierTest extends MockedTestBase {
 
         // wait for http calls to complete
         if (url != null && !url.isEmpty() && !"https://example.com/".equals(url)) {
-            Dispatcher dispatcher = httpClient.dispatcher();
-            while (dispatcher.queuedCallsCount() > 0 || dispatcher.runningCallsCount() > 0) {
+            while (!messageHandler.isIdle()) {
                 // noinspection BusyWait - comply with discord's undocumented 30/60s ratelimit
                 Thread.sleep(2000L);
             }
         }
     }
 
+    /**
+     * Sends a game message through {@link DinkPlugin#onChatMessage(ChatMessage)},
+     * and asserts that the plugin's router offered the message to the specified handler.
+     *
+     * @param handler the name under which the plugin times the handler (e.g., {@code "ClueNotifier.onChatMessage"})
+     * @param message the game message
+     */
+    protected void assertRoutedGameMessage(String handler, String message) {
+        LatencyHistogram histogram = metrics.histogram(handler);
+        long count = histogram.getCount();
+        plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", message, "", 0));
+        assertEquals(count + 1, histogram.getCount(), message);
+    }
+
     protected static Template buildTemplate(String text) {
         return Template.builder().template(text).build();
     }
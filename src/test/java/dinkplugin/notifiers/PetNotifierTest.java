@@ -570,4 +570,13 @@ class PetNotifierTest extends MockedNotifierTest {
         verify(messageHandler, never()).createMessage(any(), anyBoolean(), any());
     }
 
+    @Test
+    void testRoutedGameMessages() {
+        assertRoutedGameMessage("PetNotifier.onChatMessage", "You have a funny feeling like you're being followed.");
+        assertRoutedGameMessage("PetNotifier.onChatMessage", "You feel something weird sneaking into your backpack.");
+        assertRoutedGameMessage("PetNotifier.onChatMessage", "Untradeable drop: Heron");
+        assertRoutedGameMessage("PetNotifier.onChatMessage", "New item added to your collection log: Heron");
+        assertRoutedGameMessage("PetNotifier.onChatMessage", "Your new pet has been automatically insured. If lost, it can be reclaimed from Probita in Ardougne.");
+    }
+
 }
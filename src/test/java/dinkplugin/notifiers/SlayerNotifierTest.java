@@ -158,4 +158,13 @@ class SlayerNotifierTest extends MockedNotifierTest {
             .replacement("{{monster}}", Replacements.ofWiki(monster))
             .build();
     }
+
+    @Test
+    void testRoutedGameMessages() {
+        assertRoutedGameMessage("SlayerNotifier.onChatMessage", "You are granted an extra reward of 5k Slayer XP for completing your boss task against the Chaos Elemental.");
+        assertRoutedGameMessage("SlayerNotifier.onChatMessage", "You have completed your task! You killed 245 Cave Kraken. You gained 62,475 xp.");
+        assertRoutedGameMessage("SlayerNotifier.onChatMessage", "You've completed 242 tasks and received 15 points, giving you a total of 3,254; return to a Slayer master.");
+        assertRoutedGameMessage("SlayerNotifier.onChatMessage", "You've completed 5 tasks.You'll be eligible to earn reward points if you complete tasks from a more advanced Slayer Master.");
+        assertRoutedGameMessage("SlayerNotifier.onChatMessage", "You've completed 2,000 tasks and reached the maximum amount of Slayer points (64,000)");
+    }
 }
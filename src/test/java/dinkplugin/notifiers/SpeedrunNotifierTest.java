@@ -264,4 +264,10 @@ class SpeedrunNotifierTest extends MockedNotifierTest {
         event.setGroupId(InterfaceID.QUESTSCROLL_SPEEDRUN);
         return event;
     }
+
+    @Test
+    void testRoutedGameMessages() {
+        assertRoutedGameMessage("SpeedrunNotifier.onGameMessage", "Speedrun duration: 1:23.40 (new personal best)");
+        assertRoutedGameMessage("SpeedrunNotifier.onGameMessage", "Speedrun duration: 1:23.40");
+    }
 }
@@ -0,0 +1,41 @@
+package dinkplugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DropIndexTest {
+    private static final double DELTA = MathUtils.EPSILON;
+
+    private final DropIndex index = DropIndex.of(List.of(
+        new AbstractRarityService.RareDrop(10, 1, 1, 0.5),
+        new AbstractRarityService.RareDrop(20, 5, 10, 0.25),
+        new AbstractRarityService.RareDrop(10, 1, 3, 0.125),
+        new AbstractRarityService.RareDrop(20, 8, 12, 0.0625),
+        new AbstractRarityService.RareDrop(-1, 0, 0, 0.1)
+    ));
+
+    @Test
+    void overlappingRanges() {
+        assertEquals(0.5 + 0.125, index.getProbability(10, 1), DELTA);
+        assertEquals(0.125, index.getProbability(10, 3), DELTA);
+        assertEquals(0.25, index.getProbability(20, 7), DELTA);
+        assertEquals(0.25 + 0.0625, index.getProbability(20, 8), DELTA);
+        assertEquals(0.25 + 0.0625, index.getProbability(20, 10), DELTA);
+        assertEquals(0.0625, index.getProbability(20, 12), DELTA);
+        assertEquals(0.1, index.getProbability(-1, 0), DELTA);
+    }
+
+    @Test
+    void outsideRanges() {
+        assertTrue(Double.isNaN(index.getProbability(10, 0)));
+        assertTrue(Double.isNaN(index.getProbability(10, 4)));
+        assertTrue(Double.isNaN(index.getProbability(20, 4)));
+        assertTrue(Double.isNaN(index.getProbability(20, 13)));
+        assertTrue(Double.isNaN(index.getProbability(30, 1)));
+    }
+
+}
@@ -0,0 +1,95 @@
+package dinkplugin.util;
+
+import dinkplugin.notifiers.ClueNotifier;
+import dinkplugin.notifiers.CollectionNotifier;
+import dinkplugin.notifiers.CombatTaskNotifier;
+import dinkplugin.notifiers.DeathNotifier;
+import dinkplugin.notifiers.KillCountNotifier;
+import dinkplugin.notifiers.LeaguesNotifier;
+import dinkplugin.notifiers.LootNotifier;
+import dinkplugin.notifiers.PetNotifier;
+import dinkplugin.notifiers.SlayerNotifier;
+import dinkplugin.notifiers.SpeedrunNotifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameMessageRouterTest {
+
+    @Test
+    void dispatchesInRegistrationOrder() {
+        List<String> calls = new ArrayList<>();
+        GameMessageRouter router = GameMessageRouter.builder()
+            .route(List.of("count is"), msg -> calls.add("first"))
+            .route(List.of("Duration", "count is"), msg -> calls.add("second"))
+            .route(List.of("treasure trail"), msg -> calls.add("third"))
+            .build();
+
+        router.route("Fight duration: 0:56. Your Vorkath kill count is: 7.");
+        assertEquals(List.of("first", "second"), calls);
+
+        calls.clear();
+        router.route("You have completed 1 easy Treasure Trail.");
+        assertEquals(List.of("third"), calls);
+
+        calls.clear();
+        router.route("random unrelated chat message");
+        assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    void requiresKeywords() {
+        assertThrows(IllegalArgumentException.class, () -> GameMessageRouter.builder().route(List.of(), msg -> {}));
+    }
+
+    @Test
+    void notifierKeywords() {
+        GameMessageRouter router = GameMessageRouter.builder()
+            .route(CollectionNotifier.GAME_MESSAGE_KEYWORDS, msg -> {})
+            .route(LootNotifier.GAME_MESSAGE_KEYWORDS, msg -> {})
+            .route(PetNotifier.GAME_MESSAGE_KEYWORDS, msg -> {})
+            .route(KillCountService.GAME_MESSAGE_KEYWORDS, msg -> {})
+            .route(SlayerNotifier.GAME_MESSAGE_KEYWORDS, msg -> {})
+            .route(ClueNotifier.GAME_MESSAGE_KEYWORDS, msg -> {})
+            .route(KillCountNotifier.GAME_MESSAGE_KEYWORDS, msg -> {})
+            .route(CombatTaskNotifier.GAME_MESSAGE_KEYWORDS, msg -> {})
+            .route(DeathNotifier.GAME_MESSAGE_KEYWORDS, msg -> {})
+            .route(SpeedrunNotifier.GAME_MESSAGE_KEYWORDS, msg -> {})
+            .route(LeaguesNotifier.GAME_MESSAGE_KEYWORDS, msg -> {})
+            .build();
+
+        assertRouted(router, "New item added to your collection log: Seercull", 0, 2);
+        assertRouted(router, "You have found a Pharaoh's sceptre! It fell on the floor.", 1);
+        assertRouted(router, "You catch a golden haddock!", 1);
+        assertRouted(router, "You have a funny feeling like you're being followed.", 2);
+        assertRouted(router, "Untradeable drop: Heron", 2);
+        assertRouted(router, "Your new pet has been automatically insured. If lost, it can be reclaimed from Probita in Ardougne.", 2);
+        assertRouted(router, "Your Vorkath kill count is: 7.", 3, 6);
+        assertRouted(router, "Amount of rifts you have closed: 1,234.", 3);
+        assertRouted(router, "You have completed 1312 beginner Treasure Trails.", 3, 5);
+        assertRouted(router, "You are granted an extra reward of 5k Slayer XP for completing your boss task against the Chaos Elemental.", 4);
+        assertRouted(router, "You have completed your task! You killed 245 Cave Kraken. You gained 62,475 xp.", 4);
+        assertRouted(router, "You've completed 242 tasks and received 15 points, giving you a total of 3,254; return to a Slayer master.", 4);
+        assertRouted(router, "Subdued in 6:13. Personal best: 5:57", 6);
+        assertRouted(router, "Tombs of Amascut: Expert Mode total completion time: 25:00 (new personal best)", 6);
+        assertRouted(router, "Congratulations, you've completed a hard combat task: Whack-a-Mole.", 4, 7, 10);
+        assertRouted(router, "You have been doomed!", 8);
+        assertRouted(router, "You failed to survive the Tombs of Amascut", 8);
+        assertRouted(router, "Speedrun duration: 1:23.40 (new personal best)", 6, 9);
+        assertRouted(router, "Congratulations, you've unlocked a new area: Kandarin.", 10);
+        assertRouted(router, "Welcome to Old School RuneScape.");
+    }
+
+    private static void assertRouted(GameMessageRouter router, String message, int... consumers) {
+        long expected = 0;
+        for (int consumer : consumers) {
+            expected |= 1L << consumer;
+        }
+        assertEquals(Long.toBinaryString(expected), Long.toBinaryString(router.match(message)), message);
+    }
+}
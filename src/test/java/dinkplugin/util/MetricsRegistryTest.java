@@ -0,0 +1,56 @@
+package dinkplugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsRegistryTest {
+
+    private final MetricsRegistry metrics = new MetricsRegistry();
+
+    @Test
+    void report() {
+        metrics.gauge("queue", () -> 3);
+        metrics.increment("sent");
+        metrics.increment("sent");
+        metrics.histogram("idle");
+        metrics.histogram("cheap").record(1_000);
+        metrics.histogram("expensive").record(5_000_000);
+
+        List<String> lines = metrics.report();
+        assertEquals(4, lines.size());
+        assertEquals("queue: 3", lines.get(0));
+        assertEquals("sent: 2", lines.get(1));
+        assertTrue(lines.get(2).startsWith("expensive: n=1,"), lines.get(2));
+        assertTrue(lines.get(3).startsWith("cheap: n=1,"), lines.get(3));
+    }
+
+    @Test
+    void histograms() {
+        Map<TimeUnit, LatencyHistogram> map = metrics.histograms("unit.", TimeUnit.class, TimeUnit::name);
+        assertEquals(TimeUnit.values().length, map.size());
+        assertSame(metrics.histogram("unit.SECONDS"), map.get(TimeUnit.SECONDS));
+
+        // unused histograms are omitted from the report
+        assertTrue(metrics.report().isEmpty());
+    }
+
+    @Test
+    void timed() {
+        StringBuilder sb = new StringBuilder();
+        Consumer<String> consumer = metrics.timed("append", sb::append);
+        consumer.accept("a");
+        consumer.accept("b");
+
+        assertEquals("ab", sb.toString());
+        assertEquals(2, metrics.histogram("append").getCount());
+        assertSame(metrics.histogram("append"), metrics.histogram("append"));
+    }
+}
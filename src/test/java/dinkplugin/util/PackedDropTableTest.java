@@ -0,0 +1,66 @@
+package dinkplugin.util;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.runelite.http.api.RuneLiteAPI;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PackedDropTableTest {
+
+    private static final double PROBABILITY_TOLERANCE = 1e-6;
+
+    @Test
+    void matchesJson() throws Exception {
+        PackedDropTable table;
+        try (InputStream is = getClass().getResourceAsStream("/npc_drops.bin")) {
+            table = PackedDropTable.read(Objects.requireNonNull(is));
+        }
+
+        JsonObject json;
+        try (Reader reader = new InputStreamReader(Objects.requireNonNull(getClass().getResourceAsStream("/npc_drops.json")))) {
+            json = RuneLiteAPI.GSON.fromJson(reader, JsonObject.class);
+        }
+
+        // if this fails, re-run DropTableGenerator after updating npc_drops.json
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+            String name = entry.getKey();
+            List<AbstractRarityService.RareDrop> drops = table.decode(name);
+            assertNotNull(drops, name);
+
+            List<AbstractRarityService.RareDrop> expected = new ArrayList<>();
+            for (JsonElement e : entry.getValue().getAsJsonArray()) {
+                JsonObject raw = e.getAsJsonObject();
+                int min = raw.has("m") ? raw.get("m").getAsInt() : raw.get("q").getAsInt();
+                int max = raw.has("n") ? raw.get("n").getAsInt() : raw.get("q").getAsInt();
+                int rolls = raw.has("r") ? raw.get("r").getAsInt() : 1;
+                AbstractRarityService.expand(raw.get("i").getAsInt(), rolls, raw.get("d").getAsDouble(), min, max, expected);
+            }
+
+            assertEquals(expected.size(), drops.size(), name);
+            for (int i = 0; i < expected.size(); i++) {
+                AbstractRarityService.RareDrop want = expected.get(i), actual = drops.get(i);
+                String message = name + " #" + i;
+                assertEquals(want.getItemId(), actual.getItemId(), message);
+                assertEquals(want.getMinQuantity(), actual.getMinQuantity(), message);
+                assertEquals(want.getMaxQuantity(), actual.getMaxQuantity(), message);
+                // denominators are narrowed to floats
+                assertEquals(want.getProbability(), actual.getProbability(), want.getProbability() * PROBABILITY_TOLERANCE, message);
+            }
+        }
+
+        assertNull(table.decode("Unknown Monster"));
+    }
+
+}
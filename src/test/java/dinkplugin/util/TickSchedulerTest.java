@@ -0,0 +1,102 @@
+package dinkplugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TickSchedulerTest {
+
+    private final TickScheduler scheduler = new TickScheduler();
+    private final List<String> runs = new ArrayList<>();
+
+    @Test
+    void runsArmedTasksInOrder() {
+        TickTask always = scheduler.register("always", () -> runs.add("always"));
+        TickTask pending = scheduler.register(new TickTask("pending", () -> runs.add("pending"), false));
+        TickTask last = scheduler.register("last", () -> runs.add("last"));
+
+        scheduler.onTick();
+        assertEquals(List.of("always", "last"), runs);
+
+        runs.clear();
+        pending.arm();
+        scheduler.onTick();
+        scheduler.onTick();
+        assertEquals(List.of("always", "pending", "last", "always", "pending", "last"), runs);
+
+        runs.clear();
+        pending.disarm();
+        always.disarm();
+        scheduler.onTick();
+        assertEquals(List.of("last"), runs);
+        assertFalse(always.isArmed());
+        assertTrue(last.isArmed());
+    }
+
+    @Test
+    void armIn() {
+        TickTask task = scheduler.register(new TickTask("delayed", () -> runs.add("delayed"), false));
+        task.armIn(3);
+
+        scheduler.onTick();
+        scheduler.onTick();
+        assertTrue(runs.isEmpty());
+
+        scheduler.onTick();
+        assertEquals(List.of("delayed"), runs);
+        assertFalse(task.isArmed());
+
+        scheduler.onTick();
+        assertEquals(1, runs.size());
+    }
+
+    @Test
+    void disarmItself() {
+        TickTask[] task = new TickTask[1];
+        task[0] = scheduler.register("self", () -> {
+            runs.add("self");
+            if (runs.size() == 2) task[0].disarm();
+        });
+
+        for (int i = 0; i < 5; i++) {
+            scheduler.onTick();
+        }
+        assertEquals(2, runs.size());
+    }
+
+    @Test
+    void armedBeforeRegistration() {
+        TickTask task = new TickTask("early", () -> runs.add("early"), false);
+        task.arm();
+        scheduler.register(task);
+
+        scheduler.onTick();
+        assertEquals(List.of("early"), runs);
+    }
+
+    @Test
+    void costs() {
+        scheduler.register("cheap", () -> {});
+        TickTask idle = scheduler.register(new TickTask("idle", () -> {}, false));
+        scheduler.register("expensive", () -> {
+            long deadline = System.nanoTime() + 1_000_000;
+            while (System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+        });
+
+        scheduler.onTick();
+        scheduler.onTick();
+
+        List<TickScheduler.TickCost> costs = scheduler.getCosts();
+        assertEquals("expensive", costs.get(0).getName());
+        assertEquals(2, costs.get(0).getRuns());
+        assertTrue(costs.get(0).getMaxNanos() >= 1_000_000);
+        assertEquals(0, idle.getCost().getRuns());
+    }
+}
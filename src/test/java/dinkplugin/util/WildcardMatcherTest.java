@@ -0,0 +1,78 @@
+package dinkplugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WildcardMatcherTest {
+
+    @Test
+    void literal() {
+        WildcardMatcher matcher = WildcardMatcher.compile(List.of("You have been frozen!"));
+        assertTrue(matcher.matches("You have been frozen!"));
+        assertTrue(matcher.matches("you have been FROZEN!"));
+        assertFalse(matcher.matches("You have been frozen!!"));
+        assertFalse(matcher.matches("Oh no! You have been frozen!"));
+    }
+
+    @Test
+    void wildcards() {
+        WildcardMatcher matcher = WildcardMatcher.compile(List.of("*bank pin*", "Your * drop is worth *", "*dank dank"));
+        assertTrue(matcher.matches("Please enter your bank PIN."));
+        assertTrue(matcher.matches("Your loot drop is worth 5,000 coins."));
+        assertTrue(matcher.matches("Congrats dank dank"));
+        assertFalse(matcher.matches("Congrats dank dank!"));
+        assertFalse(matcher.matches("Your loot drop\nis worth 5,000 coins."));
+        assertFalse(matcher.matches("Hello world"));
+    }
+
+    @Test
+    void matchesAll() {
+        assertTrue(WildcardMatcher.compile(List.of("abc", "**")).matches(""));
+        assertFalse(WildcardMatcher.EMPTY.matches("abc"));
+    }
+
+    @Test
+    void sameAsRegexify() {
+        Random random = new Random(1337);
+        String patternChars = "aAb*äÄ";
+        String textChars = "aAbB \n\r \u0085äÄ";
+        for (int trial = 0; trial < 100_000; trial++) {
+            List<String> patterns = new ArrayList<>();
+            for (int i = 0, n = 1 + random.nextInt(3); i < n; i++) {
+                patterns.add(randomString(random, patternChars, 1 + random.nextInt(6)));
+            }
+            String text = randomString(random, textChars, random.nextInt(10));
+
+            boolean expected = patterns.stream()
+                .map(Utils::regexify)
+                .map(p -> p.matcher(text))
+                .anyMatch(java.util.regex.Matcher::find);
+            assertEquals(expected, WildcardMatcher.compile(patterns).matches(text), () -> patterns + " @ " + Pattern.quote(text));
+        }
+    }
+
+    @Test
+    void automaton() {
+        AhoCorasick automaton = AhoCorasick.of(List.of("he", "she", "his", "hers"));
+        List<String> found = new ArrayList<>();
+        automaton.scan("ushers", (literal, end) -> found.add(literal + "@" + end));
+        assertEquals(List.of("1@4", "0@4", "3@6"), found);
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+
+}